@@ -1,7 +1,20 @@
 package com.timofriedl.linalg.doublematrix;
 
-import java.util.Arrays;
-
+import java.util.concurrent.ForkJoinPool;
+
+import com.timofriedl.linalg.doublematrix.algorithm.AlgorithmRegistry;
+import com.timofriedl.linalg.doublematrix.algorithm.decomposition.QrDecomposition;
+import com.timofriedl.linalg.doublematrix.algorithm.gaussian.GaussJordanInverter;
+import com.timofriedl.linalg.doublematrix.algorithm.multiplication.BlockedMatrixMultiplier;
+import com.timofriedl.linalg.doublematrix.algorithm.multiplication.MatrixVectorMultiplier;
+import com.timofriedl.linalg.doublematrix.algorithm.multiplication.ParallelMatrixMultiplier;
+import com.timofriedl.linalg.doublematrix.algorithm.multiplication.StrassenMatrixMultiplier;
+import com.timofriedl.linalg.doublematrix.expr.MatrixExpr;
+import com.timofriedl.linalg.doublematrix.storage.DoubleStorage;
+import com.timofriedl.linalg.doublematrix.storage.JaggedDoubleStorage;
+import com.timofriedl.linalg.doublematrix.storage.RowMajorDoubleStorage;
+import com.timofriedl.linalg.doublematrix.storage.SubmatrixDoubleStorage;
+import com.timofriedl.linalg.doublevector.DoubleArrays;
 import com.timofriedl.linalg.doublevector.DoubleVector;
 
 /**
@@ -12,23 +25,27 @@ import com.timofriedl.linalg.doublevector.DoubleVector;
 public class DoubleMatrix {
 
 	/**
-	 * the numbers in this matrix
-	 * 
-	 * format: [y][x]
+	 * the side length of the square blocks used when transposing
 	 */
-	private final double[][] numbers;
+	private static final int TRANSPOSE_BLOCK_SIZE = 32;
 
 	/**
-	 * Creates the zero matrix with a given size.
+	 * the storage of the numbers in this matrix
+	 */
+	private final DoubleStorage storage;
+
+	/**
+	 * Creates the zero matrix with a given size, stored in one contiguous array.
 	 * 
 	 * @param width  the width of this matrix
 	 * @param height the height of this matrix
+	 * @see RowMajorDoubleStorage
 	 */
 	public DoubleMatrix(int width, int height) {
 		if (width < 0 || height < 0)
 			throw new IllegalArgumentException("Matrix size must not be negative.");
 
-		numbers = new double[height][width];
+		storage = new RowMajorDoubleStorage(width, height);
 	}
 
 	/**
@@ -36,13 +53,29 @@ public class DoubleMatrix {
 	 * 
 	 * Array is called by reference!
 	 * 
-	 * @param numbers the numbers contained by the matrix
+	 * @param numbers the numbers contained by the matrix, format: [y][x]
+	 * @see JaggedDoubleStorage
 	 */
 	public DoubleMatrix(double[][] numbers) {
 		if (numbers == null || numbers.length == 0 || numbers[0] == null)
-			this.numbers = new double[0][0];
+			storage = new JaggedDoubleStorage(new double[0][0]);
 		else
-			this.numbers = numbers;
+			storage = new JaggedDoubleStorage(numbers);
+	}
+
+	/**
+	 * Creates a matrix that reads and writes its numbers from a given
+	 * {@link DoubleStorage}.
+	 * 
+	 * Storage is called by reference!
+	 * 
+	 * @param storage the storage of the numbers contained by the matrix
+	 */
+	public DoubleMatrix(DoubleStorage storage) {
+		if (storage == null)
+			throw new IllegalArgumentException("The storage of a matrix must not be null.");
+
+		this.storage = storage;
 	}
 
 	/**
@@ -55,12 +88,12 @@ public class DoubleMatrix {
 		if (size < 0)
 			throw new IllegalArgumentException("The size of the identity matrix must not be negative.");
 
-		final double[][] numbers = new double[size][size];
+		final DoubleMatrix identity = new DoubleMatrix(size, size);
 
 		for (int x = 0; x < size; x++)
-			numbers[x][x] = 1.0;
+			identity.set(x, x, 1.0);
 
-		return new DoubleMatrix(numbers);
+		return identity;
 	}
 
 	/**
@@ -73,9 +106,43 @@ public class DoubleMatrix {
 		if (toAdd.getWidth() != getWidth() || toAdd.getHeight() != getHeight())
 			throw new IllegalArgumentException("Matrices must have same size when adding them.");
 
-		for (int y = 0; y < getHeight(); y++)
-			for (int x = 0; x < getWidth(); x++)
-				set(x, y, get(x, y) + toAdd.get(x, y));
+		final int width = getWidth();
+
+		for (int y = 0; y < getHeight(); y++) {
+			final double[] row = storage.rowArray(y);
+			final double[] rowToAdd = toAdd.storage.rowArray(y);
+
+			if (row != null && rowToAdd != null)
+				DoubleArrays.add(rowToAdd, toAdd.storage.rowOffset(y), row, storage.rowOffset(y), width);
+			else
+				for (int x = 0; x < width; x++)
+					set(x, y, get(x, y) + toAdd.get(x, y));
+		}
+	}
+
+	/**
+	 * Adds a multiple of a second {@link DoubleMatrix} with the same bounds to
+	 * this: this += alpha * X.
+	 * 
+	 * @param alpha the factor to scale <code>X</code> with
+	 * @param X     the matrix to add
+	 */
+	public void axpy(double alpha, DoubleMatrix X) {
+		if (X.getWidth() != getWidth() || X.getHeight() != getHeight())
+			throw new IllegalArgumentException("Matrices must have same size when adding them.");
+
+		final int width = getWidth();
+
+		for (int y = 0; y < getHeight(); y++) {
+			final double[] row = storage.rowArray(y);
+			final double[] rowToAdd = X.storage.rowArray(y);
+
+			if (row != null && rowToAdd != null)
+				DoubleArrays.axpy(alpha, rowToAdd, X.storage.rowOffset(y), row, storage.rowOffset(y), width);
+			else
+				for (int x = 0; x < width; x++)
+					set(x, y, get(x, y) + alpha * X.get(x, y));
+		}
 	}
 
 	/**
@@ -92,7 +159,7 @@ public class DoubleMatrix {
 			throw new IllegalArgumentException("The row to add does not match the matrix bounds.");
 
 		for (int x = 0; x < rowToAdd.size(); x++)
-			numbers[rowNr][x] += rowToAdd.get(x);
+			set(x, rowNr, get(x, rowNr) + rowToAdd.get(x));
 	}
 
 	/**
@@ -109,7 +176,52 @@ public class DoubleMatrix {
 			throw new IllegalArgumentException("The column to add does not match the matrix bounds.");
 
 		for (int y = 0; y < columnToAdd.size(); y++)
-			numbers[y][columnNr] += columnToAdd.get(y);
+			set(columnNr, y, get(columnNr, y) + columnToAdd.get(y));
+	}
+
+	/**
+	 * Adds a multiple of a source row to another row of this {@link DoubleMatrix}
+	 * in place, starting at a given column.
+	 * 
+	 * @param sourceRowNr   the number of the row to add
+	 * @param toChangeRowNr the number of the row to change
+	 * @param factor        the factor to scale the source row with
+	 * @param fromColumnNr  the first column to change, all columns before are
+	 *                      left unchanged
+	 */
+	public void addMultipleOfRow(int sourceRowNr, int toChangeRowNr, double factor, int fromColumnNr) {
+		if (sourceRowNr < 0 || sourceRowNr >= getHeight())
+			throw new IllegalArgumentException("The row " + sourceRowNr + " does not match the matrix bounds.");
+		if (toChangeRowNr < 0 || toChangeRowNr >= getHeight())
+			throw new IllegalArgumentException("The row " + toChangeRowNr + " does not match the matrix bounds.");
+		if (fromColumnNr < 0 || fromColumnNr > getWidth())
+			throw new IllegalArgumentException("The column " + fromColumnNr + " does not match the matrix bounds.");
+
+		final double[] source = storage.rowArray(sourceRowNr);
+		final double[] toChange = storage.rowArray(toChangeRowNr);
+
+		if (source != null && toChange != null)
+			DoubleArrays.axpy(factor, source, storage.rowOffset(sourceRowNr) + fromColumnNr, toChange,
+					storage.rowOffset(toChangeRowNr) + fromColumnNr, getWidth() - fromColumnNr);
+		else
+			for (int x = fromColumnNr; x < getWidth(); x++)
+				set(x, toChangeRowNr, get(x, toChangeRowNr) + factor * get(x, sourceRowNr));
+	}
+
+	/**
+	 * Swaps two rows of this {@link DoubleMatrix}. Rows of a
+	 * {@link JaggedDoubleStorage} are swapped without copying their values.
+	 * 
+	 * @param firstRowNr  the number of the first row to swap with the second one
+	 * @param secondRowNr the number of the second row to swap with the first one
+	 */
+	public void swapRows(int firstRowNr, int secondRowNr) {
+		if (firstRowNr < 0 || firstRowNr >= getHeight())
+			throw new IllegalArgumentException("The row " + firstRowNr + " does not match the matrix bounds.");
+		if (secondRowNr < 0 || secondRowNr >= getHeight())
+			throw new IllegalArgumentException("The row " + secondRowNr + " does not match the matrix bounds.");
+
+		storage.swapRows(firstRowNr, secondRowNr);
 	}
 
 	/**
@@ -119,18 +231,160 @@ public class DoubleMatrix {
 	 * 
 	 * @param B the second matrix to multiply
 	 * @return the result of the multiplication
+	 * @see BlockedMatrixMultiplier
 	 */
 	public DoubleMatrix multiply(DoubleMatrix B) {
-		if (B.getHeight() != getWidth())
-			throw new IllegalArgumentException("Matrix B must be as tall as A is wide when multiplicating them.");
+		return new BlockedMatrixMultiplier(this).multiply(B);
+	}
 
-		final DoubleMatrix result = new DoubleMatrix(B.getWidth(), getHeight());
+	/**
+	 * Calculates the matrix multiplication with a second {@link DoubleMatrix}
+	 * using the Strassen-Winograd algorithm on the common {@link ForkJoinPool}.
+	 * Only faster than {@link #multiply(DoubleMatrix)} for big square matrices.
+	 * 
+	 * <code>B</code> must be as tall as <code>this</code> is wide.
+	 * 
+	 * @param B the second matrix to multiply
+	 * @return the result of the multiplication
+	 * @see StrassenMatrixMultiplier
+	 */
+	public DoubleMatrix multiplyStrassen(DoubleMatrix B) {
+		return new StrassenMatrixMultiplier(this).multiply(B);
+	}
 
-		for (int y = 0; y < getHeight(); y++)
-			for (int x = 0; x < result.getWidth(); x++)
-				result.set(x, y, getRow(y).scalarProduct(B.getColumn(x)));
+	/**
+	 * Calculates <code>C = alpha * A * B + beta * C</code> in place, without
+	 * creating any temporary matrix.
+	 * 
+	 * If <code>beta</code> is zero, the old values of <code>C</code> are ignored.
+	 * If <code>C</code> shares its values with <code>A</code> or <code>B</code>,
+	 * e.g. as a view on one of them, the product is calculated into a temporary
+	 * matrix first.
+	 * 
+	 * @param alpha the factor of the product
+	 * @param A     the left factor
+	 * @param B     the right factor, as tall as <code>A</code> is wide
+	 * @param beta  the factor of the old values of <code>C</code>
+	 * @param C     the matrix to overwrite, as tall as <code>A</code> and as wide
+	 *              as <code>B</code>
+	 * @see BlockedMatrixMultiplier#gemm(double, DoubleMatrix, DoubleMatrix, double,
+	 *      DoubleMatrix)
+	 */
+	public static void gemm(double alpha, DoubleMatrix A, DoubleMatrix B, double beta, DoubleMatrix C) {
+		BlockedMatrixMultiplier.gemm(alpha, A, B, beta, C);
+	}
 
-		return result;
+	/**
+	 * Calculates <code>y = alpha * A * x + beta * y</code> in place, without
+	 * creating any temporary vector. Every row of <code>A</code> is read once.
+	 * 
+	 * If <code>beta</code> is zero, the old values of <code>y</code> are ignored.
+	 * <code>y</code> must not share its values with <code>x</code>.
+	 * 
+	 * @param alpha the factor of the product
+	 * @param A     the matrix
+	 * @param x     the vector to multiply, as big as <code>A</code> is wide
+	 * @param beta  the factor of the old values of <code>y</code>
+	 * @param y     the vector to overwrite, as big as <code>A</code> is tall
+	 */
+	public static void gemv(double alpha, DoubleMatrix A, DoubleVector x, double beta, DoubleVector y) {
+		if (x.size() != A.getWidth())
+			throw new IllegalArgumentException("The vector must be as big as the matrix is wide.");
+		if (y.size() != A.getHeight())
+			throw new IllegalArgumentException("The result vector must be as big as the matrix is tall.");
+
+		for (int r = 0; r < A.getHeight(); r++) {
+			final double[] row = A.storage.rowArray(r);
+			double product;
+
+			if (row != null)
+				product = x.scalarProduct(row, A.storage.rowOffset(r));
+			else {
+				product = 0.0;
+				for (int c = 0; c < A.getWidth(); c++)
+					product += A.get(c, r) * x.get(c);
+			}
+
+			y.set(r, beta == 0.0 ? alpha * product : alpha * product + beta * y.get(r));
+		}
+	}
+
+	/**
+	 * Calculates the product of this matrix and a {@link DoubleVector}. Big
+	 * products are split into blocks of rows which are calculated on the common
+	 * {@link ForkJoinPool}.
+	 * 
+	 * @param x the vector to multiply, as big as <code>this</code> is wide
+	 * @return the result vector, as big as <code>this</code> is tall
+	 * @see MatrixVectorMultiplier
+	 */
+	public DoubleVector multiply(DoubleVector x) {
+		return new MatrixVectorMultiplier(this).multiply(x);
+	}
+
+	/**
+	 * Calculates the product of this matrix and a {@link DoubleVector} and writes
+	 * it into a given vector.
+	 * 
+	 * @param x      the vector to multiply, as big as <code>this</code> is wide
+	 * @param result the vector to overwrite, as big as <code>this</code> is tall
+	 * @see MatrixVectorMultiplier
+	 */
+	public void multiply(DoubleVector x, DoubleVector result) {
+		new MatrixVectorMultiplier(this).multiply(x, result);
+	}
+
+	/**
+	 * Calculates the product of the transposed matrix and a {@link DoubleVector}
+	 * without transposing this matrix.
+	 * 
+	 * @param x the vector to multiply, as big as <code>this</code> is tall
+	 * @return the result vector, as big as <code>this</code> is wide
+	 * @see MatrixVectorMultiplier
+	 */
+	public DoubleVector multiplyTransposed(DoubleVector x) {
+		return new MatrixVectorMultiplier(this).multiplyTransposed(x);
+	}
+
+	/**
+	 * Calculates the product of the transposed matrix and a {@link DoubleVector}
+	 * without transposing this matrix and writes it into a given vector.
+	 * 
+	 * @param x      the vector to multiply, as big as <code>this</code> is tall
+	 * @param result the vector to overwrite, as big as <code>this</code> is wide
+	 * @see MatrixVectorMultiplier
+	 */
+	public void multiplyTransposed(DoubleVector x, DoubleVector result) {
+		new MatrixVectorMultiplier(this).multiplyTransposed(x, result);
+	}
+
+	/**
+	 * Calculates the matrix multiplication with a second {@link DoubleMatrix} on
+	 * the common {@link ForkJoinPool}.
+	 * 
+	 * <code>B</code> must be as tall as <code>this</code> is wide.
+	 * 
+	 * @param B the second matrix to multiply
+	 * @return the result of the multiplication
+	 * @see ParallelMatrixMultiplier
+	 */
+	public DoubleMatrix multiplyParallel(DoubleMatrix B) {
+		return new ParallelMatrixMultiplier(this).multiply(B);
+	}
+
+	/**
+	 * Calculates the matrix multiplication with a second {@link DoubleMatrix} on a
+	 * given {@link ForkJoinPool}.
+	 * 
+	 * <code>B</code> must be as tall as <code>this</code> is wide.
+	 * 
+	 * @param B    the second matrix to multiply
+	 * @param pool the pool to run the multiplication on
+	 * @return the result of the multiplication
+	 * @see ParallelMatrixMultiplier
+	 */
+	public DoubleMatrix multiplyParallel(DoubleMatrix B, ForkJoinPool pool) {
+		return new ParallelMatrixMultiplier(this, pool).multiply(B);
 	}
 
 	/**
@@ -144,8 +398,13 @@ public class DoubleMatrix {
 		if (rowNr < 0 || rowNr >= getHeight())
 			throw new IllegalArgumentException("The row " + rowNr + " cannot be scaled, it's outside of this matrix.");
 
-		for (int x = 0; x < getWidth(); x++)
-			numbers[rowNr][x] *= factor;
+		final double[] row = storage.rowArray(rowNr);
+
+		if (row != null)
+			DoubleArrays.scale(factor, row, storage.rowOffset(rowNr), getWidth());
+		else
+			for (int x = 0; x < getWidth(); x++)
+				set(x, rowNr, get(x, rowNr) * factor);
 	}
 
 	/**
@@ -161,7 +420,7 @@ public class DoubleMatrix {
 					"The column " + columnNr + " cannot be scaled, it's outside of this matrix.");
 
 		for (int y = 0; y < getHeight(); y++)
-			numbers[y][columnNr] *= factor;
+			set(columnNr, y, get(columnNr, y) * factor);
 	}
 
 	/**
@@ -171,8 +430,7 @@ public class DoubleMatrix {
 	 */
 	public void scale(double factor) {
 		for (int y = 0; y < getHeight(); y++)
-			for (int x = 0; x < getWidth(); x++)
-				numbers[y][x] *= factor;
+			scaleRow(y, factor);
 	}
 
 	/**
@@ -192,18 +450,48 @@ public class DoubleMatrix {
 		final DoubleMatrix copy = new DoubleMatrix(width, height);
 
 		for (int py = 0; py < height; py++)
-			for (int px = 0; px < width; px++)
-				copy.set(px, py, get(x + px, y + py));
+			storage.copyRowTo(y + py, x, width, copy.storage.rowArray(py), copy.storage.rowOffset(py));
 
 		return copy;
 	}
 
 	/**
-	 * Returns a copy of this {@link DoubleMatrix} with the same bounds and content.
+	 * Returns a view onto an area of this matrix, failing if the given area is not
+	 * completely contained by this matrix. Changes of the view are written through
+	 * to this matrix; use {@link #toCopy()} on the view for a detached copy.
+	 * 
+	 * @param x      the x value of the start position of the area
+	 * @param y      the y value of the start position of the area
+	 * @param width  the width of the area
+	 * @param height the height of the area
+	 * @return the view onto this area
+	 * @see SubmatrixDoubleStorage
+	 */
+	public DoubleMatrix view(int x, int y, int width, int height) {
+		if (x < 0 || y < 0 || x + width > getWidth() || y + height > getHeight())
+			throw new IllegalArgumentException("The given area does not match the bounds of the matrix to view.");
+
+		return new DoubleMatrix(new SubmatrixDoubleStorage(storage, x, y, width, height));
+	}
+
+	/**
+	 * Returns a copy of this {@link DoubleMatrix} with the same bounds, content and
+	 * storage layout. The copy of a view is detached from the viewed matrix.
 	 */
 	@Override
 	public DoubleMatrix clone() {
-		return copy(0, 0, getWidth(), getHeight());
+		return new DoubleMatrix(storage.copy());
+	}
+
+	/**
+	 * Returns a detached copy of this {@link DoubleMatrix}. Changes of the copy are
+	 * never written through to a viewed matrix.
+	 * 
+	 * @return the detached copy
+	 * @see #clone()
+	 */
+	public DoubleMatrix toCopy() {
+		return clone();
 	}
 
 	/**
@@ -218,9 +506,17 @@ public class DoubleMatrix {
 		if (x < 0 || y < 0 || x + toPaste.getWidth() > getWidth() || y + toPaste.getHeight() > getHeight())
 			throw new IllegalArgumentException("The bounds of the matrix to paste are outside of this matrix.");
 
-		for (int py = 0; py < toPaste.getHeight(); py++)
-			for (int px = 0; px < toPaste.getWidth(); px++)
-				set(x + px, y + py, toPaste.get(px, py));
+		final int width = toPaste.getWidth();
+
+		for (int py = 0; py < toPaste.getHeight(); py++) {
+			final double[] row = storage.rowArray(y + py);
+
+			if (row != null)
+				toPaste.storage.copyRowTo(py, 0, width, row, storage.rowOffset(y + py) + x);
+			else
+				for (int px = 0; px < width; px++)
+					set(x + px, y + py, toPaste.get(px, py));
+		}
 	}
 
 	/**
@@ -236,7 +532,7 @@ public class DoubleMatrix {
 			throw new IllegalArgumentException("The row vector to paste does not match the matrix bounds.");
 
 		for (int x = 0; x < rowVector.size(); x++)
-			numbers[rowNr][x] = rowVector.get(x);
+			set(x, rowNr, rowVector.get(x));
 	}
 
 	/**
@@ -252,7 +548,7 @@ public class DoubleMatrix {
 			throw new IllegalArgumentException("The column vector to paste does not match the matrix height.");
 
 		for (int y = 0; y < columnVector.size(); y++)
-			numbers[y][columnNr] = columnVector.get(y);
+			set(columnNr, y, columnVector.get(y));
 	}
 
 	/**
@@ -276,18 +572,67 @@ public class DoubleMatrix {
 	/**
 	 * Returns a copy of this matrix where all entries are flipped diagonally.
 	 * 
+	 * The matrix is copied in square blocks of {@value #TRANSPOSE_BLOCK_SIZE}
+	 * values, so both the rows read and the rows written stay in the cache.
+	 * 
 	 * @return the transposed matrix
 	 */
 	public DoubleMatrix transpose() {
-		final DoubleMatrix result = new DoubleMatrix(getHeight(), getWidth());
-
-		for (int y = 0; y < getHeight(); y++)
-			for (int x = 0; x < getWidth(); x++)
-				result.set(y, x, get(x, y));
+		final int width = getWidth();
+		final int height = getHeight();
+		final DoubleMatrix result = new DoubleMatrix(height, width);
+		final DoubleStorage target = result.storage;
+		final boolean rowArrays = height == 0 || storage.rowArray(0) != null;
+
+		for (int blockY = 0; blockY < height; blockY += TRANSPOSE_BLOCK_SIZE) {
+			final int endY = Math.min(blockY + TRANSPOSE_BLOCK_SIZE, height);
+
+			for (int blockX = 0; blockX < width; blockX += TRANSPOSE_BLOCK_SIZE) {
+				final int endX = Math.min(blockX + TRANSPOSE_BLOCK_SIZE, width);
+
+				for (int y = blockY; y < endY; y++) {
+					if (rowArrays) {
+						final double[] row = storage.rowArray(y);
+						final int offset = storage.rowOffset(y);
+
+						for (int x = blockX; x < endX; x++)
+							target.rowArray(x)[target.rowOffset(x) + y] = row[offset + x];
+					} else
+						for (int x = blockX; x < endX; x++)
+							target.set(y, x, get(x, y));
+				}
+			}
+		}
 
 		return result;
 	}
 
+	/**
+	 * Flips all entries of this square matrix diagonally without allocating a new
+	 * matrix. Works block by block like {@link #transpose()}.
+	 */
+	public void transposeInPlace() {
+		if (!isSquare())
+			throw new IllegalArgumentException("Only square matrices can be transposed in place.");
+
+		final int size = getHeight();
+
+		for (int blockY = 0; blockY < size; blockY += TRANSPOSE_BLOCK_SIZE) {
+			final int endY = Math.min(blockY + TRANSPOSE_BLOCK_SIZE, size);
+
+			for (int blockX = blockY; blockX < size; blockX += TRANSPOSE_BLOCK_SIZE) {
+				final int endX = Math.min(blockX + TRANSPOSE_BLOCK_SIZE, size);
+
+				for (int y = blockY; y < endY; y++)
+					for (int x = Math.max(blockX, y + 1); x < endX; x++) {
+						final double tmp = get(x, y);
+						set(x, y, get(y, x));
+						set(y, x, tmp);
+					}
+			}
+		}
+	}
+
 	/**
 	 * Returns a new {@link DoubleMatrix} without certain row of this
 	 * {@link DoubleMatrix}
@@ -298,17 +643,17 @@ public class DoubleMatrix {
 		if (rowNr < 0 || rowNr >= getHeight())
 			throw new IllegalArgumentException("That row number does not exist.");
 
-		double[][] numbers = new double[getHeight() - 1][getWidth()];
-		int yNumbers = 0;
+		final DoubleMatrix result = new DoubleMatrix(getWidth(), getHeight() - 1);
+		int yResult = 0;
 
 		for (int y = 0; y < getHeight(); y++)
 			if (y != rowNr) {
-				for (int x = 0; x < getWidth(); x++)
-					numbers[yNumbers][x] = this.numbers[y][x];
-				yNumbers++;
+				storage.copyRowTo(y, 0, getWidth(), result.storage.rowArray(yResult),
+						result.storage.rowOffset(yResult));
+				yResult++;
 			}
 
-		return new DoubleMatrix(numbers);
+		return result;
 	}
 
 	/**
@@ -321,18 +666,17 @@ public class DoubleMatrix {
 		if (columnNr < 0 || columnNr >= getWidth())
 			throw new IllegalArgumentException("That column number does not exist.");
 
-		double[][] numbers = new double[getHeight()][getWidth() - 1];
+		final DoubleMatrix result = new DoubleMatrix(getWidth() - 1, getHeight());
 
 		for (int y = 0; y < getHeight(); y++) {
+			final double[] resultRow = result.storage.rowArray(y);
+			final int offset = result.storage.rowOffset(y);
 
-			int xNumbers = 0;
-
-			for (int x = 0; x < getWidth(); x++)
-				if (x != columnNr)
-					numbers[y][xNumbers++] = this.numbers[y][x];
+			storage.copyRowTo(y, 0, columnNr, resultRow, offset);
+			storage.copyRowTo(y, columnNr + 1, getWidth() - columnNr - 1, resultRow, offset + columnNr);
 		}
 
-		return new DoubleMatrix(numbers);
+		return result;
 	}
 
 	/**
@@ -359,7 +703,8 @@ public class DoubleMatrix {
 	 * Compares this {@link DoubleMatrix} to another one.
 	 * 
 	 * @param o the {@link Object} to compare
-	 * @return true if the given object is a matrix and the double values are equal
+	 * @return true if the given object is a matrix with the same bounds and the
+	 *         double values are equal, regardless of the storage layout
 	 */
 	@Override
 	public boolean equals(Object o) {
@@ -368,7 +713,16 @@ public class DoubleMatrix {
 		if (!(o instanceof DoubleMatrix))
 			return false;
 
-		return Arrays.deepEquals(numbers, ((DoubleMatrix) o).numbers);
+		final DoubleMatrix B = (DoubleMatrix) o;
+		if (B.getWidth() != getWidth() || B.getHeight() != getHeight())
+			return false;
+
+		for (int y = 0; y < getHeight(); y++)
+			for (int x = 0; x < getWidth(); x++)
+				if (Double.doubleToLongBits(get(x, y)) != Double.doubleToLongBits(B.get(x, y)))
+					return false;
+
+		return true;
 	}
 
 	/**
@@ -377,9 +731,11 @@ public class DoubleMatrix {
 	 * @param x     the x coordinate of the position
 	 * @param y     the y coordinate of the position
 	 * @param value the value to set
+	 * @throws IndexOutOfBoundsException if the position is outside of this matrix
 	 */
 	public void set(int x, int y, double value) {
-		numbers[y][x] = value;
+		checkPosition(x, y);
+		storage.set(x, y, value);
 	}
 
 	/**
@@ -388,9 +744,25 @@ public class DoubleMatrix {
 	 * @param x the x coordinate of the position
 	 * @param y the y coordinate of the position
 	 * @return the value at this position
+	 * @throws IndexOutOfBoundsException if the position is outside of this matrix
 	 */
 	public double get(int x, int y) {
-		return numbers[y][x];
+		checkPosition(x, y);
+		return storage.get(x, y);
+	}
+
+	/**
+	 * Fails if a position is outside of this {@link DoubleMatrix}. The storages
+	 * translate positions into flat indices without checking them, so a wrong
+	 * column would otherwise access the neighbouring row.
+	 * 
+	 * @param x the x coordinate of the position
+	 * @param y the y coordinate of the position
+	 */
+	private void checkPosition(int x, int y) {
+		if (x < 0 || y < 0 || x >= storage.getWidth() || y >= storage.getHeight())
+			throw new IndexOutOfBoundsException("The position (" + x + ", " + y + ") is outside of the "
+					+ storage.getWidth() + " x " + storage.getHeight() + " matrix.");
 	}
 
 	/**
@@ -399,10 +771,27 @@ public class DoubleMatrix {
 	 * 
 	 * @param rowNr the number of the row to copy
 	 * @return the selected row of this matrix as a vector
-	 * @see DoubleVector
+	 * @see #rowView(int)
 	 */
 	public DoubleVector getRow(int rowNr) {
-		return new DoubleVector(Arrays.copyOf(numbers[rowNr], numbers.length));
+		final double[] row = new double[getWidth()];
+		storage.copyRowTo(rowNr, 0, row.length, row, 0);
+
+		return new DoubleVector(row);
+	}
+
+	/**
+	 * Copies a part of a row of this {@link DoubleMatrix} into a given array
+	 * without allocating a new vector.
+	 * 
+	 * @param rowNr             the number of the row to copy
+	 * @param x                 the first column to copy
+	 * @param length            the number of values to copy
+	 * @param destination       the array to copy the values into
+	 * @param destinationOffset the first position in <code>destination</code>
+	 */
+	public void copyRowTo(int rowNr, int x, int length, double[] destination, int destinationOffset) {
+		storage.copyRowTo(rowNr, x, length, destination, destinationOffset);
 	}
 
 	/**
@@ -411,7 +800,7 @@ public class DoubleMatrix {
 	 * 
 	 * @param columnNr the number of the column to copy
 	 * @return the selected column of this matrix as a vector
-	 * @see DoubleVector
+	 * @see #columnView(int)
 	 */
 	public DoubleVector getColumn(int columnNr) {
 		final DoubleVector column = new DoubleVector(getHeight());
@@ -422,6 +811,36 @@ public class DoubleMatrix {
 		return column;
 	}
 
+	/**
+	 * Returns a view onto a row of this {@link DoubleMatrix} without copying it.
+	 * Changes of the view are written through to this matrix; use
+	 * {@link DoubleVector#toCopy()} for a detached copy.
+	 * 
+	 * @param rowNr the number of the row to view
+	 * @return the selected row of this matrix as a vector
+	 */
+	public DoubleVector rowView(int rowNr) {
+		if (rowNr < 0 || rowNr >= getHeight())
+			throw new IllegalArgumentException("The row " + rowNr + " does not match the matrix bounds.");
+
+		return storage.rowVector(rowNr);
+	}
+
+	/**
+	 * Returns a view onto a column of this {@link DoubleMatrix} without copying
+	 * it. Changes of the view are written through to this matrix; use
+	 * {@link DoubleVector#toCopy()} for a detached copy.
+	 * 
+	 * @param columnNr the number of the column to view
+	 * @return the selected column of this matrix as a vector
+	 */
+	public DoubleVector columnView(int columnNr) {
+		if (columnNr < 0 || columnNr >= getWidth())
+			throw new IllegalArgumentException("The column " + columnNr + " does not match the matrix bounds.");
+
+		return storage.columnVector(columnNr);
+	}
+
 	/**
 	 * Checks if this {@link DoubleMatrix} is equally wide and tall.
 	 * 
@@ -437,20 +856,138 @@ public class DoubleMatrix {
 	 * @return true if this is symmetric
 	 */
 	public boolean isSymmetric() {
-		return equals(transpose());
+		return isSymmetric(0.0);
+	}
+
+	/**
+	 * Checks if this {@link DoubleMatrix} is equal to its transposed matrix except
+	 * for a given tolerance. Compares the upper and the lower triangle block by
+	 * block, without creating the transposed matrix.
+	 * 
+	 * @param tolerance the maximum allowed difference of two mirrored values
+	 * @return true if this is symmetric
+	 */
+	public boolean isSymmetric(double tolerance) {
+		if (!isSquare())
+			return false;
+
+		final int size = getHeight();
+
+		for (int blockY = 0; blockY < size; blockY += TRANSPOSE_BLOCK_SIZE) {
+			final int endY = Math.min(blockY + TRANSPOSE_BLOCK_SIZE, size);
+
+			for (int blockX = blockY; blockX < size; blockX += TRANSPOSE_BLOCK_SIZE) {
+				final int endX = Math.min(blockX + TRANSPOSE_BLOCK_SIZE, size);
+
+				for (int y = blockY; y < endY; y++)
+					for (int x = Math.max(blockX, y + 1); x < endX; x++)
+						if (!(Math.abs(get(x, y) - get(y, x)) <= tolerance))
+							return false;
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 * Calculates the determinant of this n x n {@link DoubleMatrix} with the
+	 * calculator selected by the default {@link AlgorithmRegistry}: closed
+	 * formulas for matrices up to 4 x 4, a Cholesky decomposition for big
+	 * symmetric matrices and a LU decomposition for anything else.
+	 * 
+	 * @return the determinant
+	 * @see AlgorithmRegistry#getDefault()
+	 */
+	public double determinant() {
+		return AlgorithmRegistry.getDefault().determinant(this);
+	}
+
+	/**
+	 * Solves the equotation system <code>this * x = b</code> of this n x n
+	 * {@link DoubleMatrix} with the solver selected by the default
+	 * {@link AlgorithmRegistry}, without changing this matrix. The solution is
+	 * exact up to rounding, unless the iterative route of the registry is enabled
+	 * and approximates big sparse symmetric systems up to its
+	 * {@link AlgorithmRegistry#getIterativeTolerance() iterative tolerance}.
+	 * 
+	 * @param b the right side of the equotation system
+	 * @return the solution
+	 * @see AlgorithmRegistry#solve(DoubleMatrix, DoubleVector)
+	 */
+	public DoubleVector solve(DoubleVector b) {
+		return AlgorithmRegistry.getDefault().solve(this, b);
+	}
+
+	/**
+	 * Starts a lazily calculated formula with this {@link DoubleMatrix}. The
+	 * operations on the formula are only recorded and calculated together by
+	 * {@link MatrixExpr#evaluate()}, without most intermediate matrices.
+	 * 
+	 * @return the formula containing only this matrix, read by reference
+	 * @see MatrixExpr
+	 */
+	public MatrixExpr lazy() {
+		return MatrixExpr.of(this);
+	}
+
+	/**
+	 * Calculates the inverse of this n x n {@link DoubleMatrix}, failing if it is
+	 * singular or too ill-conditioned.
+	 * 
+	 * @return the inverse
+	 * @see GaussJordanInverter
+	 */
+	public DoubleMatrix inverse() {
+		return new GaussJordanInverter(this).inverse();
+	}
+
+	/**
+	 * Overwrites this n x n {@link DoubleMatrix} with its inverse, failing if it
+	 * is singular or too ill-conditioned.
+	 * 
+	 * @see GaussJordanInverter
+	 */
+	public void invert() {
+		new GaussJordanInverter(this).invertInPlace();
+	}
+
+	/**
+	 * Calculates the Moore-Penrose pseudo inverse of this {@link DoubleMatrix}
+	 * with a {@link QrDecomposition} of this matrix if it is tall, or of its
+	 * transpose if it is wide, in O(m * n) memory for a m x n matrix. The rows or
+	 * the columns of this matrix, whichever are fewer, must be linearly
+	 * independent, otherwise the calculation fails with an
+	 * {@link IllegalArgumentException}.
+	 * 
+	 * @return the pseudo inverse, as wide as this matrix is tall and as tall as
+	 *         this matrix is wide
+	 * @see QrDecomposition#pseudoInverse()
+	 */
+	public DoubleMatrix pseudoInverse() {
+		if (getHeight() >= getWidth())
+			return new QrDecomposition(this).pseudoInverse();
+
+		return new QrDecomposition(transpose()).pseudoInverse().transpose();
+	}
+
+	/**
+	 * @return the storage of the numbers in this {@link DoubleMatrix}
+	 */
+	public DoubleStorage getStorage() {
+		return storage;
 	}
 
 	/**
 	 * @return the width of this {@link DoubleMatrix}
 	 */
 	public int getWidth() {
-		return numbers[0].length;
+		return storage.getWidth();
 	}
 
 	/**
 	 * @return the height of this {@link DoubleMatrix}
 	 */
 	public int getHeight() {
-		return numbers.length;
+		return storage.getHeight();
 	}
 }
@@ -0,0 +1,762 @@
+package com.timofriedl.linalg.doublematrix.algorithm;
+
+import java.util.Locale;
+import java.util.Properties;
+import java.util.Random;
+
+import com.timofriedl.linalg.doublematrix.DoubleMatrix;
+import com.timofriedl.linalg.doublematrix.algorithm.determinant.AdaptiveDeterminantCalculator;
+import com.timofriedl.linalg.doublematrix.algorithm.determinant.CholeskyDeterminantCalculator;
+import com.timofriedl.linalg.doublematrix.algorithm.determinant.DeterminantCalculator;
+import com.timofriedl.linalg.doublematrix.algorithm.determinant.LeibnitzDeterminantCalculator;
+import com.timofriedl.linalg.doublematrix.algorithm.determinant.LuDeterminantCalculator;
+import com.timofriedl.linalg.doublematrix.algorithm.determinant.RecursiveDeterminantCalculator;
+import com.timofriedl.linalg.doublematrix.algorithm.gaussian.CholeskyGaussianSolver;
+import com.timofriedl.linalg.doublematrix.algorithm.gaussian.GaussianSolver;
+import com.timofriedl.linalg.doublematrix.algorithm.gaussian.LuGaussianSolver;
+import com.timofriedl.linalg.doublematrix.algorithm.gaussian.SimpleGaussianSolver;
+import com.timofriedl.linalg.doublematrix.algorithm.iterative.ConjugateGradientSolver;
+import com.timofriedl.linalg.doublematrix.algorithm.iterative.IterativeSolver;
+import com.timofriedl.linalg.doublematrix.algorithm.iterative.JacobiPreconditioner;
+import com.timofriedl.linalg.doublematrix.algorithm.iterative.LinearOperator;
+import com.timofriedl.linalg.doublematrix.sparse.CsrDoubleMatrix;
+import com.timofriedl.linalg.doublevector.DoubleVector;
+
+/**
+ * Selects the {@link DeterminantCalculator} and the {@link GaussianSolver} for
+ * a {@link DoubleMatrix} by its properties, so callers do not have to hard code
+ * an implementation.
+ * 
+ * With {@link DeterminantMethod#AUTO} and {@link SolverMethod#AUTO}, the choice
+ * is made per call:
+ * <ul>
+ * <li>determinants of matrices up to
+ * {@value AdaptiveDeterminantCalculator#MAX_CLOSED_FORM_SIZE} x
+ * {@value AdaptiveDeterminantCalculator#MAX_CLOSED_FORM_SIZE} use closed
+ * formulas,</li>
+ * <li>systems smaller than the <code>luMinSize</code> are solved in place by
+ * the {@link SimpleGaussianSolver}, bigger ones with a LU decomposition,</li>
+ * <li>symmetric matrices with a positive diagonal that are at least as big as
+ * the <code>choleskyMinSize</code> use a Cholesky decomposition,</li>
+ * <li>only if the iterative route is enabled, single systems that are at least
+ * as big as the <code>iterativeMinSize</code>, symmetric and not denser than
+ * the <code>iterativeMaxDensity</code> are solved by the
+ * {@link ConjugateGradientSolver} on a sparse copy. Their solution is only
+ * approximated up to the relative residual <code>iterativeTolerance</code>.</li>
+ * </ul>
+ * 
+ * The thresholds can be measured on the running machine by
+ * {@link #calibrate()} and overridden by the {@link Properties} given to
+ * {@link #AlgorithmRegistry(Properties)}, e.g. the system properties for the
+ * {@link #getDefault()} registry:
+ * <ul>
+ * <li><code>linalg.determinant</code>: a {@link DeterminantMethod}</li>
+ * <li><code>linalg.solver</code>: a {@link SolverMethod}</li>
+ * <li><code>linalg.choleskyMinSize</code>, <code>linalg.luMinSize</code>,
+ * <code>linalg.iterativeMinSize</code>: matrix sizes</li>
+ * <li><code>linalg.iterative</code>: <code>true</code> to enable the iterative
+ * route</li>
+ * <li><code>linalg.iterativeMaxDensity</code>: the share of non zero
+ * values</li>
+ * <li><code>linalg.iterativeTolerance</code>: the relative residual of
+ * iterative solutions</li>
+ * <li><code>linalg.symmetryTolerance</code>: the tolerance of the symmetry
+ * check, relative to the biggest absolute value of the matrix</li>
+ * <li><code>linalg.calibrate</code>: <code>true</code> to calibrate the
+ * thresholds before the other properties are applied</li>
+ * </ul>
+ * 
+ * A registry must be configured before it is shared between threads.
+ * Different rules can be plugged in by overriding the <code>select</code>
+ * methods and installing the registry with {@link #setDefault(AlgorithmRegistry)}.
+ * 
+ * @author Timo Friedl
+ */
+public class AlgorithmRegistry {
+
+	/**
+	 * the prefix of all configuration properties
+	 */
+	public static final String PROPERTY_PREFIX = "linalg.";
+
+	/**
+	 * the default thresholds, used before any calibration or configuration
+	 */
+	public static final int DEFAULT_CHOLESKY_MIN_SIZE = 32;
+	public static final int DEFAULT_LU_MIN_SIZE = 32;
+	public static final int DEFAULT_ITERATIVE_MIN_SIZE = 1000;
+	public static final double DEFAULT_ITERATIVE_MAX_DENSITY = 0.05;
+
+	/**
+	 * the matrix sizes measured by {@link #calibrate()}
+	 */
+	private static final int[] CALIBRATION_SIZES = { 8, 16, 32, 64, 128 };
+
+	/**
+	 * the number of measured runs per calibrated algorithm and size, after as
+	 * many warm up runs
+	 */
+	private static final int CALIBRATION_RUNS = 5;
+
+	/**
+	 * the registry used by {@link DoubleMatrix}, created from the system
+	 * properties on first use
+	 */
+	private static volatile AlgorithmRegistry defaultRegistry;
+
+	/**
+	 * The determinant calculators to choose from.
+	 */
+	public enum DeterminantMethod {
+		AUTO, ADAPTIVE, LU, CHOLESKY, LEIBNITZ, RECURSIVE
+	}
+
+	/**
+	 * The solvers of linear equotation systems to choose from.
+	 */
+	public enum SolverMethod {
+		AUTO, GAUSSIAN, LU, CHOLESKY
+	}
+
+	/**
+	 * the methods used for every matrix, or AUTO to select them by the matrix
+	 */
+	private DeterminantMethod determinantMethod = DeterminantMethod.AUTO;
+	private SolverMethod solverMethod = SolverMethod.AUTO;
+
+	/**
+	 * the smallest sizes using a Cholesky decomposition, a LU decomposition and an
+	 * iterative solver
+	 */
+	private int choleskyMinSize = DEFAULT_CHOLESKY_MIN_SIZE;
+	private int luMinSize = DEFAULT_LU_MIN_SIZE;
+	private int iterativeMinSize = DEFAULT_ITERATIVE_MIN_SIZE;
+
+	/**
+	 * the biggest share of non zero values solved iteratively
+	 */
+	private double iterativeMaxDensity = DEFAULT_ITERATIVE_MAX_DENSITY;
+
+	/**
+	 * true if big sparse symmetric systems may be solved iteratively
+	 */
+	private boolean iterative;
+
+	/**
+	 * the relative residual norm of iterative solutions
+	 */
+	private double iterativeTolerance = IterativeSolver.DEFAULT_TOLERANCE;
+
+	/**
+	 * the maximum difference of two mirrored values of a symmetric matrix,
+	 * relative to its biggest absolute value
+	 */
+	private double symmetryTolerance = 0.0;
+
+	/**
+	 * Creates a new registry with the default thresholds.
+	 */
+	public AlgorithmRegistry() {
+	}
+
+	/**
+	 * Creates a new registry configured by the given properties. Properties that
+	 * are not set keep their default values.
+	 * 
+	 * @param properties the configuration, see {@link AlgorithmRegistry}
+	 * @throws IllegalArgumentException if a property is malformed
+	 */
+	public AlgorithmRegistry(Properties properties) {
+		if (Boolean.parseBoolean(properties.getProperty(PROPERTY_PREFIX + "calibrate")))
+			calibrate();
+
+		final String determinant = property(properties, "determinant");
+		if (determinant != null)
+			setDeterminantMethod(DeterminantMethod.valueOf(method(determinant)));
+
+		final String solver = property(properties, "solver");
+		if (solver != null)
+			setSolverMethod(SolverMethod.valueOf(method(solver)));
+
+		final String cholesky = property(properties, "choleskyMinSize");
+		if (cholesky != null)
+			setCholeskyMinSize(Integer.parseInt(cholesky));
+
+		final String lu = property(properties, "luMinSize");
+		if (lu != null)
+			setLuMinSize(Integer.parseInt(lu));
+
+		final String iterative = property(properties, "iterativeMinSize");
+		if (iterative != null)
+			setIterativeMinSize(Integer.parseInt(iterative));
+
+		final String enabled = property(properties, "iterative");
+		if (enabled != null)
+			setIterative(Boolean.parseBoolean(enabled));
+
+		final String density = property(properties, "iterativeMaxDensity");
+		if (density != null)
+			setIterativeMaxDensity(Double.parseDouble(density));
+
+		final String iterativeTolerance = property(properties, "iterativeTolerance");
+		if (iterativeTolerance != null)
+			setIterativeTolerance(Double.parseDouble(iterativeTolerance));
+
+		final String tolerance = property(properties, "symmetryTolerance");
+		if (tolerance != null)
+			setSymmetryTolerance(Double.parseDouble(tolerance));
+	}
+
+	/**
+	 * Returns the registry used by {@link DoubleMatrix}. Unless another registry
+	 * has been set, it is created from the system properties on first use. If
+	 * these properties are malformed, the default registry uses the default
+	 * thresholds instead, so matrix operations do not fail because of them.
+	 * 
+	 * @return the default registry
+	 */
+	public static AlgorithmRegistry getDefault() {
+		AlgorithmRegistry registry = defaultRegistry;
+
+		if (registry == null)
+			synchronized (AlgorithmRegistry.class) {
+				registry = defaultRegistry;
+
+				if (registry == null)
+					defaultRegistry = registry = fromSystemProperties();
+			}
+
+		return registry;
+	}
+
+	/**
+	 * Creates a registry from the system properties, or with the default
+	 * thresholds if the properties are malformed.
+	 */
+	private static AlgorithmRegistry fromSystemProperties() {
+		try {
+			return new AlgorithmRegistry(System.getProperties());
+		} catch (IllegalArgumentException e) {
+			return new AlgorithmRegistry();
+		}
+	}
+
+	/**
+	 * Replaces the registry used by {@link DoubleMatrix}.
+	 * 
+	 * @param registry the new default registry
+	 */
+	public static void setDefault(AlgorithmRegistry registry) {
+		if (registry == null)
+			throw new IllegalArgumentException("The default registry must not be null.");
+
+		defaultRegistry = registry;
+	}
+
+	/**
+	 * Selects the determinant calculator for a given n x n matrix.
+	 * 
+	 * @param A the matrix whose determinant will be calculated
+	 * @return the method to use, never AUTO
+	 */
+	public DeterminantMethod selectDeterminantMethod(DoubleMatrix A) {
+		if (determinantMethod != DeterminantMethod.AUTO)
+			return determinantMethod;
+
+		final int n = A.getHeight();
+
+		if (n <= AdaptiveDeterminantCalculator.MAX_CLOSED_FORM_SIZE)
+			return DeterminantMethod.ADAPTIVE;
+		if (n >= choleskyMinSize && A.isSquare() && hasPositiveDiagonal(A, n) && isSymmetric(A, n))
+			return DeterminantMethod.CHOLESKY;
+
+		return DeterminantMethod.LU;
+	}
+
+	/**
+	 * Creates the selected determinant calculator for a given n x n matrix.
+	 * 
+	 * @param A the matrix whose determinant will be calculated
+	 * @return the new calculator
+	 */
+	public DeterminantCalculator determinantCalculator(DoubleMatrix A) {
+		switch (selectDeterminantMethod(A)) {
+		case CHOLESKY:
+			return new CholeskyDeterminantCalculator(A);
+		case LU:
+			return new LuDeterminantCalculator(A);
+		case LEIBNITZ:
+			return new LeibnitzDeterminantCalculator(A);
+		case RECURSIVE:
+			return new RecursiveDeterminantCalculator(A);
+		default:
+			return new AdaptiveDeterminantCalculator(A);
+		}
+	}
+
+	/**
+	 * Calculates the determinant of a given n x n matrix with the selected
+	 * calculator.
+	 * 
+	 * @param A the matrix whose determinant will be calculated
+	 * @return the determinant
+	 */
+	public double determinant(DoubleMatrix A) {
+		return determinantCalculator(A).determinant();
+	}
+
+	/**
+	 * Selects the solver for a given equotation system.
+	 * 
+	 * @param augmented the matrix to solve, concatenated with its solutions
+	 *                  vectors
+	 * @return the method to use, never AUTO
+	 */
+	public SolverMethod selectSolverMethod(DoubleMatrix augmented) {
+		if (solverMethod != SolverMethod.AUTO)
+			return solverMethod;
+
+		final int n = augmented.getHeight();
+
+		if (n < luMinSize || augmented.getWidth() < n)
+			return SolverMethod.GAUSSIAN;
+
+		final DoubleMatrix A = augmented.view(0, 0, n, n);
+		if (n >= choleskyMinSize && hasPositiveDiagonal(A, n) && isSymmetric(A, n))
+			return SolverMethod.CHOLESKY;
+
+		return SolverMethod.LU;
+	}
+
+	/**
+	 * Creates the selected solver for a given equotation system.
+	 * 
+	 * @param augmented the matrix to solve, concatenated with its solutions
+	 *                  vectors
+	 * @return the new solver, working in place on <code>augmented</code>
+	 */
+	public GaussianSolver gaussianSolver(DoubleMatrix augmented) {
+		switch (selectSolverMethod(augmented)) {
+		case CHOLESKY:
+			return new CholeskyGaussianSolver(augmented);
+		case LU:
+			return new LuGaussianSolver(augmented);
+		default:
+			return new SimpleGaussianSolver(augmented);
+		}
+	}
+
+	/**
+	 * Solves the equotation system <code>Ax = b</code> without changing A. If the
+	 * iterative route is enabled, big sparse symmetric systems are approximated
+	 * by the {@link ConjugateGradientSolver} if it converges, all other systems
+	 * are solved with the selected {@link GaussianSolver}.
+	 * 
+	 * @param A the n x n coefficients
+	 * @param b the right side of the equotation system
+	 * @return the solution
+	 */
+	public DoubleVector solve(DoubleMatrix A, DoubleVector b) {
+		if (!A.isSquare())
+			throw new IllegalArgumentException("The matrix to solve should be a n x n matrix.");
+
+		final int n = A.getHeight();
+
+		if (b.size() != n)
+			throw new IllegalArgumentException("Vector b must be as big as the matrix is tall.");
+
+		if (iterative && solverMethod == SolverMethod.AUTO && n >= iterativeMinSize && hasPositiveDiagonal(A, n)
+				&& isSparse(A, n, iterativeMaxDensity) && isSymmetric(A, n)) {
+			final DoubleVector x = solveIteratively(A, b);
+
+			if (x != null)
+				return x;
+		}
+
+		final DoubleMatrix augmented = new DoubleMatrix(n + 1, n);
+		augmented.paste(A, 0, 0);
+		augmented.pasteColumn(n, b);
+
+		return gaussianSolver(augmented).solve().getColumn(n);
+	}
+
+	/**
+	 * Solves a symmetric system with the {@link ConjugateGradientSolver} on a
+	 * sparse copy of A.
+	 * 
+	 * @return the solution, or <code>null</code> if the iteration did not converge
+	 *         or broke down because A is not positive definite
+	 */
+	private DoubleVector solveIteratively(DoubleMatrix A, DoubleVector b) {
+		final CsrDoubleMatrix sparse = CsrDoubleMatrix.fromDense(A);
+		final IterativeSolver solver = new ConjugateGradientSolver(LinearOperator.of(sparse))
+				.setPreconditioner(new JacobiPreconditioner(sparse)).setTolerance(iterativeTolerance);
+		final DoubleVector x = new DoubleVector(b.size());
+
+		return solver.solve(b, x) ? x : null;
+	}
+
+	/**
+	 * Measures on this machine from which size on the LU and the Cholesky
+	 * decomposition are faster than their alternatives and sets the thresholds
+	 * accordingly. Takes a few milliseconds.
+	 * 
+	 * @return this registry
+	 */
+	public AlgorithmRegistry calibrate() {
+		final Random random = new Random(0);
+		int lu = -1, cholesky = -1;
+
+		for (int n : CALIBRATION_SIZES) {
+			final DoubleMatrix A = symmetricPositiveDefinite(n, random);
+			final DoubleMatrix augmented = new DoubleMatrix(n + 1, n);
+			augmented.paste(A, 0, 0);
+
+			for (int y = 0; y < n; y++)
+				augmented.set(n, y, random.nextDouble());
+
+			if (lu < 0 && time(SolverMethod.LU, augmented) < time(SolverMethod.GAUSSIAN, augmented))
+				lu = n;
+
+			if (cholesky < 0 && time(DeterminantMethod.CHOLESKY, A) < time(DeterminantMethod.LU, A))
+				cholesky = n;
+		}
+
+		final int never = 2 * CALIBRATION_SIZES[CALIBRATION_SIZES.length - 1];
+		luMinSize = lu < 0 ? never : lu;
+		choleskyMinSize = cholesky < 0 ? never : cholesky;
+
+		return this;
+	}
+
+	/**
+	 * Measures the fastest of several solutions of a system with a given solver.
+	 * 
+	 * @return the time in nanoseconds
+	 */
+	private static long time(SolverMethod method, DoubleMatrix augmented) {
+		final AlgorithmRegistry registry = new AlgorithmRegistry().setSolverMethod(method);
+		long best = Long.MAX_VALUE;
+
+		for (int run = 0; run < 2 * CALIBRATION_RUNS; run++) {
+			final DoubleMatrix copy = augmented.clone();
+			final long start = System.nanoTime();
+			registry.gaussianSolver(copy).solve();
+			final long time = System.nanoTime() - start;
+
+			if (run >= CALIBRATION_RUNS)
+				best = Math.min(best, time);
+		}
+
+		return best;
+	}
+
+	/**
+	 * Measures the fastest of several determinants of a matrix with a given
+	 * calculator, including the checks of the selection.
+	 * 
+	 * @return the time in nanoseconds
+	 */
+	private static long time(DeterminantMethod method, DoubleMatrix A) {
+		final AlgorithmRegistry registry = new AlgorithmRegistry().setDeterminantMethod(method);
+		final int n = A.getHeight();
+		long best = Long.MAX_VALUE;
+
+		for (int run = 0; run < 2 * CALIBRATION_RUNS; run++) {
+			final long start = System.nanoTime();
+			if (method != DeterminantMethod.CHOLESKY || hasPositiveDiagonal(A, n) && A.isSymmetric())
+				registry.determinant(A);
+			final long time = System.nanoTime() - start;
+
+			if (run >= CALIBRATION_RUNS)
+				best = Math.min(best, time);
+		}
+
+		return best;
+	}
+
+	/**
+	 * Creates a random symmetric and diagonally dominant n x n matrix, which is
+	 * positive definite.
+	 */
+	private static DoubleMatrix symmetricPositiveDefinite(int n, Random random) {
+		final DoubleMatrix A = new DoubleMatrix(n, n);
+
+		for (int y = 0; y < n; y++) {
+			for (int x = 0; x < y; x++) {
+				final double value = random.nextDouble() * 2.0 - 1.0;
+				A.set(x, y, value);
+				A.set(y, x, value);
+			}
+
+			A.set(y, y, n);
+		}
+
+		return A;
+	}
+
+	/**
+	 * Checks if all diagonal values of a n x n matrix are positive, which is
+	 * necessary for a positive definite matrix.
+	 */
+	private static boolean hasPositiveDiagonal(DoubleMatrix A, int n) {
+		for (int i = 0; i < n; i++)
+			if (!(A.get(i, i) > 0.0))
+				return false;
+
+		return true;
+	}
+
+	/**
+	 * Checks if a n x n matrix is symmetric within the symmetry tolerance. The
+	 * Cholesky decomposition only reads the lower triangle, so the tolerance is
+	 * relative to the biggest absolute value to make it independent of the scale
+	 * of the matrix.
+	 */
+	private boolean isSymmetric(DoubleMatrix A, int n) {
+		if (symmetryTolerance == 0.0)
+			return A.isSymmetric();
+
+		double max = 0.0;
+		for (int y = 0; y < n; y++)
+			for (int x = 0; x < n; x++)
+				max = Math.max(max, Math.abs(A.get(x, y)));
+
+		return A.isSymmetric(symmetryTolerance * max);
+	}
+
+	/**
+	 * Checks if at most a given share of the values of a n x n matrix are not
+	 * zero, stopping as soon as there are more.
+	 */
+	private static boolean isSparse(DoubleMatrix A, int n, double maxDensity) {
+		final long limit = (long) (maxDensity * n * n);
+		long nonZeros = 0;
+
+		for (int y = 0; y < n; y++)
+			for (int x = 0; x < n; x++)
+				if (A.get(x, y) != 0.0 && ++nonZeros > limit)
+					return false;
+
+		return true;
+	}
+
+	/**
+	 * Reads a configuration property.
+	 * 
+	 * @return the trimmed value, or <code>null</code> if it is not set
+	 */
+	private static String property(Properties properties, String name) {
+		final String value = properties.getProperty(PROPERTY_PREFIX + name);
+		return value == null ? null : value.trim();
+	}
+
+	/**
+	 * Converts a configured method name to the name of its enum constant.
+	 */
+	private static String method(String name) {
+		return name.toUpperCase(Locale.ROOT);
+	}
+
+	/**
+	 * Sets the determinant calculator used for every matrix.
+	 * 
+	 * @param determinantMethod the method, or AUTO to select it by the matrix
+	 * @return this registry
+	 */
+	public AlgorithmRegistry setDeterminantMethod(DeterminantMethod determinantMethod) {
+		if (determinantMethod == null)
+			throw new IllegalArgumentException("The determinant method must not be null.");
+
+		this.determinantMethod = determinantMethod;
+		return this;
+	}
+
+	/**
+	 * Sets the solver used for every equotation system.
+	 * 
+	 * @param solverMethod the method, or AUTO to select it by the matrix
+	 * @return this registry
+	 */
+	public AlgorithmRegistry setSolverMethod(SolverMethod solverMethod) {
+		if (solverMethod == null)
+			throw new IllegalArgumentException("The solver method must not be null.");
+
+		this.solverMethod = solverMethod;
+		return this;
+	}
+
+	/**
+	 * Sets the smallest size of symmetric matrices using a Cholesky
+	 * decomposition.
+	 * 
+	 * @param choleskyMinSize the number of rows
+	 * @return this registry
+	 */
+	public AlgorithmRegistry setCholeskyMinSize(int choleskyMinSize) {
+		if (choleskyMinSize < 0)
+			throw new IllegalArgumentException("The minimum size must not be negative.");
+
+		this.choleskyMinSize = choleskyMinSize;
+		return this;
+	}
+
+	/**
+	 * Sets the smallest size of equotation systems solved with a LU
+	 * decomposition.
+	 * 
+	 * @param luMinSize the number of rows
+	 * @return this registry
+	 */
+	public AlgorithmRegistry setLuMinSize(int luMinSize) {
+		if (luMinSize < 0)
+			throw new IllegalArgumentException("The minimum size must not be negative.");
+
+		this.luMinSize = luMinSize;
+		return this;
+	}
+
+	/**
+	 * Sets the smallest size of sparse symmetric equotation systems solved
+	 * iteratively.
+	 * 
+	 * @param iterativeMinSize the number of rows
+	 * @return this registry
+	 */
+	public AlgorithmRegistry setIterativeMinSize(int iterativeMinSize) {
+		if (iterativeMinSize < 0)
+			throw new IllegalArgumentException("The minimum size must not be negative.");
+
+		this.iterativeMinSize = iterativeMinSize;
+		return this;
+	}
+
+	/**
+	 * Enables or disables the iterative solution of big sparse symmetric
+	 * equotation systems, which is disabled by default.
+	 * 
+	 * @param iterative true to enable the iterative route
+	 * @return this registry
+	 */
+	public AlgorithmRegistry setIterative(boolean iterative) {
+		this.iterative = iterative;
+		return this;
+	}
+
+	/**
+	 * Sets the biggest share of non zero values of equotation systems solved
+	 * iteratively.
+	 * 
+	 * @param iterativeMaxDensity the share between 0 and 1
+	 * @return this registry
+	 */
+	public AlgorithmRegistry setIterativeMaxDensity(double iterativeMaxDensity) {
+		if (!(iterativeMaxDensity >= 0.0 && iterativeMaxDensity <= 1.0))
+			throw new IllegalArgumentException("The maximum density must be between 0 and 1.");
+
+		this.iterativeMaxDensity = iterativeMaxDensity;
+		return this;
+	}
+
+	/**
+	 * Sets the relative residual norm up to which iterative solutions are
+	 * approximated.
+	 * 
+	 * @param iterativeTolerance the tolerance, positive
+	 * @return this registry
+	 * @see IterativeSolver#setTolerance(double)
+	 */
+	public AlgorithmRegistry setIterativeTolerance(double iterativeTolerance) {
+		if (!(iterativeTolerance > 0.0))
+			throw new IllegalArgumentException("The iterative tolerance must be positive.");
+
+		this.iterativeTolerance = iterativeTolerance;
+		return this;
+	}
+
+	/**
+	 * Sets the maximum difference of two mirrored values of a matrix that is
+	 * treated as symmetric, relative to the biggest absolute value of the matrix.
+	 * Only the lower triangle of a matrix treated as symmetric is read by the
+	 * Cholesky decomposition.
+	 * 
+	 * @param symmetryTolerance the relative tolerance, 0 for exact symmetry
+	 * @return this registry
+	 */
+	public AlgorithmRegistry setSymmetryTolerance(double symmetryTolerance) {
+		if (!(symmetryTolerance >= 0.0))
+			throw new IllegalArgumentException("The symmetry tolerance must not be negative.");
+
+		this.symmetryTolerance = symmetryTolerance;
+		return this;
+	}
+
+	/**
+	 * @return the determinant calculator used for every matrix
+	 */
+	public DeterminantMethod getDeterminantMethod() {
+		return determinantMethod;
+	}
+
+	/**
+	 * @return the solver used for every equotation system
+	 */
+	public SolverMethod getSolverMethod() {
+		return solverMethod;
+	}
+
+	/**
+	 * @return the smallest size of symmetric matrices using a Cholesky
+	 *         decomposition
+	 */
+	public int getCholeskyMinSize() {
+		return choleskyMinSize;
+	}
+
+	/**
+	 * @return the smallest size of equotation systems solved with a LU
+	 *         decomposition
+	 */
+	public int getLuMinSize() {
+		return luMinSize;
+	}
+
+	/**
+	 * @return the smallest size of sparse symmetric equotation systems solved
+	 *         iteratively
+	 */
+	public int getIterativeMinSize() {
+		return iterativeMinSize;
+	}
+
+	/**
+	 * @return true if big sparse symmetric systems may be solved iteratively
+	 */
+	public boolean isIterative() {
+		return iterative;
+	}
+
+	/**
+	 * @return the biggest share of non zero values of equotation systems solved
+	 *         iteratively
+	 */
+	public double getIterativeMaxDensity() {
+		return iterativeMaxDensity;
+	}
+
+	/**
+	 * @return the relative residual norm of iterative solutions
+	 */
+	public double getIterativeTolerance() {
+		return iterativeTolerance;
+	}
+
+	/**
+	 * @return the maximum difference of two mirrored values of a symmetric matrix,
+	 *         relative to its biggest absolute value
+	 */
+	public double getSymmetryTolerance() {
+		return symmetryTolerance;
+	}
+
+}
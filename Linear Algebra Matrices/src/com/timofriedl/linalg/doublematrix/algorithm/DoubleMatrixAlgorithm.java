@@ -15,6 +15,12 @@ public abstract class DoubleMatrixAlgorithm {
 	 */
 	protected final DoubleMatrix inputMatrix;
 
+	/**
+	 * the workspace for temporary arrays, or <code>null</code> for the workspace
+	 * of the calling thread
+	 */
+	private Workspace workspace;
+
 	/**
 	 * Creates a new algorithm instance with the given input matrix
 	 * 
@@ -24,4 +30,22 @@ public abstract class DoubleMatrixAlgorithm {
 		this.inputMatrix = inputMatrix;
 	}
 
+	/**
+	 * Sets the workspace this algorithm borrows its temporary arrays from. By
+	 * default, the {@link Workspace#current()} of the calling thread is used.
+	 * 
+	 * @param workspace the workspace to use, or <code>null</code> for the
+	 *                  workspace of the calling thread
+	 */
+	public void setWorkspace(Workspace workspace) {
+		this.workspace = workspace;
+	}
+
+	/**
+	 * @return the workspace to borrow temporary arrays from
+	 */
+	protected Workspace workspace() {
+		return workspace != null ? workspace : Workspace.current();
+	}
+
 }
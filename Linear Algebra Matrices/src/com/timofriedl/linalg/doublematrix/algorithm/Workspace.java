@@ -0,0 +1,228 @@
+package com.timofriedl.linalg.doublematrix.algorithm;
+
+/**
+ * A pool of temporary arrays for algorithms, so repeated calculations of the
+ * same size do not allocate any memory.
+ * 
+ * Arrays are borrowed with {@link #doubles(int)} or {@link #ints(int)} and
+ * given back with {@link #release(double[])} or {@link #release(int[])}. The
+ * pool keeps up to a fixed number of arrays per size class, where a size class
+ * contains all arrays whose length is the same power of two. A borrowed array
+ * can therefore be longer than requested, and its content is undefined.
+ * 
+ * A workspace is not thread safe. Every thread has its own workspace returned
+ * by {@link #current()}, or a workspace can be passed explicitly to a
+ * {@link DoubleMatrixAlgorithm} that is only used by one thread at a time.
+ * 
+ * @author Timo Friedl
+ */
+public class Workspace {
+
+	/**
+	 * the default number of arrays kept per size class and type
+	 */
+	public static final int DEFAULT_ARRAYS_PER_SIZE = 8;
+
+	/**
+	 * the number of size classes, the biggest class contains arrays of 2^30
+	 * values
+	 */
+	private static final int SIZE_CLASSES = 31;
+
+	/**
+	 * the workspace of every thread
+	 */
+	private static final ThreadLocal<Workspace> CURRENT = ThreadLocal.withInitial(Workspace::new);
+
+	/**
+	 * the free arrays of every size class, format: [sizeClass][i]
+	 */
+	private final double[][][] doubles;
+	private final int[][][] ints;
+
+	/**
+	 * the number of free arrays of every size class
+	 */
+	private final int[] doubleCounts = new int[SIZE_CLASSES];
+	private final int[] intCounts = new int[SIZE_CLASSES];
+
+	/**
+	 * the number of requests served with a free array or a new array
+	 */
+	private long hits, misses;
+
+	/**
+	 * Creates a new workspace that keeps up to {@value #DEFAULT_ARRAYS_PER_SIZE}
+	 * arrays per size class and type.
+	 */
+	public Workspace() {
+		this(DEFAULT_ARRAYS_PER_SIZE);
+	}
+
+	/**
+	 * Creates a new workspace that keeps up to a given number of arrays per size
+	 * class and type.
+	 * 
+	 * @param arraysPerSize the maximum number of free arrays per size class
+	 */
+	public Workspace(int arraysPerSize) {
+		if (arraysPerSize < 0)
+			throw new IllegalArgumentException("The number of arrays per size must not be negative.");
+
+		doubles = new double[SIZE_CLASSES][arraysPerSize][];
+		ints = new int[SIZE_CLASSES][arraysPerSize][];
+	}
+
+	/**
+	 * @return the workspace of the current thread
+	 */
+	public static Workspace current() {
+		return CURRENT.get();
+	}
+
+	/**
+	 * Borrows a <code>double</code> array with at least a given length.
+	 * 
+	 * @param length the minimal length
+	 * @return a free array of the size class of <code>length</code>, with
+	 *         undefined content
+	 */
+	public double[] doubles(int length) {
+		final int sizeClass = sizeClass(length);
+
+		if (sizeClass >= SIZE_CLASSES) {
+			misses++;
+			return new double[length];
+		}
+
+		if (doubleCounts[sizeClass] > 0) {
+			hits++;
+			final double[] array = doubles[sizeClass][--doubleCounts[sizeClass]];
+			doubles[sizeClass][doubleCounts[sizeClass]] = null;
+			return array;
+		}
+
+		misses++;
+		return new double[1 << sizeClass];
+	}
+
+	/**
+	 * Borrows an <code>int</code> array with at least a given length.
+	 * 
+	 * @param length the minimal length
+	 * @return a free array of the size class of <code>length</code>, with
+	 *         undefined content
+	 */
+	public int[] ints(int length) {
+		final int sizeClass = sizeClass(length);
+
+		if (sizeClass >= SIZE_CLASSES) {
+			misses++;
+			return new int[length];
+		}
+
+		if (intCounts[sizeClass] > 0) {
+			hits++;
+			final int[] array = ints[sizeClass][--intCounts[sizeClass]];
+			ints[sizeClass][intCounts[sizeClass]] = null;
+			return array;
+		}
+
+		misses++;
+		return new int[1 << sizeClass];
+	}
+
+	/**
+	 * Gives a borrowed array back, so it can be reused. Arrays that do not belong
+	 * to a size class, or whose size class is full, are left to the garbage
+	 * collector.
+	 * 
+	 * @param array the array to give back, must not be used afterwards
+	 */
+	public void release(double[] array) {
+		final int sizeClass = exactSizeClass(array.length);
+
+		if (sizeClass >= 0 && doubleCounts[sizeClass] < doubles[sizeClass].length)
+			doubles[sizeClass][doubleCounts[sizeClass]++] = array;
+	}
+
+	/**
+	 * Gives a borrowed array back, so it can be reused. Arrays that do not belong
+	 * to a size class, or whose size class is full, are left to the garbage
+	 * collector.
+	 * 
+	 * @param array the array to give back, must not be used afterwards
+	 */
+	public void release(int[] array) {
+		final int sizeClass = exactSizeClass(array.length);
+
+		if (sizeClass >= 0 && intCounts[sizeClass] < ints[sizeClass].length)
+			ints[sizeClass][intCounts[sizeClass]++] = array;
+	}
+
+	/**
+	 * Drops all free arrays.
+	 */
+	public void clear() {
+		for (int sizeClass = 0; sizeClass < SIZE_CLASSES; sizeClass++) {
+			for (int i = 0; i < doubleCounts[sizeClass]; i++)
+				doubles[sizeClass][i] = null;
+			for (int i = 0; i < intCounts[sizeClass]; i++)
+				ints[sizeClass][i] = null;
+
+			doubleCounts[sizeClass] = 0;
+			intCounts[sizeClass] = 0;
+		}
+	}
+
+	/**
+	 * Sets the hit and miss counters back to zero.
+	 */
+	public void resetStatistics() {
+		hits = 0;
+		misses = 0;
+	}
+
+	/**
+	 * @return the number of requests served with a free array
+	 */
+	public long getHits() {
+		return hits;
+	}
+
+	/**
+	 * @return the number of requests that allocated a new array
+	 */
+	public long getMisses() {
+		return misses;
+	}
+
+	/**
+	 * Calculates the size class of a requested length.
+	 * 
+	 * @param length the requested length
+	 * @return the smallest exponent e with <code>2^e >= length</code>
+	 */
+	private static int sizeClass(int length) {
+		if (length < 0)
+			throw new IllegalArgumentException("The array length must not be negative.");
+
+		return length <= 1 ? 0 : 32 - Integer.numberOfLeadingZeros(length - 1);
+	}
+
+	/**
+	 * Calculates the size class of an array from this pool.
+	 * 
+	 * @param length the length of the array
+	 * @return the exponent e with <code>2^e == length</code>, or -1 if the length
+	 *         is not a power of two of a size class
+	 */
+	private static int exactSizeClass(int length) {
+		if (length == 0 || Integer.bitCount(length) != 1)
+			return -1;
+
+		final int sizeClass = Integer.numberOfTrailingZeros(length);
+		return sizeClass < SIZE_CLASSES ? sizeClass : -1;
+	}
+
+}
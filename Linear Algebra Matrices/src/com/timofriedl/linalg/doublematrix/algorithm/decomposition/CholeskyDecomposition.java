@@ -0,0 +1,252 @@
+package com.timofriedl.linalg.doublematrix.algorithm.decomposition;
+
+import com.timofriedl.linalg.doublematrix.DoubleMatrix;
+import com.timofriedl.linalg.doublematrix.algorithm.DoubleMatrixAlgorithm;
+import com.timofriedl.linalg.doublevector.DoubleArrays;
+import com.timofriedl.linalg.doublevector.DoubleVector;
+
+/**
+ * Decomposes a symmetric positive definite n x n {@link DoubleMatrix} A into a
+ * lower triangular matrix L with a positive diagonal, so that A = L * L^T.
+ * 
+ * Only the lower triangle of A is read. The factorization needs half the
+ * operations of a {@link LuDecomposition} and no pivoting. It works on blocks
+ * of {@value #BLOCK_SIZE} columns: after a block column is factorized, it
+ * updates the whole remaining lower triangle with scalar products of row parts
+ * that are only {@value #BLOCK_SIZE} values long, so they stay in the cache.
+ * 
+ * The factor is calculated once per decomposition, so the same instance can be
+ * reused for any number of determinants and solutions in O(n^2) each.
+ * 
+ * @author Timo Friedl
+ */
+public class CholeskyDecomposition extends DoubleMatrixAlgorithm {
+
+	/**
+	 * the number of columns factorized at once
+	 */
+	private static final int BLOCK_SIZE = 64;
+
+	/**
+	 * the factor L on and below the diagonal
+	 * 
+	 * format: [y][x]
+	 */
+	private final double[][] l;
+
+	/**
+	 * true if A is symmetric positive definite
+	 */
+	private boolean positiveDefinite = true;
+
+	/**
+	 * Decomposes a symmetric positive definite n x n {@link DoubleMatrix}. The
+	 * input matrix is not changed.
+	 * 
+	 * @param inputMatrix the matrix to decompose
+	 */
+	public CholeskyDecomposition(DoubleMatrix inputMatrix) {
+		super(inputMatrix);
+
+		if (!inputMatrix.isSquare())
+			throw new IllegalArgumentException("The matrix should be a n x n matrix.");
+
+		final int n = inputMatrix.getHeight();
+		l = new double[n][n];
+
+		for (int y = 0; y < n; y++)
+			inputMatrix.copyRowTo(y, 0, y + 1, l[y], 0);
+
+		decompose();
+	}
+
+	/**
+	 * Performs the in-place factorization of <code>l</code>, block column by
+	 * block column.
+	 */
+	private void decompose() {
+		final int n = l.length;
+
+		for (int blockStart = 0; blockStart < n; blockStart += BLOCK_SIZE) {
+			final int blockEnd = Math.min(blockStart + BLOCK_SIZE, n);
+
+			// the diagonal block and the rows below it, using only this block column
+			for (int k = blockStart; k < blockEnd; k++) {
+				final double[] rowK = l[k];
+				final double d = rowK[k] - DoubleArrays.dot(rowK, blockStart, rowK, blockStart, k - blockStart);
+
+				if (!(d > 0.0)) {
+					positiveDefinite = false;
+					return;
+				}
+
+				rowK[k] = Math.sqrt(d);
+				final double inverse = 1.0 / rowK[k];
+
+				for (int y = k + 1; y < n; y++) {
+					final double[] row = l[y];
+					row[k] = (row[k] - DoubleArrays.dot(row, blockStart, rowK, blockStart, k - blockStart)) * inverse;
+				}
+			}
+
+			// the remaining lower triangle
+			final int length = blockEnd - blockStart;
+
+			for (int y = blockEnd; y < n; y++) {
+				final double[] row = l[y];
+
+				for (int x = blockEnd; x <= y; x++)
+					row[x] -= DoubleArrays.dot(row, blockStart, l[x], blockStart, length);
+			}
+		}
+	}
+
+	/**
+	 * Checks if the <code>inputMatrix</code> is symmetric positive definite. Only
+	 * then the factor L exists.
+	 * 
+	 * @return true if A is positive definite
+	 */
+	public boolean isPositiveDefinite() {
+		return positiveDefinite;
+	}
+
+	/**
+	 * Calculates the determinant of the <code>inputMatrix</code> as the squared
+	 * product of the diagonal of L.
+	 * 
+	 * @return the determinant
+	 */
+	public double determinant() {
+		checkPositiveDefinite();
+
+		double product = 1.0;
+		for (int k = 0; k < l.length; k++)
+			product *= l[k][k];
+
+		return product * product;
+	}
+
+	/**
+	 * Calculates the natural logarithm of the determinant of the
+	 * <code>inputMatrix</code>, which does not overflow for big matrices like the
+	 * determinant itself, e.g. for the likelihood of a normal distribution.
+	 * 
+	 * @return the logarithm of the determinant
+	 */
+	public double logDeterminant() {
+		checkPositiveDefinite();
+
+		double sum = 0.0;
+		for (int k = 0; k < l.length; k++)
+			sum += Math.log(l[k][k]);
+
+		return 2.0 * sum;
+	}
+
+	/**
+	 * Solves A * X = B for any number of right hand sides in O(n^2) per column of
+	 * <code>B</code>, failing if A is not positive definite.
+	 * 
+	 * @param B the right hand sides, as tall as A
+	 * @return the solution X with the same bounds as <code>B</code>
+	 */
+	public DoubleMatrix solve(DoubleMatrix B) {
+		final int n = l.length;
+
+		if (B.getHeight() != n)
+			throw new IllegalArgumentException("Matrix B must be as tall as the decomposed matrix.");
+		checkPositiveDefinite();
+
+		final int width = B.getWidth();
+		final double[][] x = new double[n][width];
+
+		for (int y = 0; y < n; y++)
+			B.copyRowTo(y, 0, width, x[y], 0);
+
+		// forward substitution with L
+		for (int k = 0; k < n; k++) {
+			DoubleArrays.scale(1.0 / l[k][k], x[k], 0, width);
+
+			for (int y = k + 1; y < n; y++)
+				axpy(-l[y][k], x[k], x[y]);
+		}
+
+		// backward substitution with L^T
+		for (int k = n - 1; k >= 0; k--) {
+			for (int y = k + 1; y < n; y++)
+				axpy(-l[y][k], x[y], x[k]);
+
+			DoubleArrays.scale(1.0 / l[k][k], x[k], 0, width);
+		}
+
+		return new DoubleMatrix(x);
+	}
+
+	/**
+	 * Solves A * x = b in O(n^2), failing if A is not positive definite.
+	 * 
+	 * @param b the right hand side, as big as A is tall
+	 * @return the solution x
+	 */
+	public DoubleVector solve(DoubleVector b) {
+		final int n = l.length;
+
+		if (b.size() != n)
+			throw new IllegalArgumentException("Vector b must be as big as the decomposed matrix is tall.");
+		checkPositiveDefinite();
+
+		final double[] x = new double[n];
+
+		// forward substitution with L, row by row
+		for (int y = 0; y < n; y++)
+			x[y] = (b.get(y) - DoubleArrays.dot(l[y], 0, x, 0, y)) / l[y][y];
+
+		// backward substitution with L^T, column by column of L
+		for (int k = n - 1; k >= 0; k--) {
+			x[k] /= l[k][k];
+			DoubleArrays.axpy(-x[k], l[k], 0, x, 0, k);
+		}
+
+		return new DoubleVector(x);
+	}
+
+	/**
+	 * Returns the lower triangular factor L.
+	 * 
+	 * @return a copy of L
+	 */
+	public DoubleMatrix getLower() {
+		checkPositiveDefinite();
+
+		final int n = l.length;
+		final DoubleMatrix lower = new DoubleMatrix(n, n);
+
+		for (int y = 0; y < n; y++)
+			for (int x = 0; x <= y; x++)
+				lower.set(x, y, l[y][x]);
+
+		return lower;
+	}
+
+	/**
+	 * Fails if the <code>inputMatrix</code> is not positive definite.
+	 */
+	private void checkPositiveDefinite() {
+		if (!positiveDefinite)
+			throw new IllegalArgumentException("The decomposed matrix is not symmetric positive definite.");
+	}
+
+	/**
+	 * Adds a multiple of a source row to a target row.
+	 * 
+	 * @param factor the factor to scale the source row with
+	 * @param source the row to add
+	 * @param target the row to change
+	 */
+	private static void axpy(double factor, double[] source, double[] target) {
+		if (factor != 0.0)
+			DoubleArrays.axpy(factor, source, 0, target, 0, target.length);
+	}
+
+}
@@ -0,0 +1,231 @@
+package com.timofriedl.linalg.doublematrix.algorithm.decomposition;
+
+import com.timofriedl.linalg.doublematrix.DoubleMatrix;
+import com.timofriedl.linalg.doublematrix.algorithm.DoubleMatrixAlgorithm;
+import com.timofriedl.linalg.doublevector.DoubleArrays;
+
+/**
+ * Decomposes a n x n {@link DoubleMatrix} A into a lower triangular matrix L
+ * with ones on its diagonal and an upper triangular matrix U, so that P * A = L
+ * * U for a row permutation P.
+ * 
+ * The factorization uses partial pivoting and runs in O(n^3). Both factors are
+ * stored in one array that is created once per decomposition, so the same
+ * instance can be reused for any number of determinants and solutions.
+ * 
+ * @author Timo Friedl
+ */
+public class LuDecomposition extends DoubleMatrixAlgorithm {
+
+	/**
+	 * the factors L (below the diagonal) and U (on and above the diagonal)
+	 * 
+	 * format: [y][x]
+	 */
+	private final double[][] lu;
+
+	/**
+	 * the row of the <code>inputMatrix</code> stored at each row of
+	 * <code>lu</code>
+	 */
+	private final int[] pivot;
+
+	/**
+	 * 1 for an even number of row swaps, -1 for an odd number
+	 */
+	private int pivotSign = 1;
+
+	/**
+	 * true if a pivot of zero was found
+	 */
+	private boolean singular;
+
+	/**
+	 * Decomposes a n x n {@link DoubleMatrix}. The input matrix is not changed.
+	 * 
+	 * @param inputMatrix the matrix to decompose
+	 */
+	public LuDecomposition(DoubleMatrix inputMatrix) {
+		super(inputMatrix);
+
+		if (!inputMatrix.isSquare())
+			throw new IllegalArgumentException("The matrix should be a n x n matrix.");
+
+		final int n = inputMatrix.getHeight();
+		lu = new double[n][n];
+		pivot = new int[n];
+
+		for (int y = 0; y < n; y++) {
+			inputMatrix.copyRowTo(y, 0, n, lu[y], 0);
+			pivot[y] = y;
+		}
+
+		decompose();
+	}
+
+	/**
+	 * Performs the in-place factorization of <code>lu</code>.
+	 */
+	private void decompose() {
+		final int n = lu.length;
+
+		for (int k = 0; k < n; k++) {
+			int p = k;
+			for (int y = k + 1; y < n; y++)
+				if (Math.abs(lu[y][k]) > Math.abs(lu[p][k]))
+					p = y;
+
+			if (p != k) {
+				swap(lu, p, k);
+
+				final int tmp = pivot[p];
+				pivot[p] = pivot[k];
+				pivot[k] = tmp;
+
+				pivotSign = -pivotSign;
+			}
+
+			final double[] pivotRow = lu[k];
+			if (pivotRow[k] == 0.0) {
+				singular = true;
+				continue;
+			}
+
+			final double inverse = 1.0 / pivotRow[k];
+
+			for (int y = k + 1; y < n; y++) {
+				final double[] row = lu[y];
+				final double factor = row[k] * inverse;
+				row[k] = factor;
+
+				if (factor != 0.0)
+					DoubleArrays.axpy(-factor, pivotRow, k + 1, row, k + 1, n - k - 1);
+			}
+		}
+	}
+
+	/**
+	 * Calculates the determinant of the <code>inputMatrix</code> as the product of
+	 * the diagonal of U.
+	 * 
+	 * @return the determinant
+	 */
+	public double determinant() {
+		double determinant = pivotSign;
+
+		for (int k = 0; k < lu.length; k++)
+			determinant *= lu[k][k];
+
+		return determinant;
+	}
+
+	/**
+	 * Checks if the <code>inputMatrix</code> is singular.
+	 * 
+	 * @return true if U has a zero on its diagonal
+	 */
+	public boolean isSingular() {
+		return singular;
+	}
+
+	/**
+	 * Solves A * X = B for any number of right hand sides in O(n^2) per column of
+	 * <code>B</code>, failing if A is singular.
+	 * 
+	 * @param B the right hand sides, as tall as A
+	 * @return the solution X with the same bounds as <code>B</code>
+	 */
+	public DoubleMatrix solve(DoubleMatrix B) {
+		final int n = lu.length;
+
+		if (B.getHeight() != n)
+			throw new IllegalArgumentException("Matrix B must be as tall as the decomposed matrix.");
+		if (singular)
+			throw new IllegalArgumentException("The decomposed matrix is singular.");
+
+		final int width = B.getWidth();
+		final double[][] x = new double[n][width];
+
+		for (int y = 0; y < n; y++)
+			B.copyRowTo(pivot[y], 0, width, x[y], 0);
+
+		// forward substitution with L
+		for (int k = 0; k < n; k++)
+			for (int y = k + 1; y < n; y++)
+				axpy(-lu[y][k], x[k], x[y]);
+
+		// backward substitution with U
+		for (int k = n - 1; k >= 0; k--) {
+			DoubleArrays.scale(1.0 / lu[k][k], x[k], 0, width);
+
+			for (int y = 0; y < k; y++)
+				axpy(-lu[y][k], x[k], x[y]);
+		}
+
+		return new DoubleMatrix(x);
+	}
+
+	/**
+	 * Returns the lower triangular factor L with ones on its diagonal.
+	 * 
+	 * @return a copy of L
+	 */
+	public DoubleMatrix getLower() {
+		final int n = lu.length;
+		final DoubleMatrix lower = DoubleMatrix.identity(n);
+
+		for (int y = 1; y < n; y++)
+			for (int x = 0; x < y; x++)
+				lower.set(x, y, lu[y][x]);
+
+		return lower;
+	}
+
+	/**
+	 * Returns the upper triangular factor U.
+	 * 
+	 * @return a copy of U
+	 */
+	public DoubleMatrix getUpper() {
+		final int n = lu.length;
+		final DoubleMatrix upper = new DoubleMatrix(n, n);
+
+		for (int y = 0; y < n; y++)
+			for (int x = y; x < n; x++)
+				upper.set(x, y, lu[y][x]);
+
+		return upper;
+	}
+
+	/**
+	 * Returns the row permutation P as an array, where the row <code>y</code> of P
+	 * * A is the row <code>pivot[y]</code> of A.
+	 * 
+	 * @return a copy of the pivot array
+	 */
+	public int[] getPivot() {
+		return pivot.clone();
+	}
+
+	/**
+	 * Swaps two rows of an array by reference.
+	 */
+	private static void swap(double[][] rows, int a, int b) {
+		final double[] tmp = rows[a];
+		rows[a] = rows[b];
+		rows[b] = tmp;
+	}
+
+	/**
+	 * Adds a multiple of a source row to a target row.
+	 * 
+	 * @param factor the factor to scale the source row with
+	 * @param source the row to add
+	 * @param target the row to change
+	 */
+	private static void axpy(double factor, double[] source, double[] target) {
+		if (factor != 0.0)
+			DoubleArrays.axpy(factor, source, 0, target, 0, target.length);
+	}
+
+}
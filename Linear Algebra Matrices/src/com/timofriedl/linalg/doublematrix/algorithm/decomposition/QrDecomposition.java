@@ -0,0 +1,339 @@
+package com.timofriedl.linalg.doublematrix.algorithm.decomposition;
+
+import java.util.Arrays;
+
+import com.timofriedl.linalg.doublematrix.DoubleMatrix;
+import com.timofriedl.linalg.doublematrix.algorithm.DoubleMatrixAlgorithm;
+import com.timofriedl.linalg.doublematrix.algorithm.Workspace;
+import com.timofriedl.linalg.doublevector.DoubleArrays;
+
+/**
+ * Decomposes a m x n {@link DoubleMatrix} A with m >= n into an orthogonal m x
+ * n matrix Q and an upper triangular n x n matrix R, so that A = Q * R.
+ * 
+ * Q is never built explicitly but stored as n Householder vectors, which are
+ * applied to the right hand sides when solving. The matrix is stored column by
+ * column, so every Householder vector and every column it reflects is one
+ * contiguous array.
+ * 
+ * The factors are calculated once per decomposition in O(m * n^2), so the same
+ * instance can be reused for any number of least squares solutions in O(m * n)
+ * each.
+ * 
+ * @author Timo Friedl
+ */
+public class QrDecomposition extends DoubleMatrixAlgorithm {
+
+	/**
+	 * the Householder vectors below and R above the diagonal
+	 * 
+	 * format: [x][y]
+	 */
+	private final double[][] qr;
+
+	/**
+	 * the diagonal of R
+	 */
+	private final double[] rDiagonal;
+
+	/**
+	 * the number of reflections that are not the identity
+	 */
+	private int reflections;
+
+	/**
+	 * the biggest absolute value on the diagonal of R that counts as zero
+	 */
+	private double rankTolerance;
+
+	/**
+	 * Decomposes a m x n {@link DoubleMatrix} with m >= n. The input matrix is not
+	 * changed.
+	 * 
+	 * @param inputMatrix the matrix to decompose
+	 */
+	public QrDecomposition(DoubleMatrix inputMatrix) {
+		super(inputMatrix);
+
+		final int m = inputMatrix.getHeight();
+		final int n = inputMatrix.getWidth();
+
+		if (m < n)
+			throw new IllegalArgumentException("The matrix must not be wider than tall.");
+
+		qr = new double[n][m];
+		rDiagonal = new double[n];
+
+		for (int y = 0; y < m; y++)
+			for (int x = 0; x < n; x++)
+				qr[x][y] = inputMatrix.get(x, y);
+
+		decompose();
+	}
+
+	/**
+	 * Performs the in-place factorization of <code>qr</code>.
+	 */
+	private void decompose() {
+		final int n = qr.length;
+		double maxNorm = 0.0;
+
+		for (int k = 0; k < n; k++)
+			maxNorm = Math.max(maxNorm, norm(qr[k], 0, qr[k].length));
+
+		rankTolerance = Math.max(inputMatrix.getHeight(), n) * Math.ulp(1.0) * maxNorm;
+
+		for (int k = 0; k < n; k++) {
+			final double[] v = qr[k];
+			final int length = v.length - k;
+
+			double norm = norm(v, k, length);
+
+			if (norm != 0.0) {
+				if (v[k] < 0.0)
+					norm = -norm;
+
+				DoubleArrays.scale(1.0 / norm, v, k, length);
+				v[k] += 1.0;
+				reflections++;
+
+				for (int x = k + 1; x < n; x++) {
+					final double[] column = qr[x];
+					final double s = -DoubleArrays.dot(v, k, column, k, length) / v[k];
+					DoubleArrays.axpy(s, v, k, column, k, length);
+				}
+			}
+
+			rDiagonal[k] = -norm;
+		}
+	}
+
+	/**
+	 * Calculates the euclidean norm of a part of an array without overflowing
+	 * for big values.
+	 */
+	private static double norm(double[] a, int offset, int length) {
+		double max = 0.0;
+		for (int i = offset; i < offset + length; i++)
+			max = Math.max(max, Math.abs(a[i]));
+
+		if (max == 0.0 || Double.isInfinite(max))
+			return max;
+
+		double sum = 0.0;
+		for (int i = offset; i < offset + length; i++) {
+			final double scaled = a[i] / max;
+			sum += scaled * scaled;
+		}
+
+		return max * Math.sqrt(sum);
+	}
+
+	/**
+	 * Checks if the columns of the <code>inputMatrix</code> are linearly
+	 * independent. Only then the least squares solution is unique.
+	 * 
+	 * Rounding errors almost never produce an exact zero on the diagonal of R, so
+	 * a diagonal value counts as zero if its absolute value is not bigger than
+	 * <code>max(m, n) * ulp(1)</code> times the biggest euclidean norm of a column
+	 * of A. Columns that are numerically dependent are therefore rejected as
+	 * well, instead of producing huge solutions.
+	 * 
+	 * @return true if R has no zero on its diagonal
+	 */
+	public boolean isFullRank() {
+		for (int k = 0; k < rDiagonal.length; k++)
+			if (!(Math.abs(rDiagonal[k]) > rankTolerance))
+				return false;
+
+		return true;
+	}
+
+	/**
+	 * Calculates the determinant of a square <code>inputMatrix</code> as the
+	 * product of the diagonal of R and the signs of the Householder reflections.
+	 * 
+	 * @return the determinant
+	 */
+	public double determinant() {
+		if (!inputMatrix.isSquare())
+			throw new IllegalArgumentException("The decomposed matrix should be a n x n matrix.");
+
+		double determinant = (reflections & 1) == 0 ? 1.0 : -1.0;
+		for (int k = 0; k < rDiagonal.length; k++)
+			determinant *= rDiagonal[k];
+
+		return determinant;
+	}
+
+	/**
+	 * Calculates the X that minimizes the euclidean norm of every column of A * X
+	 * - B. For a square A, this is the solution of A * X = B.
+	 * 
+	 * @param B the right hand sides, as tall as A
+	 * @return the least squares solution X, as wide as <code>B</code> and as tall
+	 *         as A is wide
+	 */
+	public DoubleMatrix solve(DoubleMatrix B) {
+		final int n = qr.length;
+		final int m = inputMatrix.getHeight();
+
+		if (B.getHeight() != m)
+			throw new IllegalArgumentException("Matrix B must be as tall as the decomposed matrix.");
+		if (!isFullRank())
+			throw new IllegalArgumentException("The decomposed matrix is rank deficient.");
+
+		final int width = B.getWidth();
+		final double[][] x = new double[m][width];
+
+		for (int y = 0; y < m; y++)
+			B.copyRowTo(y, 0, width, x[y], 0);
+
+		// Q^T * B, reflecting all right hand sides at once row by row
+		final Workspace workspace = workspace();
+		final double[] s = workspace.doubles(width);
+
+		try {
+			for (int k = 0; k < n; k++) {
+				final double[] v = qr[k];
+
+				if (v[k] == 0.0)
+					continue;
+
+				Arrays.fill(s, 0, width, 0.0);
+				for (int y = k; y < m; y++)
+					DoubleArrays.axpy(v[y], x[y], 0, s, 0, width);
+
+				DoubleArrays.scale(-1.0 / v[k], s, 0, width);
+				for (int y = k; y < m; y++)
+					axpy(v[y], s, x[y]);
+			}
+		} finally {
+			workspace.release(s);
+		}
+
+		// backward substitution with R
+		for (int k = n - 1; k >= 0; k--) {
+			DoubleArrays.scale(1.0 / rDiagonal[k], x[k], 0, width);
+
+			final double[] column = qr[k];
+			for (int y = 0; y < k; y++)
+				axpy(-column[y], x[k], x[y]);
+		}
+
+		final double[][] solution = new double[n][];
+		System.arraycopy(x, 0, solution, 0, n);
+
+		return new DoubleMatrix(solution);
+	}
+
+	/**
+	 * Returns the upper triangular factor R.
+	 * 
+	 * @return a copy of R
+	 */
+	public DoubleMatrix getR() {
+		final int n = qr.length;
+		final DoubleMatrix R = new DoubleMatrix(n, n);
+
+		for (int x = 0; x < n; x++) {
+			for (int y = 0; y < x; y++)
+				R.set(x, y, qr[x][y]);
+
+			R.set(x, x, rDiagonal[x]);
+		}
+
+		return R;
+	}
+
+	/**
+	 * Builds the orthogonal factor Q from the Householder vectors.
+	 * 
+	 * @return the m x n matrix Q with orthonormal columns
+	 */
+	public DoubleMatrix getQ() {
+		final int n = qr.length;
+		final int m = inputMatrix.getHeight();
+		final double[][] q = qColumns();
+
+		final DoubleMatrix Q = new DoubleMatrix(n, m);
+		for (int x = 0; x < n; x++)
+			for (int y = 0; y < m; y++)
+				Q.set(x, y, q[x][y]);
+
+		return Q;
+	}
+
+	/**
+	 * Calculates the Moore-Penrose pseudo inverse R^-1 * Q^T of the
+	 * <code>inputMatrix</code>, failing if its columns are not linearly
+	 * independent, see {@link #isFullRank()}.
+	 * 
+	 * Only the m x n factor Q is built, so the calculation needs O(m * n) memory
+	 * and O(m * n^2) time, unlike a least squares solution for the m x m
+	 * identity.
+	 * 
+	 * @return the n x m pseudo inverse, as wide as A is tall and as tall as A is
+	 *         wide
+	 */
+	public DoubleMatrix pseudoInverse() {
+		if (!isFullRank())
+			throw new IllegalArgumentException("The decomposed matrix is rank deficient.");
+
+		final int n = qr.length;
+
+		// the columns of Q are the rows of Q^T, solve R * X = Q^T row by row from the bottom
+		final double[][] x = qColumns();
+
+		for (int k = n - 1; k >= 0; k--) {
+			for (int i = k + 1; i < n; i++)
+				axpy(-qr[i][k], x[i], x[k]);
+
+			DoubleArrays.scale(1.0 / rDiagonal[k], x[k], 0, x[k].length);
+		}
+
+		return new DoubleMatrix(x);
+	}
+
+	/**
+	 * Applies the Householder reflections to the first n unit vectors.
+	 * 
+	 * @return the columns of Q, format: [x][y]
+	 */
+	private double[][] qColumns() {
+		final int n = qr.length;
+		final int m = inputMatrix.getHeight();
+		final double[][] q = new double[n][m];
+
+		// Q * e_k, where only the first k + 1 reflections change e_k
+		for (int k = 0; k < n; k++) {
+			final double[] column = q[k];
+			column[k] = 1.0;
+
+			for (int x = k; x >= 0; x--) {
+				final double[] v = qr[x];
+
+				if (v[x] == 0.0)
+					continue;
+
+				final double s = -DoubleArrays.dot(v, x, column, x, m - x) / v[x];
+				DoubleArrays.axpy(s, v, x, column, x, m - x);
+			}
+		}
+
+		return q;
+	}
+
+	/**
+	 * Adds a multiple of a source row to a target row.
+	 * 
+	 * @param factor the factor to scale the source row with
+	 * @param source the row to add
+	 * @param target the row to change
+	 */
+	private static void axpy(double factor, double[] source, double[] target) {
+		if (factor != 0.0)
+			DoubleArrays.axpy(factor, source, 0, target, 0, target.length);
+	}
+
+}
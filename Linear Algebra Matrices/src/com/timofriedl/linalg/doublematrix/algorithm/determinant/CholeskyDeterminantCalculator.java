@@ -0,0 +1,40 @@
+package com.timofriedl.linalg.doublematrix.algorithm.determinant;
+
+import com.timofriedl.linalg.doublematrix.DoubleMatrix;
+import com.timofriedl.linalg.doublematrix.algorithm.decomposition.CholeskyDecomposition;
+import com.timofriedl.linalg.doublematrix.algorithm.decomposition.LuDecomposition;
+
+/**
+ * Calculates the determinant of a symmetric positive definite
+ * {@link DoubleMatrix} in O(n^3) with a {@link CholeskyDecomposition}, which
+ * needs half the operations of a {@link LuDecomposition}.
+ * 
+ * Only the lower triangle is read. If the matrix turns out not to be positive
+ * definite, the determinant is calculated with a {@link LuDecomposition}
+ * instead, so the result is correct for any symmetric matrix.
+ * 
+ * @author Timo Friedl
+ */
+public class CholeskyDeterminantCalculator extends DeterminantCalculator {
+
+	/**
+	 * Creates a new calculator instance for a symmetric n x n
+	 * {@link DoubleMatrix}.
+	 * 
+	 * @param inputMatrix the input {@link DoubleMatrix} for this algorithm
+	 */
+	public CholeskyDeterminantCalculator(DoubleMatrix inputMatrix) {
+		super(inputMatrix);
+	}
+
+	@Override
+	public double determinant() {
+		final CholeskyDecomposition cholesky = new CholeskyDecomposition(inputMatrix);
+
+		if (cholesky.isPositiveDefinite())
+			return cholesky.determinant();
+
+		return new LuDecomposition(inputMatrix).determinant();
+	}
+
+}
@@ -1,6 +1,7 @@
 package com.timofriedl.linalg.doublematrix.algorithm.determinant;
 
 import com.timofriedl.linalg.doublematrix.DoubleMatrix;
+import com.timofriedl.linalg.doublematrix.algorithm.Workspace;
 
 /**
  * Contains methods for calculating the determinant of a {@link DoubleMatrix}.
@@ -9,11 +10,21 @@ import com.timofriedl.linalg.doublematrix.DoubleMatrix;
  */
 public class LeibnitzDeterminantCalculator extends DeterminantCalculator {
 
+	/**
+	 * the biggest matrix size whose number of permutations fits into an
+	 * <code>int</code>
+	 */
+	private static final int MAX_SIZE = 12;
+
 	/**
 	 * Creates a new instance for determinant calculations
 	 */
 	public LeibnitzDeterminantCalculator(DoubleMatrix inputMatrix) {
 		super(inputMatrix);
+
+		if (inputMatrix.getWidth() > MAX_SIZE)
+			throw new IllegalArgumentException(
+					"The matrix must not be bigger than " + MAX_SIZE + " x " + MAX_SIZE + " for the Leibnitz formula.");
 	}
 
 	/**
@@ -45,125 +56,102 @@ public class LeibnitzDeterminantCalculator extends DeterminantCalculator {
 	}
 
 	/**
-	 * Creates an array for a certain n: [0,...,n-1]
+	 * Fills the first n values of an array with the first permutation: [0,...,n-1]
 	 * 
-	 * @param n the lenght of the array
-	 * @return created array
+	 * @param array the array to fill, at least n values long
+	 * @param n     the length of the permutation
 	 */
-	private int[] makeArray(int n) {
-		int[] array = new int[n];
-
-		for (int i = 0; i < array.length; i++)
+	private void firstPermutation(int[] array, int n) {
+		for (int i = 0; i < n; i++)
 			array[i] = i;
-
-		return array;
 	}
 
 	/**
-	 * Reverses an array at a certain index
+	 * Reverses the first n values of an array in place from a certain index on
 	 * 
 	 * @param array
 	 * @param index from this index on the array is reversed
+	 * @param n     the length of the permutation
 	 */
-	private void reverse(int[] array, int index) {
-		int[] a = new int[array.length];
-
-		for (int i = 0; i < index; i++)
-			a[i] = array[i];
-
-		int count = 0;
-
-		for (int i = index; i < array.length; i++) {
-			a[i] = array[array.length - 1 - count];
-			count++;
-		}
-
-		for (int i = 0; i < array.length; i++)
-			array[i] = a[i];
+	private void reverse(int[] array, int index, int n) {
+		for (int i = index, j = n - 1; i < j; i++, j--)
+			swap(array, i, j);
 	}
 
 	/**
-	 * creates a new permutation of an array
+	 * creates the next permutation of the first n values of an array in place
 	 * 
 	 * @param array the array that will be permutated
+	 * @param n     the length of the permutation
 	 */
-	private void permut(int[] array) {
+	private void permut(int[] array, int n) {
 		int current = 0;
 
-		for (int i = 0; i < array.length - 1; i++)
+		for (int i = 0; i < n - 1; i++)
 			if (i >= current && array[i] < array[i + 1])
 				current = i;
 
 		int current2 = 0;
 
-		for (int i = 0; i < array.length; i++)
+		for (int i = 0; i < n; i++)
 			if (array[i] > array[current])
 				current2 = i;
 
 		swap(array, current, current2);
 
-		reverse(array, current + 1);
+		reverse(array, current + 1, n);
 	}
 
 	/**
-	 * calculates all permutations of an array: [1,...,n]
-	 * 
-	 * @param n the lenght of the permutation array: [1,...,n]
-	 * @return an 2D array with all permutations of [1,...,n]
-	 */
-	private int[][] permutations(int n) {
-		int[] firstPermutation = makeArray(n);
-		int permutationsCount = faculty(firstPermutation.length);
-		int[][] permutations = new int[permutationsCount][firstPermutation.length];
-
-		for (int i = 0; i < permutations.length; i++) {
-			System.arraycopy(firstPermutation, 0, permutations[i], 0, firstPermutation.length);
-			permut(firstPermutation);
-		}
-
-		return permutations;
-	}
-
-	/**
-	 * Calculates sgn of a permuations
+	 * Calculates sgn of a permuations by counting its inversions, without the
+	 * products of all differences that overflow an <code>int</code>
 	 * 
 	 * @param permutation the permuatation whose sgn will be calculated
-	 * @return
+	 * @param n           the length of the permutation
+	 * @return 1 for an even number of inversions, -1 for an odd one
 	 */
-	private int sgn(int[] permutation) {
-		int numerator = 1;
-		int denominator = 1;
-
-		for (int i = 0; i < permutation.length - 1; i++)
-			for (int j = i + 1; j < permutation.length; j++) {
-				numerator *= permutation[j] - permutation[i];
-				denominator *= j - i;
-			}
+	private int sgn(int[] permutation, int n) {
+		int inversions = 0;
+
+		for (int i = 0; i < n - 1; i++)
+			for (int j = i + 1; j < n; j++)
+				if (permutation[i] > permutation[j])
+					inversions++;
 
-		return numerator / denominator;
+		return (inversions & 1) == 0 ? 1 : -1;
 	}
 
 	/**
-	 * Calculates determinant
+	 * Calculates determinant, visiting the permutations one after another in a
+	 * single array borrowed from the {@link Workspace}
 	 * 
-	 * @param A the matrix whose determinant will be calculated
 	 * @return the determinant
 	 */
 	@Override
 	public double determinant() {
 		DoubleMatrix A = super.inputMatrix;
-		double determinant = 0.0;
-		int[][] permutations = permutations(A.getWidth());
+		final int n = A.getWidth();
+		final int permutationsCount = faculty(n);
+		final Workspace workspace = workspace();
+		final int[] permutation = workspace.ints(n);
 
-		for (int i = 0; i < permutations.length; i++) {
-			double product = 1.0;
+		try {
+			firstPermutation(permutation, n);
+			double determinant = 0.0;
 
-			for (int j = 0; j < A.getWidth(); j++)
-				product *= A.get(j, permutations[i][j]);
+			for (int i = 0; i < permutationsCount; i++) {
+				double product = 1.0;
 
-			determinant += sgn(permutations[i]) * product;
+				for (int j = 0; j < n; j++)
+					product *= A.get(j, permutation[j]);
+
+				determinant += sgn(permutation, n) * product;
+				permut(permutation, n);
+			}
+			return determinant;
+		} finally {
+			workspace.release(permutation);
 		}
-		return determinant;
 	}
 
 }
@@ -0,0 +1,28 @@
+package com.timofriedl.linalg.doublematrix.algorithm.determinant;
+
+import com.timofriedl.linalg.doublematrix.DoubleMatrix;
+import com.timofriedl.linalg.doublematrix.algorithm.decomposition.LuDecomposition;
+
+/**
+ * Calculates the determinant of a {@link DoubleMatrix} in O(n^3) with a
+ * {@link LuDecomposition}.
+ * 
+ * @author Timo Friedl
+ */
+public class LuDeterminantCalculator extends DeterminantCalculator {
+
+	/**
+	 * Creates a new calculator instance for any n x n {@link DoubleMatrix}.
+	 * 
+	 * @param inputMatrix the input {@link DoubleMatrix} for this algorithm
+	 */
+	public LuDeterminantCalculator(DoubleMatrix inputMatrix) {
+		super(inputMatrix);
+	}
+
+	@Override
+	public double determinant() {
+		return new LuDecomposition(inputMatrix).determinant();
+	}
+
+}
@@ -1,6 +1,7 @@
 package com.timofriedl.linalg.doublematrix.algorithm.determinant;
 
 import com.timofriedl.linalg.doublematrix.DoubleMatrix;
+import com.timofriedl.linalg.doublematrix.algorithm.Workspace;
 
 /**
  * Contains methods for calculating the determinant recursively of a
@@ -16,32 +17,51 @@ public class RecursiveDeterminantCalculator extends DeterminantCalculator {
 
 	@Override
 	public double determinant() {
-		return recursiveDeterminant(super.inputMatrix);
+		final int n = inputMatrix.getWidth();
+		final Workspace workspace = workspace();
+		final int[] columns = workspace.ints(n * n);
+
+		for (int x = 0; x < n; x++)
+			columns[x] = x;
+
+		try {
+			return recursiveDeterminant(0, columns, n);
+		} finally {
+			workspace.release(columns);
+		}
 	}
 
 	/**
-	 * Calculates determinant recursively
+	 * Calculates determinant recursively, expanding along the first row of a
+	 * submatrix. Instead of copying the submatrices, every recursion level lists
+	 * its remaining columns in its own part of one array.
 	 * 
-	 * @param matrix
+	 * @param row     the first row of the submatrix, which is also its level
+	 * @param columns the remaining columns of every level, format: [row][i]
+	 * @param count   the number of remaining columns of this level
 	 * @return determinant
 	 */
-	private double recursiveDeterminant(DoubleMatrix matrix) {
-		if (matrix.getHeight() == 1)
-			return matrix.get(0, 0);
+	private double recursiveDeterminant(int row, int[] columns, int count) {
+		final int n = inputMatrix.getWidth();
+		final int offset = row * n;
 
-		double determinant = 0;
+		if (count == 1)
+			return inputMatrix.get(columns[offset], row);
 
-		for (int x = 0; x < matrix.getWidth(); x++) {
+		double determinant = 0;
 
-			DoubleMatrix tmp = matrix.clone();
+		for (int i = 0; i < count; i++) {
+			for (int j = 0, k = offset + n; j < count; j++)
+				if (j != i)
+					columns[k++] = columns[offset + j];
 
-			tmp.removeRow(0);
-			tmp.removeColumn(x);
+			final double minor = inputMatrix.get(columns[offset + i], row) * recursiveDeterminant(row + 1, columns,
+					count - 1);
 
-			if (x % 2 == 0)
-				determinant += matrix.get(x, 0) * recursiveDeterminant(tmp);
+			if (i % 2 == 0)
+				determinant += minor;
 			else
-				determinant -= matrix.get(x, 0) * recursiveDeterminant(tmp);
+				determinant -= minor;
 		}
 		return determinant;
 	}
@@ -0,0 +1,38 @@
+package com.timofriedl.linalg.doublematrix.algorithm.gaussian;
+
+import com.timofriedl.linalg.doublematrix.DoubleMatrix;
+import com.timofriedl.linalg.doublematrix.algorithm.decomposition.CholeskyDecomposition;
+
+/**
+ * An implementation of an {@link GaussianSolver} for systems with a symmetric
+ * positive definite left n x n part, solving all right hand sides with a
+ * {@link CholeskyDecomposition}.
+ * 
+ * Only the lower triangle of the left part is read. If it turns out not to be
+ * positive definite, the system is solved like by the {@link LuGaussianSolver}.
+ * 
+ * @author Timo Friedl
+ */
+public class CholeskyGaussianSolver extends LuGaussianSolver {
+
+	/**
+	 * Creates a new solver instance with a given matrix to solve.
+	 * 
+	 * @param inputMatrix the matrix to solve, concatenated with its solutions
+	 *                    vector
+	 */
+	public CholeskyGaussianSolver(DoubleMatrix inputMatrix) {
+		super(inputMatrix);
+	}
+
+	@Override
+	protected DoubleMatrix solve(DoubleMatrix A, DoubleMatrix B) {
+		final CholeskyDecomposition cholesky = new CholeskyDecomposition(A);
+
+		if (cholesky.isPositiveDefinite())
+			return cholesky.solve(B);
+
+		return super.solve(A, B);
+	}
+
+}
@@ -0,0 +1,356 @@
+package com.timofriedl.linalg.doublematrix.algorithm.gaussian;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import com.timofriedl.linalg.doublematrix.DoubleMatrix;
+import com.timofriedl.linalg.doublematrix.algorithm.DoubleMatrixAlgorithm;
+import com.timofriedl.linalg.doublematrix.algorithm.Workspace;
+import com.timofriedl.linalg.doublematrix.storage.DoubleStorage;
+import com.timofriedl.linalg.doublematrix.storage.RowMajorDoubleStorage;
+import com.timofriedl.linalg.doublevector.DoubleArrays;
+
+/**
+ * Inverts a n x n {@link DoubleMatrix} in place with Gauss-Jordan elimination
+ * and partial pivoting.
+ * 
+ * Unlike a {@link GaussianSolver} on <code>A | I</code>, the inverse overwrites
+ * A column by column, so neither the identity nor a concatenated matrix is
+ * created. The pivots are eliminated in panels of {@value #PANEL_SIZE}
+ * columns: the row transformations of a panel are applied to the panel only
+ * and then to all other columns at once, which are split into column ranges
+ * that are updated in parallel on a {@link ForkJoinPool}.
+ * 
+ * The inversion fails fast with an {@link IllegalArgumentException} if the
+ * matrix contains values that are not finite or if a pivot is not bigger than
+ * <code>n * ulp(1)</code> times the biggest absolute value of A, so singular or
+ * numerically singular matrices never produce infinite or NaN values.
+ * 
+ * @author Timo Friedl
+ */
+public class GaussJordanInverter extends DoubleMatrixAlgorithm {
+
+	/**
+	 * the number of pivot columns eliminated before the other columns are updated
+	 */
+	public static final int PANEL_SIZE = 32;
+
+	/**
+	 * the default number of multiplications below which an update of the other
+	 * columns is calculated sequentially
+	 */
+	public static final long DEFAULT_THRESHOLD = 1L << 20;
+
+	/**
+	 * the pool to run the column updates on
+	 */
+	private final ForkJoinPool pool;
+
+	/**
+	 * Creates a new inverter instance that runs on the common
+	 * {@link ForkJoinPool}.
+	 * 
+	 * @param inputMatrix the n x n matrix to invert
+	 */
+	public GaussJordanInverter(DoubleMatrix inputMatrix) {
+		this(inputMatrix, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Creates a new inverter instance that runs on a given pool.
+	 * 
+	 * @param inputMatrix the n x n matrix to invert
+	 * @param pool        the pool to run the column updates on
+	 */
+	public GaussJordanInverter(DoubleMatrix inputMatrix, ForkJoinPool pool) {
+		super(inputMatrix);
+
+		if (!inputMatrix.isSquare())
+			throw new IllegalArgumentException("The matrix to invert should be a n x n matrix.");
+		if (pool == null)
+			throw new IllegalArgumentException("The ForkJoinPool must not be null.");
+
+		this.pool = pool;
+	}
+
+	/**
+	 * Calculates the inverse of the <code>inputMatrix</code> without changing it.
+	 * 
+	 * @return the inverse in a new {@link DoubleMatrix}
+	 */
+	public DoubleMatrix inverse() {
+		final int n = inputMatrix.getHeight();
+		final double[] numbers = new double[n * n];
+
+		for (int y = 0; y < n; y++)
+			inputMatrix.copyRowTo(y, 0, n, numbers, y * n);
+
+		final DoubleMatrix inverse = new DoubleMatrix(new RowMajorDoubleStorage(numbers, n, n));
+		invert(inverse);
+
+		return inverse;
+	}
+
+	/**
+	 * Overwrites the <code>inputMatrix</code> with its inverse. If the inversion
+	 * fails, the content of the <code>inputMatrix</code> is undefined.
+	 */
+	public void invertInPlace() {
+		invert(inputMatrix);
+	}
+
+	/**
+	 * Inverts a given matrix in place, directly in the arrays of its storage if
+	 * possible.
+	 * 
+	 * @param A the matrix to invert
+	 */
+	private void invert(DoubleMatrix A) {
+		final DoubleStorage storage = A.getStorage();
+		final int n = A.getHeight();
+		final double[][] rows = new double[n][];
+		final int[] offsets = new int[n];
+		boolean heap = true;
+
+		for (int y = 0; y < n && heap; y++) {
+			rows[y] = storage.rowArray(y);
+			offsets[y] = storage.rowOffset(y);
+			heap = rows[y] != null;
+		}
+
+		if (!heap)
+			for (int y = 0; y < n; y++) {
+				rows[y] = new double[n];
+				offsets[y] = 0;
+				storage.copyRowTo(y, 0, n, rows[y], 0);
+			}
+
+		invert(rows, offsets, n);
+
+		if (!heap)
+			for (int y = 0; y < n; y++)
+				storage.pasteRow(y, 0, n, rows[y], 0);
+	}
+
+	/**
+	 * Inverts the matrix with the given rows in place.
+	 * 
+	 * @param rows    the arrays containing the rows
+	 * @param offsets the position of the first value of every row in its array
+	 * @param n       the size of the matrix
+	 */
+	private void invert(double[][] rows, int[] offsets, int n) {
+		final double tolerance = n * Math.ulp(1.0) * maxAbs(rows, offsets, n);
+		final Workspace workspace = workspace();
+		final int[] pivot = workspace.ints(n);
+		final double[] panelRows = workspace.doubles(Math.min(PANEL_SIZE, n) * n);
+
+		try {
+			invert(rows, offsets, n, tolerance, pivot, panelRows);
+		} finally {
+			workspace.release(pivot);
+			workspace.release(panelRows);
+		}
+	}
+
+	/**
+	 * Inverts the matrix with the given rows in place, using given scratch arrays.
+	 * 
+	 * @param rows      the arrays containing the rows
+	 * @param offsets   the position of the first value of every row in its array
+	 * @param n         the size of the matrix
+	 * @param tolerance the biggest absolute value treated as a zero pivot
+	 * @param pivot     at least n values for the pivot row of every column
+	 * @param panelRows at least <code>min(PANEL_SIZE, n) * n</code> values for
+	 *                  the panel rows before an update, format: [j * n + x]
+	 */
+	private void invert(double[][] rows, int[] offsets, int n, double tolerance, int[] pivot, double[] panelRows) {
+		for (int panelStart = 0; panelStart < n; panelStart += PANEL_SIZE) {
+			final int panelEnd = Math.min(panelStart + PANEL_SIZE, n);
+			final int panelWidth = panelEnd - panelStart;
+
+			for (int k = panelStart; k < panelEnd; k++) {
+				pivot[k] = findPivot(rows, offsets, n, k);
+				final double pivotValue = rows[pivot[k]][offsets[pivot[k]] + k];
+
+				if (!(Math.abs(pivotValue) > tolerance))
+					throw new IllegalArgumentException("The matrix is singular or too ill-conditioned to invert.");
+
+				if (pivot[k] != k)
+					swapRows(rows, offsets, n, k, pivot[k]);
+
+				final double[] pivotRow = rows[k];
+				final int pivotOffset = offsets[k];
+
+				pivotRow[pivotOffset + k] = 1.0;
+				DoubleArrays.scale(1.0 / pivotValue, pivotRow, pivotOffset + panelStart, panelWidth);
+
+				for (int y = 0; y < n; y++) {
+					final double factor = rows[y][offsets[y] + k];
+
+					if (y != k && factor != 0.0) {
+						rows[y][offsets[y] + k] = 0.0;
+						DoubleArrays.axpy(-factor, pivotRow, pivotOffset + panelStart, rows[y], offsets[y] + panelStart,
+								panelWidth);
+					}
+				}
+			}
+
+			// the panel columns now contain the combined transformation, the other columns are unchanged
+			for (int j = 0; j < panelWidth; j++)
+				System.arraycopy(rows[panelStart + j], offsets[panelStart + j], panelRows, j * n, n);
+
+			update(new UpdateTask(rows, offsets, panelRows, panelStart, panelEnd, 0, panelStart));
+			update(new UpdateTask(rows, offsets, panelRows, panelStart, panelEnd, panelEnd, n));
+		}
+
+		// the row swaps turn into column swaps of the inverse
+		for (int k = n - 1; k >= 0; k--)
+			if (pivot[k] != k)
+				for (int y = 0; y < n; y++) {
+					final double[] row = rows[y];
+					final int offset = offsets[y];
+					final double tmp = row[offset + k];
+					row[offset + k] = row[offset + pivot[k]];
+					row[offset + pivot[k]] = tmp;
+				}
+	}
+
+	/**
+	 * Runs an update of the other columns, on the <code>pool</code> if it is big
+	 * enough.
+	 */
+	private void update(UpdateTask task) {
+		if (task.work() <= DEFAULT_THRESHOLD)
+			task.compute();
+		else
+			pool.invoke(task);
+	}
+
+	/**
+	 * Finds the row with the biggest absolute value in column k, starting at row
+	 * k.
+	 */
+	private static int findPivot(double[][] rows, int[] offsets, int n, int k) {
+		int pivotRowNr = k;
+		double max = Math.abs(rows[k][offsets[k] + k]);
+
+		for (int y = k + 1; y < n; y++) {
+			final double value = Math.abs(rows[y][offsets[y] + k]);
+
+			if (value > max) {
+				max = value;
+				pivotRowNr = y;
+			}
+		}
+
+		return pivotRowNr;
+	}
+
+	/**
+	 * Swaps the content of two rows.
+	 */
+	private static void swapRows(double[][] rows, int[] offsets, int n, int first, int second) {
+		final double[] a = rows[first], b = rows[second];
+		final int aOffset = offsets[first], bOffset = offsets[second];
+
+		for (int x = 0; x < n; x++) {
+			final double tmp = a[aOffset + x];
+			a[aOffset + x] = b[bOffset + x];
+			b[bOffset + x] = tmp;
+		}
+	}
+
+	/**
+	 * Finds the biggest absolute value of the matrix, failing if any value is not
+	 * finite.
+	 */
+	private static double maxAbs(double[][] rows, int[] offsets, int n) {
+		double max = 0.0;
+
+		for (int y = 0; y < n; y++)
+			for (int x = 0; x < n; x++) {
+				final double value = Math.abs(rows[y][offsets[y] + x]);
+
+				if (!(value <= Double.MAX_VALUE))
+					throw new IllegalArgumentException("The matrix to invert contains values that are not finite.");
+
+				max = Math.max(max, value);
+			}
+
+		return max;
+	}
+
+	/**
+	 * Applies the transformation of a panel to a range of the other columns,
+	 * splitting it in halves as long as it is bigger than the threshold.
+	 */
+	private static class UpdateTask extends RecursiveAction {
+
+		private static final long serialVersionUID = 1L;
+
+		/**
+		 * the rows of the matrix and the position of their first values
+		 */
+		private final double[][] rows;
+		private final int[] offsets;
+
+		/**
+		 * the panel rows before the update, format: [j * n + x]
+		 */
+		private final double[] panelRows;
+
+		/**
+		 * the bounds of the panel and of the columns to update, end values exclusive
+		 */
+		private final int panelStart, panelEnd, colStart, colEnd;
+
+		private UpdateTask(double[][] rows, int[] offsets, double[] panelRows, int panelStart, int panelEnd,
+				int colStart, int colEnd) {
+			this.rows = rows;
+			this.offsets = offsets;
+			this.panelRows = panelRows;
+			this.panelStart = panelStart;
+			this.panelEnd = panelEnd;
+			this.colStart = colStart;
+			this.colEnd = colEnd;
+		}
+
+		/**
+		 * @return the number of multiplications needed for this update
+		 */
+		private long work() {
+			return (long) rows.length * (panelEnd - panelStart) * (colEnd - colStart);
+		}
+
+		@Override
+		protected void compute() {
+			final int columns = colEnd - colStart;
+
+			if (columns > 2 * PANEL_SIZE && work() > DEFAULT_THRESHOLD) {
+				final int middle = colStart + columns / 2;
+				invokeAll(new UpdateTask(rows, offsets, panelRows, panelStart, panelEnd, colStart, middle),
+						new UpdateTask(rows, offsets, panelRows, panelStart, panelEnd, middle, colEnd));
+				return;
+			}
+
+			final int n = rows.length;
+
+			// row y += sum over the panel of (T - I)[y][j] * old panel row j
+			for (int y = 0; y < n; y++) {
+				final double[] row = rows[y];
+				final int offset = offsets[y];
+
+				for (int j = panelStart; j < panelEnd; j++) {
+					final double factor = row[offset + j] - (y == j ? 1.0 : 0.0);
+
+					if (factor != 0.0)
+						DoubleArrays.axpy(factor, panelRows, (j - panelStart) * n + colStart, row, offset + colStart,
+								columns);
+				}
+			}
+		}
+
+	}
+
+}
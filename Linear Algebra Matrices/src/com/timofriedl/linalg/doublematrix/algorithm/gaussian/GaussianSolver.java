@@ -20,17 +20,29 @@ public abstract class GaussianSolver extends DoubleMatrixAlgorithm {
 	 * (2 3 | 0) ..............................</br>
 	 * (4 5 | 2) ..............................</br>
 	 * 
+	 * More than one solutions vector can be concatenated to solve several systems
+	 * with the same coefficients at once.
+	 * 
 	 * @param inputMatrix the matrix to solve, concatenated with its solutions
 	 *                    vector
 	 */
 	public GaussianSolver(DoubleMatrix inputMatrix) {
 		super(inputMatrix);
+
+		if (inputMatrix.getWidth() < inputMatrix.getHeight())
+			throw new IllegalArgumentException("The matrix to solve must be at least as wide as it is tall.");
 	}
 
 	/**
 	 * Solves a linear equotation system with gaussian elimination.
 	 * 
-	 * @return the solved matrix
+	 * Example: ...............................</br>
+	 * 
+	 * (1 0 | 3) ..............................</br>
+	 * (0 1 | -2) .............................</br>
+	 * 
+	 * @return the solved matrix, with the identity matrix on the left and the
+	 *         solutions on the right
 	 */
 	public abstract DoubleMatrix solve();
 
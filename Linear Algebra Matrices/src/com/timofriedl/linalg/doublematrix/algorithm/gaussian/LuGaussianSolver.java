@@ -0,0 +1,65 @@
+package com.timofriedl.linalg.doublematrix.algorithm.gaussian;
+
+import com.timofriedl.linalg.doublematrix.DoubleMatrix;
+import com.timofriedl.linalg.doublematrix.algorithm.decomposition.LuDecomposition;
+
+/**
+ * An implementation of an {@link GaussianSolver} that solves all right hand
+ * sides with a {@link LuDecomposition} of the left n x n part.
+ * 
+ * The decomposition works on plain rows and substitutes all right hand sides
+ * at once, which is faster than the row transformations of the
+ * {@link SimpleGaussianSolver} on the whole augmented matrix for all but small
+ * systems. The result is written back into the <code>inputMatrix</code>, like
+ * the result of any {@link GaussianSolver}.
+ * 
+ * @author Timo Friedl
+ */
+public class LuGaussianSolver extends GaussianSolver {
+
+	/**
+	 * Creates a new solver instance with a given matrix to solve.
+	 * 
+	 * @param inputMatrix the matrix to solve, concatenated with its solutions
+	 *                    vector
+	 */
+	public LuGaussianSolver(DoubleMatrix inputMatrix) {
+		super(inputMatrix);
+	}
+
+	/**
+	 * Solves the <code>inputMatrix</code> in place, failing if its left n x n part
+	 * is singular.
+	 */
+	@Override
+	public DoubleMatrix solve() {
+		final int n = inputMatrix.getHeight();
+		final DoubleMatrix A = inputMatrix.view(0, 0, n, n);
+		final DoubleMatrix B = inputMatrix.view(n, 0, inputMatrix.getWidth() - n, n);
+
+		inputMatrix.paste(solve(A, B), n, 0);
+
+		for (int y = 0; y < n; y++)
+			for (int x = 0; x < n; x++)
+				A.set(x, y, x == y ? 1.0 : 0.0);
+
+		return inputMatrix;
+	}
+
+	/**
+	 * Solves A * X = B.
+	 * 
+	 * @param A the left n x n part of the <code>inputMatrix</code>
+	 * @param B the right hand sides
+	 * @return the solution X in a new {@link DoubleMatrix}
+	 */
+	protected DoubleMatrix solve(DoubleMatrix A, DoubleMatrix B) {
+		final LuDecomposition lu = new LuDecomposition(A);
+
+		if (lu.isSingular())
+			throw new IllegalArgumentException("The matrix to solve is singular.");
+
+		return lu.solve(B);
+	}
+
+}
@@ -1,11 +1,11 @@
 package com.timofriedl.linalg.doublematrix.algorithm.gaussian;
 
 import com.timofriedl.linalg.doublematrix.DoubleMatrix;
-import com.timofriedl.linalg.doublevector.DoubleVector;
 
 /**
- * A primitive implementation of an {@link GaussianSolver}. No speed
- * improvements or other stuff. Just a simple algorithm.
+ * A simple implementation of an {@link GaussianSolver}. Uses partial pivoting
+ * and performs all row transformations in place on the <code>inputMatrix</code>
+ * without allocating any vectors.
  * 
  * @author Timo Friedl
  */
@@ -27,12 +27,53 @@ public class SimpleGaussianSolver extends GaussianSolver {
 		super(inputMatrix);
 	}
 
+	/**
+	 * Solves the <code>inputMatrix</code> in place with partial pivoting, failing
+	 * if its left n x n part is singular.
+	 */
 	@Override
 	public DoubleMatrix solve() {
-		// TODO implement gaussian elimination algorithm with the three transformation
-		// methods
+		final int n = inputMatrix.getHeight();
+
+		// forward elimination
+		for (int k = 0; k < n; k++) {
+			int pivotRowNr = k;
+			for (int y = k + 1; y < n; y++)
+				if (Math.abs(inputMatrix.get(k, y)) > Math.abs(inputMatrix.get(k, pivotRowNr)))
+					pivotRowNr = y;
+
+			final double pivot = inputMatrix.get(k, pivotRowNr);
+			if (pivot == 0.0)
+				throw new IllegalArgumentException("The matrix to solve is singular.");
+
+			if (pivotRowNr != k)
+				type1Transformation(k, pivotRowNr);
+
+			for (int y = k + 1; y < n; y++) {
+				final double factor = inputMatrix.get(k, y) / pivot;
+				if (factor != 0.0)
+					type3Transformation(k, y, -factor, k);
 
-		return null;
+				// the eliminated value is zero by definition, not only up to rounding
+				inputMatrix.set(k, y, 0.0);
+			}
+		}
+
+		// backward elimination, the rows below k are already reduced
+		for (int k = n - 1; k >= 0; k--) {
+			type2Transformation(k, 1.0 / inputMatrix.get(k, k));
+			inputMatrix.set(k, k, 1.0);
+
+			for (int y = 0; y < k; y++) {
+				final double factor = inputMatrix.get(k, y);
+				if (factor != 0.0)
+					type3Transformation(k, y, -factor, k);
+
+				inputMatrix.set(k, y, 0.0);
+			}
+		}
+
+		return inputMatrix;
 	}
 
 	/**
@@ -43,11 +84,7 @@ public class SimpleGaussianSolver extends GaussianSolver {
 	 * @param secondRowNr the number of the second row to swap with the first one
 	 */
 	private void type1Transformation(int firstRowNr, int secondRowNr) {
-		final DoubleVector firstRow = inputMatrix.getRow(firstRowNr);
-		final DoubleVector secondRow = inputMatrix.getRow(secondRowNr);
-
-		inputMatrix.pasteRow(firstRowNr, secondRow);
-		inputMatrix.pasteRow(secondRowNr, firstRow);
+		inputMatrix.swapRows(firstRowNr, secondRowNr);
 	}
 
 	/**
@@ -69,12 +106,11 @@ public class SimpleGaussianSolver extends GaussianSolver {
 	 * @param toChangeRowNr the number of the row where the multiple of the
 	 *                      <code>sourceRow</code> will be added
 	 * @param scalingFactor the factor to scale the </code>sourceRow</code> with
+	 * @param fromColumnNr  the first column to change, the columns before must be
+	 *                      zero in the <code>sourceRow</code>
 	 */
-	private void type3Transformation(int sourceRowNr, int toChangeRowNr, double scalingFactor) {
-		final DoubleVector sourceRow = inputMatrix.getRow(sourceRowNr);
-		sourceRow.scale(scalingFactor);
-
-		inputMatrix.addToRow(toChangeRowNr, sourceRow);
+	private void type3Transformation(int sourceRowNr, int toChangeRowNr, double scalingFactor, int fromColumnNr) {
+		inputMatrix.addMultipleOfRow(sourceRowNr, toChangeRowNr, scalingFactor, fromColumnNr);
 	}
 
 }
@@ -0,0 +1,70 @@
+package com.timofriedl.linalg.doublematrix.algorithm.iterative;
+
+import com.timofriedl.linalg.doublevector.DoubleArrays;
+
+/**
+ * An {@link IterativeSolver} using the (preconditioned) conjugate gradient
+ * method. Only works for symmetric positive definite operators, but needs just
+ * one operator product and a few vectors per iteration. If the operator turns
+ * out not to be positive definite, the solve stops and
+ * {@link #hasBrokenDown()} returns true.
+ * 
+ * @author Timo Friedl
+ */
+public class ConjugateGradientSolver extends IterativeSolver {
+
+	/**
+	 * Creates a new solver instance for a given operator.
+	 * 
+	 * @param operator the symmetric positive definite operator of the equotation
+	 *                 system
+	 */
+	public ConjugateGradientSolver(LinearOperator operator) {
+		super(operator);
+	}
+
+	@Override
+	protected boolean iterate(double[] b, double[] x, double limit) {
+		final int n = b.length;
+		final double[] r = work(0);
+		final double[] z = work(1);
+		final double[] p = work(2);
+		final double[] ap = work(3);
+
+		residual(b, x, r);
+		residualNorm = norm(r);
+		if (residualNorm <= limit)
+			return true;
+
+		precondition(r, z);
+		System.arraycopy(z, 0, p, 0, n);
+		double rz = DoubleArrays.dot(r, 0, z, 0, n);
+
+		while (!iterationsExhausted()) {
+			apply(p, ap);
+
+			final double pap = DoubleArrays.dot(p, 0, ap, 0, n);
+			if (!(pap > 0.0))
+				return breakDown();
+
+			final double alpha = rz / pap;
+			DoubleArrays.axpy(alpha, p, 0, x, 0, n);
+			DoubleArrays.axpy(-alpha, ap, 0, r, 0, n);
+
+			iterationFinished(norm(r));
+			if (residualNorm <= limit)
+				return true;
+
+			precondition(r, z);
+			final double rzNew = DoubleArrays.dot(r, 0, z, 0, n);
+			final double beta = rzNew / rz;
+			rz = rzNew;
+
+			for (int i = 0; i < n; i++)
+				p[i] = z[i] + beta * p[i];
+		}
+
+		return false;
+	}
+
+}
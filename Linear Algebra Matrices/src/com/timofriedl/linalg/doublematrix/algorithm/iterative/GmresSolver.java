@@ -0,0 +1,186 @@
+package com.timofriedl.linalg.doublematrix.algorithm.iterative;
+
+import java.util.Arrays;
+
+import com.timofriedl.linalg.doublevector.DoubleArrays;
+
+/**
+ * An {@link IterativeSolver} using the restarted generalized minimal residual
+ * method (GMRES). Works for any regular operator; for a singular one the solve
+ * may stop early and {@link #hasBrokenDown()} returns true.
+ * 
+ * Every cycle builds an orthonormal basis of at most <code>restart</code>
+ * vectors with the Arnoldi process and minimizes the residual over it with
+ * Givens rotations. The preconditioner is applied from the right, so the
+ * reported residual norm is the norm of the real residual <code>b - Ax</code>.
+ * 
+ * @author Timo Friedl
+ */
+public class GmresSolver extends IterativeSolver {
+
+	/**
+	 * the default number of iterations per cycle
+	 */
+	public static final int DEFAULT_RESTART = 30;
+
+	/**
+	 * the number of iterations per cycle
+	 */
+	private final int restart;
+
+	/**
+	 * the orthonormal basis of a cycle, null before the first solve
+	 */
+	private double[][] v;
+
+	/**
+	 * the preconditioned basis vectors of a cycle
+	 */
+	private double[][] z;
+
+	/**
+	 * the Hessenberg matrix of a cycle, turned into an upper triangular matrix by
+	 * the Givens rotations
+	 */
+	private double[][] h;
+
+	/**
+	 * the cosines of the Givens rotations
+	 */
+	private double[] cos;
+
+	/**
+	 * the sines of the Givens rotations
+	 */
+	private double[] sin;
+
+	/**
+	 * the rotated right side of the least squares problem
+	 */
+	private double[] g;
+
+	/**
+	 * the solution of the least squares problem
+	 */
+	private double[] y;
+
+	/**
+	 * Creates a new solver instance for a given operator that restarts after
+	 * {@value #DEFAULT_RESTART} iterations.
+	 * 
+	 * @param operator the operator of the equotation system
+	 */
+	public GmresSolver(LinearOperator operator) {
+		this(operator, DEFAULT_RESTART);
+	}
+
+	/**
+	 * Creates a new solver instance for a given operator.
+	 * 
+	 * @param operator the operator of the equotation system
+	 * @param restart  the number of iterations per cycle, every cycle stores this
+	 *                 many vectors of the operator size
+	 */
+	public GmresSolver(LinearOperator operator, int restart) {
+		super(operator);
+
+		if (restart < 1)
+			throw new IllegalArgumentException("The restart length must be positive.");
+
+		this.restart = restart;
+	}
+
+	@Override
+	protected boolean iterate(double[] b, double[] x, double limit) {
+		final int n = b.length;
+		final int m = Math.min(restart, n);
+
+		if (v == null) {
+			v = new double[m + 1][];
+			z = new double[m][];
+			for (int i = 0; i <= m; i++)
+				v[i] = work(i);
+			for (int i = 0; i < m; i++)
+				z[i] = work(m + 1 + i);
+
+			h = new double[m + 1][m];
+			cos = new double[m];
+			sin = new double[m];
+			g = new double[m + 1];
+			y = new double[m];
+		}
+
+		while (true) {
+			residual(b, x, v[0]);
+			final double beta = norm(v[0]);
+
+			residualNorm = beta;
+			if (beta <= limit)
+				return true;
+			if (iterationsExhausted())
+				return false;
+
+			DoubleArrays.scale(1.0 / beta, v[0], 0, n);
+			Arrays.fill(g, 0.0);
+			g[0] = beta;
+
+			int k = 0;
+			while (k < m) {
+				precondition(v[k], z[k]);
+				apply(z[k], v[k + 1]);
+
+				for (int i = 0; i <= k; i++) {
+					h[i][k] = DoubleArrays.dot(v[k + 1], 0, v[i], 0, n);
+					DoubleArrays.axpy(-h[i][k], v[i], 0, v[k + 1], 0, n);
+				}
+
+				final double next = norm(v[k + 1]);
+				h[k + 1][k] = next;
+				if (next != 0.0)
+					DoubleArrays.scale(1.0 / next, v[k + 1], 0, n);
+
+				for (int i = 0; i < k; i++) {
+					final double upper = h[i][k];
+					h[i][k] = cos[i] * upper + sin[i] * h[i + 1][k];
+					h[i + 1][k] = -sin[i] * upper + cos[i] * h[i + 1][k];
+				}
+
+				final double radius = Math.hypot(h[k][k], next);
+				if (radius == 0.0)
+					return breakDown();
+
+				cos[k] = h[k][k] / radius;
+				sin[k] = next / radius;
+				h[k][k] = radius;
+				h[k + 1][k] = 0.0;
+				g[k + 1] = -sin[k] * g[k];
+				g[k] = cos[k] * g[k];
+
+				k++;
+				iterationFinished(Math.abs(g[k]));
+
+				if (residualNorm <= limit || next == 0.0 || iterationsExhausted())
+					break;
+			}
+
+			for (int i = k - 1; i >= 0; i--) {
+				double sum = g[i];
+				for (int j = i + 1; j < k; j++)
+					sum -= h[i][j] * y[j];
+
+				y[i] = sum / h[i][i];
+			}
+
+			for (int i = 0; i < k; i++)
+				DoubleArrays.axpy(y[i], z[i], 0, x, 0, n);
+		}
+	}
+
+	/**
+	 * @return the number of iterations per cycle
+	 */
+	public int getRestart() {
+		return restart;
+	}
+
+}
@@ -0,0 +1,383 @@
+package com.timofriedl.linalg.doublematrix.algorithm.iterative;
+
+import java.util.Arrays;
+
+import com.timofriedl.linalg.doublevector.DoubleArrays;
+import com.timofriedl.linalg.doublevector.DoubleVector;
+
+/**
+ * Solves linear equotation systems <code>Ax = b</code> by improving an
+ * approximated solution step by step. Only needs the product of the matrix and
+ * a vector, so it is suitable for large sparse systems where gaussian
+ * elimination would be too slow and fill in too many zeros.
+ * 
+ * The iteration stops as soon as the euclidean norm of the residual
+ * <code>b - Ax</code> is at most <code>tolerance * |b|</code>, or after the
+ * maximum number of iterations.
+ * 
+ * The work arrays of a solver are allocated by the first solve and reused by
+ * every later one, so the iterations do not allocate memory and a solver
+ * instance must not be used by several threads at the same time.
+ * 
+ * @author Timo Friedl
+ */
+public abstract class IterativeSolver {
+
+	/**
+	 * the default relative tolerance of the residual norm
+	 */
+	public static final double DEFAULT_TOLERANCE = 1e-10;
+
+	/**
+	 * the default maximum number of iterations
+	 */
+	public static final int DEFAULT_MAX_ITERATIONS = 10000;
+
+	/**
+	 * the operator of the equotation system
+	 */
+	protected final LinearOperator operator;
+
+	/**
+	 * the relative tolerance of the residual norm
+	 */
+	private double tolerance = DEFAULT_TOLERANCE;
+
+	/**
+	 * the maximum number of iterations
+	 */
+	private int maxIterations = DEFAULT_MAX_ITERATIONS;
+
+	/**
+	 * the preconditioner to use, null for none
+	 */
+	private Preconditioner preconditioner;
+
+	/**
+	 * the listener to notify after every iteration, null for none
+	 */
+	private ResidualListener listener;
+
+	/**
+	 * the number of iterations of the last solve
+	 */
+	private int iterations;
+
+	/**
+	 * the residual norm after the last solve, also set by the sub classes before
+	 * the first iteration
+	 */
+	protected double residualNorm;
+
+	/**
+	 * true if the last solve stopped because the method broke down
+	 */
+	private boolean brokenDown;
+
+	/**
+	 * the copy of the right side of the current solve
+	 */
+	private double[] bValues;
+
+	/**
+	 * the copy of the solution of the current solve
+	 */
+	private double[] xValues;
+
+	/**
+	 * the vector wrapping {@link #xValues}
+	 */
+	private DoubleVector xVector;
+
+	/**
+	 * the work arrays of the sub classes, null for numbers not used yet
+	 */
+	private double[][] work = new double[0][];
+
+	/**
+	 * the vectors wrapping the work arrays
+	 */
+	private DoubleVector[] workVectors = new DoubleVector[0];
+
+	/**
+	 * Creates a new solver instance for a given operator.
+	 * 
+	 * @param operator the operator of the equotation system
+	 */
+	public IterativeSolver(LinearOperator operator) {
+		this.operator = operator;
+	}
+
+	/**
+	 * Solves the equotation system <code>Ax = b</code>, starting with the zero
+	 * vector.
+	 * 
+	 * @param b the right side of the equotation system
+	 * @return the approximated solution
+	 */
+	public DoubleVector solve(DoubleVector b) {
+		final DoubleVector x = new DoubleVector(operator.size());
+		solve(b, x);
+
+		return x;
+	}
+
+	/**
+	 * Solves the equotation system <code>Ax = b</code>, starting with the given
+	 * values of <code>x</code>.
+	 * 
+	 * @param b the right side of the equotation system
+	 * @param x the initial guess, overwritten with the approximated solution
+	 * @return true if the tolerance has been reached, false if the maximum number
+	 *         of iterations has been reached or the method broke down
+	 * @see #hasBrokenDown()
+	 */
+	public boolean solve(DoubleVector b, DoubleVector x) {
+		final int n = operator.size();
+		if (b.size() != n || x.size() != n)
+			throw new IllegalArgumentException("The vectors must match the size of the operator.");
+
+		if (xValues == null) {
+			bValues = new double[n];
+			xValues = new double[n];
+			xVector = new DoubleVector(xValues);
+		}
+
+		for (int i = 0; i < n; i++) {
+			bValues[i] = b.get(i);
+			xValues[i] = x.get(i);
+		}
+
+		iterations = 0;
+		brokenDown = false;
+		final double bNorm = norm(bValues);
+		final boolean converged;
+
+		if (bNorm == 0.0) {
+			Arrays.fill(xValues, 0.0);
+			residualNorm = 0.0;
+			converged = true;
+		} else
+			converged = iterate(bValues, xValues, tolerance * bNorm);
+
+		for (int i = 0; i < n; i++)
+			x.set(i, xValues[i]);
+
+		return converged;
+	}
+
+	/**
+	 * Improves the solution until the residual norm is at most a given limit or
+	 * the maximum number of iterations is reached. Must call
+	 * {@link #iterationFinished(double)} after every iteration.
+	 * 
+	 * @param b     the right side of the equotation system
+	 * @param x     the initial guess, overwritten with the approximated solution
+	 * @param limit the absolute residual norm to reach
+	 * @return true if the limit has been reached
+	 */
+	protected abstract boolean iterate(double[] b, double[] x, double limit);
+
+	/**
+	 * Counts an iteration and notifies the listener.
+	 * 
+	 * @param residualNorm the euclidean norm of the current residual
+	 */
+	protected void iterationFinished(double residualNorm) {
+		this.residualNorm = residualNorm;
+		iterations++;
+
+		if (listener != null)
+			listener.iterationFinished(iterations, residualNorm);
+	}
+
+	/**
+	 * Stops the iteration because the method can not continue for this operator,
+	 * e.g. because it is not positive definite.
+	 * 
+	 * @return false, to be returned by {@link #iterate(double[], double[], double)}
+	 */
+	protected boolean breakDown() {
+		brokenDown = true;
+		return false;
+	}
+
+	/**
+	 * @return true if the maximum number of iterations is reached
+	 */
+	protected boolean iterationsExhausted() {
+		return iterations >= maxIterations;
+	}
+
+	/**
+	 * Returns a work array of the operator size. The array is allocated by the
+	 * first call with the given index and returned again by every later call, so
+	 * its content is left over from the last solve.
+	 * 
+	 * @param index the number of the work array, starting at zero
+	 * @return the work array
+	 */
+	protected double[] work(int index) {
+		if (index >= work.length) {
+			work = Arrays.copyOf(work, index + 1);
+			workVectors = Arrays.copyOf(workVectors, index + 1);
+		}
+
+		if (work[index] == null) {
+			work[index] = new double[operator.size()];
+			workVectors[index] = new DoubleVector(work[index]);
+		}
+
+		return work[index];
+	}
+
+	/**
+	 * Returns the vector wrapping an array, which is created only if the array is
+	 * neither a work array nor the solution of this solver.
+	 * 
+	 * @param array the array to wrap
+	 * @return the vector wrapping the array
+	 */
+	private DoubleVector vector(double[] array) {
+		if (array == xValues)
+			return xVector;
+
+		for (int i = 0; i < work.length; i++)
+			if (work[i] == array)
+				return workVectors[i];
+
+		return new DoubleVector(array);
+	}
+
+	/**
+	 * Calculates the product of the operator and a vector.
+	 * 
+	 * @param x      the vector to multiply
+	 * @param result the array to overwrite with the product
+	 */
+	protected void apply(double[] x, double[] result) {
+		operator.apply(vector(x), vector(result));
+	}
+
+	/**
+	 * Applies the preconditioner to a residual, or copies it if there is no
+	 * preconditioner.
+	 * 
+	 * @param residual the residual to precondition
+	 * @param result   the array to overwrite with the result
+	 */
+	protected void precondition(double[] residual, double[] result) {
+		if (preconditioner == null)
+			System.arraycopy(residual, 0, result, 0, residual.length);
+		else
+			preconditioner.apply(vector(residual), vector(result));
+	}
+
+	/**
+	 * Calculates the residual <code>b - Ax</code>.
+	 * 
+	 * @param b        the right side of the equotation system
+	 * @param x        the current solution
+	 * @param residual the array to overwrite with the residual
+	 */
+	protected void residual(double[] b, double[] x, double[] residual) {
+		apply(x, residual);
+
+		for (int i = 0; i < residual.length; i++)
+			residual[i] = b[i] - residual[i];
+	}
+
+	/**
+	 * @return the euclidean norm of an array
+	 */
+	protected static double norm(double[] a) {
+		return Math.sqrt(DoubleArrays.dot(a, 0, a, 0, a.length));
+	}
+
+	/**
+	 * Sets the relative tolerance of the residual norm.
+	 * 
+	 * @param tolerance the new tolerance, positive
+	 * @return this solver
+	 */
+	public IterativeSolver setTolerance(double tolerance) {
+		if (!(tolerance > 0.0))
+			throw new IllegalArgumentException("The tolerance must be positive.");
+
+		this.tolerance = tolerance;
+		return this;
+	}
+
+	/**
+	 * Sets the maximum number of iterations.
+	 * 
+	 * @param maxIterations the new maximum, positive
+	 * @return this solver
+	 */
+	public IterativeSolver setMaxIterations(int maxIterations) {
+		if (maxIterations < 1)
+			throw new IllegalArgumentException("The maximum number of iterations must be positive.");
+
+		this.maxIterations = maxIterations;
+		return this;
+	}
+
+	/**
+	 * Sets the preconditioner.
+	 * 
+	 * @param preconditioner the preconditioner to use, null for none
+	 * @return this solver
+	 */
+	public IterativeSolver setPreconditioner(Preconditioner preconditioner) {
+		this.preconditioner = preconditioner;
+		return this;
+	}
+
+	/**
+	 * Sets the listener that gets notified after every iteration.
+	 * 
+	 * @param listener the listener to notify, null for none
+	 * @return this solver
+	 */
+	public IterativeSolver setResidualListener(ResidualListener listener) {
+		this.listener = listener;
+		return this;
+	}
+
+	/**
+	 * @return the relative tolerance of the residual norm
+	 */
+	public double getTolerance() {
+		return tolerance;
+	}
+
+	/**
+	 * @return the maximum number of iterations
+	 */
+	public int getMaxIterations() {
+		return maxIterations;
+	}
+
+	/**
+	 * @return the number of iterations of the last solve
+	 */
+	public int getIterations() {
+		return iterations;
+	}
+
+	/**
+	 * @return true if the last solve stopped because the method broke down for
+	 *         this operator
+	 */
+	public boolean hasBrokenDown() {
+		return brokenDown;
+	}
+
+	/**
+	 * @return the residual norm after the last solve
+	 */
+	public double getResidualNorm() {
+		return residualNorm;
+	}
+
+}
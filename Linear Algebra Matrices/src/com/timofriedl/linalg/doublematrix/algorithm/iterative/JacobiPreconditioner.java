@@ -0,0 +1,67 @@
+package com.timofriedl.linalg.doublematrix.algorithm.iterative;
+
+import com.timofriedl.linalg.doublematrix.DoubleMatrix;
+import com.timofriedl.linalg.doublematrix.sparse.SparseDoubleMatrix;
+import com.timofriedl.linalg.doublevector.DoubleVector;
+
+/**
+ * A {@link Preconditioner} that divides every value by the corresponding
+ * diagonal value of the matrix. Works well for diagonally dominant matrices.
+ * 
+ * @author Timo Friedl
+ */
+public class JacobiPreconditioner implements Preconditioner {
+
+	/**
+	 * the reciprocals of the diagonal values
+	 */
+	private final double[] inverseDiagonal;
+
+	/**
+	 * Creates a new preconditioner for a square {@link DoubleMatrix}.
+	 * 
+	 * @param matrix the matrix to precondition
+	 */
+	public JacobiPreconditioner(DoubleMatrix matrix) {
+		if (!matrix.isSquare())
+			throw new IllegalArgumentException("Only square matrices can be preconditioned.");
+
+		inverseDiagonal = new double[matrix.getHeight()];
+		for (int i = 0; i < inverseDiagonal.length; i++)
+			inverseDiagonal[i] = inverse(matrix.get(i, i));
+	}
+
+	/**
+	 * Creates a new preconditioner for a square {@link SparseDoubleMatrix}.
+	 * 
+	 * @param matrix the matrix to precondition
+	 */
+	public JacobiPreconditioner(SparseDoubleMatrix matrix) {
+		if (matrix.getWidth() != matrix.getHeight())
+			throw new IllegalArgumentException("Only square matrices can be preconditioned.");
+
+		inverseDiagonal = new double[matrix.getHeight()];
+		for (int i = 0; i < inverseDiagonal.length; i++)
+			inverseDiagonal[i] = inverse(matrix.get(i, i));
+	}
+
+	/**
+	 * @return the reciprocal of a diagonal value
+	 */
+	private static double inverse(double diagonalValue) {
+		if (diagonalValue == 0.0)
+			throw new IllegalArgumentException("The Jacobi preconditioner needs a diagonal without zeros.");
+
+		return 1.0 / diagonalValue;
+	}
+
+	@Override
+	public void apply(DoubleVector residual, DoubleVector result) {
+		if (residual.size() != inverseDiagonal.length || result.size() != inverseDiagonal.length)
+			throw new IllegalArgumentException("The vectors must match the size of the preconditioner.");
+
+		for (int i = 0; i < inverseDiagonal.length; i++)
+			result.set(i, residual.get(i) * inverseDiagonal[i]);
+	}
+
+}
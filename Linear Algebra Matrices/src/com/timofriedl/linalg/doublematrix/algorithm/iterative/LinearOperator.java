@@ -0,0 +1,80 @@
+package com.timofriedl.linalg.doublematrix.algorithm.iterative;
+
+import com.timofriedl.linalg.doublematrix.DoubleMatrix;
+import com.timofriedl.linalg.doublematrix.sparse.SparseDoubleMatrix;
+import com.timofriedl.linalg.doublevector.DoubleVector;
+
+/**
+ * A square matrix that is only known by its product with a vector. The
+ * {@link IterativeSolver}s never access single matrix values, so dense, sparse
+ * and matrix free operators can be solved in the same way.
+ * 
+ * @author Timo Friedl
+ */
+public interface LinearOperator {
+
+	/**
+	 * @return the number of rows and columns of this operator
+	 */
+	int size();
+
+	/**
+	 * Calculates the product of this operator and a vector.
+	 * 
+	 * @param x      the vector to multiply
+	 * @param result the vector to overwrite with the product, never the same
+	 *               vector as <code>x</code>
+	 */
+	void apply(DoubleVector x, DoubleVector result);
+
+	/**
+	 * Creates an operator multiplying with a square {@link DoubleMatrix}.
+	 * 
+	 * @param matrix the matrix to multiply with
+	 * @return the new operator
+	 */
+	static LinearOperator of(DoubleMatrix matrix) {
+		if (!matrix.isSquare())
+			throw new IllegalArgumentException("A linear operator must be square.");
+
+		return new LinearOperator() {
+
+			@Override
+			public int size() {
+				return matrix.getHeight();
+			}
+
+			@Override
+			public void apply(DoubleVector x, DoubleVector result) {
+				matrix.multiply(x, result);
+			}
+
+		};
+	}
+
+	/**
+	 * Creates an operator multiplying with a square {@link SparseDoubleMatrix}.
+	 * 
+	 * @param matrix the matrix to multiply with
+	 * @return the new operator
+	 */
+	static LinearOperator of(SparseDoubleMatrix matrix) {
+		if (matrix.getWidth() != matrix.getHeight())
+			throw new IllegalArgumentException("A linear operator must be square.");
+
+		return new LinearOperator() {
+
+			@Override
+			public int size() {
+				return matrix.getHeight();
+			}
+
+			@Override
+			public void apply(DoubleVector x, DoubleVector result) {
+				matrix.multiply(x, result);
+			}
+
+		};
+	}
+
+}
@@ -0,0 +1,23 @@
+package com.timofriedl.linalg.doublematrix.algorithm.iterative;
+
+import com.timofriedl.linalg.doublevector.DoubleVector;
+
+/**
+ * An approximation of the inverse of a {@link LinearOperator} that is cheap to
+ * apply. A good preconditioner reduces the number of iterations an
+ * {@link IterativeSolver} needs.
+ * 
+ * @author Timo Friedl
+ */
+public interface Preconditioner {
+
+	/**
+	 * Applies the approximated inverse to a residual vector.
+	 * 
+	 * @param residual the vector to apply the preconditioner to
+	 * @param result   the vector to overwrite with the result, never the same
+	 *                 vector as <code>residual</code>
+	 */
+	void apply(DoubleVector residual, DoubleVector result);
+
+}
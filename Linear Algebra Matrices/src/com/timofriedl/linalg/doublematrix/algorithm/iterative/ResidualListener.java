@@ -0,0 +1,20 @@
+package com.timofriedl.linalg.doublematrix.algorithm.iterative;
+
+/**
+ * Gets notified by an {@link IterativeSolver} after every iteration, e.g. to
+ * log or plot the convergence.
+ * 
+ * @author Timo Friedl
+ */
+public interface ResidualListener {
+
+	/**
+	 * Called after every iteration.
+	 * 
+	 * @param iteration    the number of finished iterations
+	 * @param residualNorm the euclidean norm of the current residual
+	 *                     <code>b - Ax</code>
+	 */
+	void iterationFinished(int iteration, double residualNorm);
+
+}
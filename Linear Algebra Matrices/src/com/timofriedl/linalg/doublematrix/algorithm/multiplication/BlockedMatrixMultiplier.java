@@ -0,0 +1,462 @@
+package com.timofriedl.linalg.doublematrix.algorithm.multiplication;
+
+import java.util.Arrays;
+
+import com.timofriedl.linalg.doublematrix.DoubleMatrix;
+import com.timofriedl.linalg.doublematrix.algorithm.Workspace;
+import com.timofriedl.linalg.doublematrix.storage.DoubleStorage;
+
+/**
+ * A cache blocked implementation of a {@link MatrixMultiplier}.
+ * 
+ * The right factor is packed into contiguous panels of {@link #KC} x
+ * {@link #NC} values, the left factor into blocks of {@link #MC} x {@link #KC}
+ * values. A 4 x 4 micro kernel then accumulates each tile of the result in
+ * local variables, so no memory is allocated per result cell and the inner loop
+ * only streams contiguous arrays. The packing buffers are borrowed from the
+ * workspace of the multiplier, see
+ * {@link com.timofriedl.linalg.doublematrix.algorithm.DoubleMatrixAlgorithm#setWorkspace(Workspace)},
+ * or from the {@link Workspace} of the calling thread in the static methods.
+ * 
+ * @author Timo Friedl
+ */
+public class BlockedMatrixMultiplier extends MatrixMultiplier {
+
+	/**
+	 * the number of rows of a micro kernel tile
+	 */
+	static final int MR = 4;
+
+	/**
+	 * the number of columns of a micro kernel tile
+	 */
+	static final int NR = 4;
+
+	/**
+	 * the number of rows of a packed block of the left factor
+	 */
+	static final int MC = 64;
+
+	/**
+	 * the number of shared dimensions of a packed block or panel
+	 */
+	static final int KC = 256;
+
+	/**
+	 * the number of columns of a packed panel of the right factor
+	 */
+	static final int NC = 512;
+
+	/**
+	 * Creates a new multiplier instance with the given left factor.
+	 * 
+	 * @param inputMatrix the left {@link DoubleMatrix} of the multiplication
+	 */
+	public BlockedMatrixMultiplier(DoubleMatrix inputMatrix) {
+		super(inputMatrix);
+	}
+
+	@Override
+	public DoubleMatrix multiply(DoubleMatrix B) {
+		checkBounds(B);
+
+		final DoubleMatrix result = new DoubleMatrix(B.getWidth(), inputMatrix.getHeight());
+		multiplyAdd(1.0, inputMatrix, false, B, false, result.getStorage(), 0, result.getHeight(), 0, result.getWidth(),
+				workspace());
+
+		return result;
+	}
+
+	/**
+	 * Calculates <code>C = alpha * A * B + beta * C</code> in place, without
+	 * creating a result matrix.
+	 * 
+	 * If <code>beta</code> is zero, the old values of <code>C</code> are ignored,
+	 * so they may even be NaN. <code>C</code> may share its values with
+	 * <code>A</code> or <code>B</code>, e.g. as a view on one of them. Then, or if
+	 * sharing can not be ruled out by
+	 * {@link DoubleStorage#mayShareValues(DoubleStorage)}, the product is
+	 * calculated into a temporary matrix before it is added to <code>C</code>.
+	 * 
+	 * @param alpha the factor of the product
+	 * @param A     the left factor
+	 * @param B     the right factor, as tall as <code>A</code> is wide
+	 * @param beta  the factor of the old values of <code>C</code>
+	 * @param C     the matrix to overwrite, as tall as <code>A</code> and as wide
+	 *              as <code>B</code>
+	 */
+	public static void gemm(double alpha, DoubleMatrix A, DoubleMatrix B, double beta, DoubleMatrix C) {
+		gemm(alpha, A, false, B, false, beta, C);
+	}
+
+	/**
+	 * Calculates <code>C = alpha * op(A) * op(B) + beta * C</code> in place, where
+	 * <code>op(X)</code> is either <code>X</code> or its transpose. A transposed
+	 * factor is read in its transposed order while it is packed, so it is never
+	 * copied into a transposed matrix.
+	 * 
+	 * <code>C</code> may share its values with <code>A</code> or <code>B</code>,
+	 * which is handled like by
+	 * {@link #gemm(double, DoubleMatrix, DoubleMatrix, double, DoubleMatrix)}.
+	 * 
+	 * @param alpha      the factor of the product
+	 * @param A          the left factor
+	 * @param transposeA true to multiply with the transpose of <code>A</code>
+	 * @param B          the right factor, <code>op(B)</code> as tall as
+	 *                   <code>op(A)</code> is wide
+	 * @param transposeB true to multiply with the transpose of <code>B</code>
+	 * @param beta       the factor of the old values of <code>C</code>
+	 * @param C          the matrix to overwrite, as tall as <code>op(A)</code> and
+	 *                   as wide as <code>op(B)</code>
+	 */
+	public static void gemm(double alpha, DoubleMatrix A, boolean transposeA, DoubleMatrix B, boolean transposeB,
+			double beta, DoubleMatrix C) {
+		final int aHeight = transposeA ? A.getWidth() : A.getHeight();
+		final int depth = transposeA ? A.getHeight() : A.getWidth();
+		final int bHeight = transposeB ? B.getWidth() : B.getHeight();
+		final int bWidth = transposeB ? B.getHeight() : B.getWidth();
+
+		if (bHeight != depth)
+			throw new IllegalArgumentException("Matrix B must be as tall as A is wide when multiplicating them.");
+		if (C.getHeight() != aHeight || C.getWidth() != bWidth)
+			throw new IllegalArgumentException("Matrix C must be as tall as A and as wide as B.");
+
+		final DoubleStorage c = C.getStorage();
+		final int width = C.getWidth();
+		final int height = C.getHeight();
+
+		// a product that can not be added directly is calculated before C is scaled, as C may be read by it
+		final boolean direct = height > 0 && c.rowArray(0) != null && !c.mayShareValues(A.getStorage())
+				&& !c.mayShareValues(B.getStorage());
+		DoubleMatrix product = null;
+
+		if (!direct && alpha != 0.0 && height > 0) {
+			product = new DoubleMatrix(width, height);
+			multiplyAdd(alpha, A, transposeA, B, transposeB, product.getStorage(), 0, height, 0, width,
+					Workspace.current());
+		}
+
+		if (beta == 0.0)
+			for (int y = 0; y < height; y++) {
+				final double[] row = c.rowArray(y);
+
+				if (row != null)
+					Arrays.fill(row, c.rowOffset(y), c.rowOffset(y) + width, 0.0);
+				else
+					for (int x = 0; x < width; x++)
+						c.set(x, y, 0.0);
+			}
+		else if (beta != 1.0)
+			C.scale(beta);
+
+		if (product != null)
+			C.add(product);
+		else if (alpha != 0.0 && height > 0)
+			multiplyAdd(alpha, A, transposeA, B, transposeB, c, 0, height, 0, width, Workspace.current());
+	}
+
+	/**
+	 * Adds the product of <code>A</code> and <code>B</code>, scaled with
+	 * <code>alpha</code>, to an area of a result storage, which must keep its rows
+	 * in heap arrays.
+	 * 
+	 * Only the rows from <code>rowStart</code> to <code>rowEnd</code> and the
+	 * columns from <code>colStart</code> to <code>colEnd</code> of the result are
+	 * touched, so disjoint areas can be calculated independently. The packing
+	 * buffers are borrowed from the {@link Workspace} of the calling thread.
+	 * 
+	 * @param alpha    the factor of the product
+	 * @param A        the left factor
+	 * @param B        the right factor
+	 * @param C        the result storage
+	 * @param rowStart the first result row to calculate
+	 * @param rowEnd   the result row to stop at, exclusive
+	 * @param colStart the first result column to calculate
+	 * @param colEnd   the result column to stop at, exclusive
+	 */
+	static void multiplyAdd(double alpha, DoubleMatrix A, DoubleMatrix B, DoubleStorage C, int rowStart, int rowEnd,
+			int colStart, int colEnd) {
+		multiplyAdd(alpha, A, false, B, false, C, rowStart, rowEnd, colStart, colEnd, Workspace.current());
+	}
+
+	/**
+	 * Adds the product of <code>op(A)</code> and <code>op(B)</code>, scaled with
+	 * <code>alpha</code>, to an area of a result storage, where
+	 * <code>op(X)</code> is either <code>X</code> or its transpose. The packing
+	 * buffers are borrowed from a given {@link Workspace}.
+	 * 
+	 * @see #multiplyAdd(double, DoubleMatrix, DoubleMatrix, DoubleStorage, int,
+	 *      int, int, int)
+	 */
+	static void multiplyAdd(double alpha, DoubleMatrix A, boolean transposeA, DoubleMatrix B, boolean transposeB,
+			DoubleStorage C, int rowStart, int rowEnd, int colStart, int colEnd, Workspace workspace) {
+		final int depth = transposeA ? A.getHeight() : A.getWidth();
+		if (rowStart >= rowEnd || colStart >= colEnd || depth == 0)
+			return;
+
+		final int kcMax = Math.min(KC, depth);
+		final int ncMax = roundUp(Math.min(NC, colEnd - colStart), NR);
+		final int mcMax = roundUp(Math.min(MC, rowEnd - rowStart), MR);
+
+		final double[] packedB = workspace.doubles(kcMax * ncMax);
+		final double[] packedA = workspace.doubles(mcMax * kcMax);
+		final double[] row = workspace.doubles(Math.max(kcMax, Math.max(ncMax, mcMax)));
+
+		try {
+			multiplyPacked(alpha, A, transposeA, B, transposeB, C, rowStart, rowEnd, colStart, colEnd, packedA, packedB,
+					row);
+		} finally {
+			workspace.release(row);
+			workspace.release(packedA);
+			workspace.release(packedB);
+		}
+	}
+
+	/**
+	 * Runs the blocked multiplication with the given packing buffers.
+	 */
+	private static void multiplyPacked(double alpha, DoubleMatrix A, boolean transposeA, DoubleMatrix B,
+			boolean transposeB, DoubleStorage C, int rowStart, int rowEnd, int colStart, int colEnd, double[] packedA,
+			double[] packedB, double[] row) {
+		final int depth = transposeA ? A.getHeight() : A.getWidth();
+
+		for (int jc = colStart; jc < colEnd; jc += NC) {
+			final int nc = Math.min(NC, colEnd - jc);
+
+			for (int pc = 0; pc < depth; pc += KC) {
+				final int kc = Math.min(KC, depth - pc);
+
+				if (transposeB)
+					packTransposedB(B, pc, kc, jc, nc, packedB, row);
+				else
+					packB(B, pc, kc, jc, nc, packedB, row);
+
+				for (int ic = rowStart; ic < rowEnd; ic += MC) {
+					final int mc = Math.min(MC, rowEnd - ic);
+
+					if (transposeA)
+						packTransposedA(A, ic, mc, pc, kc, packedA, row);
+					else
+						packA(A, ic, mc, pc, kc, packedA, row);
+					macroKernel(alpha, packedA, packedB, C, ic, mc, jc, nc, kc);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Packs a panel of the right factor into tiles of {@link #NR} columns, each
+	 * tile stored row by row. Missing columns of the last tile are filled with
+	 * zeros.
+	 * 
+	 * @param B       the right factor
+	 * @param pc      the first row of the panel
+	 * @param kc      the number of rows of the panel
+	 * @param jc      the first column of the panel
+	 * @param nc      the number of columns of the panel
+	 * @param packedB the destination array
+	 * @param row     a buffer for one row of the panel
+	 */
+	private static void packB(DoubleMatrix B, int pc, int kc, int jc, int nc, double[] packedB, double[] row) {
+		for (int k = 0; k < kc; k++) {
+			B.copyRowTo(pc + k, jc, nc, row, 0);
+
+			for (int j = 0, tile = 0; j < nc; tile++) {
+				final int offset = tile * kc * NR + k * NR;
+
+				for (int r = 0; r < NR; r++, j++)
+					packedB[offset + r] = j < nc ? row[j] : 0.0;
+			}
+		}
+	}
+
+	/**
+	 * Packs a panel of the transpose of the right factor like
+	 * {@link #packB(DoubleMatrix, int, int, int, int, double[], double[])}, reading
+	 * every column of the panel from a row of <code>B</code>.
+	 * 
+	 * @param B       the right factor before transposing
+	 * @param pc      the first row of the transposed panel
+	 * @param kc      the number of rows of the transposed panel
+	 * @param jc      the first column of the transposed panel
+	 * @param nc      the number of columns of the transposed panel
+	 * @param packedB the destination array
+	 * @param row     a buffer for one column of the transposed panel
+	 */
+	private static void packTransposedB(DoubleMatrix B, int pc, int kc, int jc, int nc, double[] packedB,
+			double[] row) {
+		for (int j = 0; j < roundUp(nc, NR); j++) {
+			final int offset = (j / NR) * kc * NR + j % NR;
+
+			if (j < nc) {
+				B.copyRowTo(jc + j, pc, kc, row, 0);
+
+				for (int k = 0; k < kc; k++)
+					packedB[offset + k * NR] = row[k];
+			} else
+				for (int k = 0; k < kc; k++)
+					packedB[offset + k * NR] = 0.0;
+		}
+	}
+
+	/**
+	 * Packs a block of the left factor into tiles of {@link #MR} rows, each tile
+	 * stored column by column. Missing rows of the last tile are filled with
+	 * zeros.
+	 * 
+	 * @param A       the left factor
+	 * @param ic      the first row of the block
+	 * @param mc      the number of rows of the block
+	 * @param pc      the first column of the block
+	 * @param kc      the number of columns of the block
+	 * @param packedA the destination array
+	 * @param row     a buffer for one row of the block
+	 */
+	private static void packA(DoubleMatrix A, int ic, int mc, int pc, int kc, double[] packedA, double[] row) {
+		for (int i = 0; i < roundUp(mc, MR); i++) {
+			final int offset = (i / MR) * kc * MR + i % MR;
+
+			if (i < mc) {
+				A.copyRowTo(ic + i, pc, kc, row, 0);
+
+				for (int k = 0; k < kc; k++)
+					packedA[offset + k * MR] = row[k];
+			} else
+				for (int k = 0; k < kc; k++)
+					packedA[offset + k * MR] = 0.0;
+		}
+	}
+
+	/**
+	 * Packs a block of the transpose of the left factor like
+	 * {@link #packA(DoubleMatrix, int, int, int, int, double[], double[])},
+	 * reading every column of the block from a row of <code>A</code>.
+	 * 
+	 * @param A       the left factor before transposing
+	 * @param ic      the first row of the transposed block
+	 * @param mc      the number of rows of the transposed block
+	 * @param pc      the first column of the transposed block
+	 * @param kc      the number of columns of the transposed block
+	 * @param packedA the destination array
+	 * @param row     a buffer for one column of the transposed block
+	 */
+	private static void packTransposedA(DoubleMatrix A, int ic, int mc, int pc, int kc, double[] packedA,
+			double[] row) {
+		final int tiles = roundUp(mc, MR) / MR;
+
+		for (int k = 0; k < kc; k++) {
+			A.copyRowTo(pc + k, ic, mc, row, 0);
+
+			for (int tile = 0, i = 0; tile < tiles; tile++) {
+				final int offset = tile * kc * MR + k * MR;
+
+				for (int r = 0; r < MR; r++, i++)
+					packedA[offset + r] = i < mc ? row[i] : 0.0;
+			}
+		}
+	}
+
+	/**
+	 * Multiplies a packed block with a packed panel and adds the result, scaled
+	 * with <code>alpha</code>, to the matching area of <code>C</code>.
+	 */
+	private static void macroKernel(double alpha, double[] packedA, double[] packedB, DoubleStorage C, int ic,
+			int mc, int jc, int nc, int kc) {
+		for (int j = 0; j < nc; j += NR) {
+			final int bOffset = (j / NR) * kc * NR;
+
+			for (int i = 0; i < mc; i += MR) {
+				final int aOffset = (i / MR) * kc * MR;
+				microKernel(alpha, packedA, aOffset, packedB, bOffset, kc, C, ic + i, Math.min(MR, mc - i), jc + j,
+						Math.min(NR, nc - j));
+			}
+		}
+	}
+
+	/**
+	 * Calculates one 4 x 4 tile of the result in local variables and adds it,
+	 * scaled with <code>alpha</code>, to <code>C</code>.
+	 * 
+	 * @param alpha   the factor of the product
+	 * @param packedA the packed block of the left factor
+	 * @param aOffset the offset of the tile in <code>packedA</code>
+	 * @param packedB the packed panel of the right factor
+	 * @param bOffset the offset of the tile in <code>packedB</code>
+	 * @param kc      the shared dimension of both tiles
+	 * @param C       the result storage
+	 * @param y       the first result row of this tile
+	 * @param rows    the number of valid rows of this tile
+	 * @param x       the first result column of this tile
+	 * @param columns the number of valid columns of this tile
+	 */
+	private static void microKernel(double alpha, double[] packedA, int aOffset, double[] packedB, int bOffset,
+			int kc, DoubleStorage C, int y, int rows, int x, int columns) {
+		double c00 = 0, c01 = 0, c02 = 0, c03 = 0;
+		double c10 = 0, c11 = 0, c12 = 0, c13 = 0;
+		double c20 = 0, c21 = 0, c22 = 0, c23 = 0;
+		double c30 = 0, c31 = 0, c32 = 0, c33 = 0;
+
+		for (int k = 0, a = aOffset, b = bOffset; k < kc; k++, a += MR, b += NR) {
+			final double a0 = packedA[a], a1 = packedA[a + 1], a2 = packedA[a + 2], a3 = packedA[a + 3];
+			final double b0 = packedB[b], b1 = packedB[b + 1], b2 = packedB[b + 2], b3 = packedB[b + 3];
+
+			c00 += a0 * b0;
+			c01 += a0 * b1;
+			c02 += a0 * b2;
+			c03 += a0 * b3;
+			c10 += a1 * b0;
+			c11 += a1 * b1;
+			c12 += a1 * b2;
+			c13 += a1 * b3;
+			c20 += a2 * b0;
+			c21 += a2 * b1;
+			c22 += a2 * b2;
+			c23 += a2 * b3;
+			c30 += a3 * b0;
+			c31 += a3 * b1;
+			c32 += a3 * b2;
+			c33 += a3 * b3;
+		}
+
+		accumulate(C.rowArray(y), C.rowOffset(y) + x, columns, alpha, c00, c01, c02, c03);
+		if (rows > 1)
+			accumulate(C.rowArray(y + 1), C.rowOffset(y + 1) + x, columns, alpha, c10, c11, c12, c13);
+		if (rows > 2)
+			accumulate(C.rowArray(y + 2), C.rowOffset(y + 2) + x, columns, alpha, c20, c21, c22, c23);
+		if (rows > 3)
+			accumulate(C.rowArray(y + 3), C.rowOffset(y + 3) + x, columns, alpha, c30, c31, c32, c33);
+	}
+
+	/**
+	 * Adds up to four values, scaled with <code>alpha</code>, to a row of the
+	 * result.
+	 * 
+	 * @param row     the array containing the result row
+	 * @param x       the first position to add to
+	 * @param columns the number of valid values
+	 * @param alpha   the factor of the values
+	 */
+	private static void accumulate(double[] row, int x, int columns, double alpha, double v0, double v1, double v2,
+			double v3) {
+		row[x] += alpha * v0;
+		if (columns > 1)
+			row[x + 1] += alpha * v1;
+		if (columns > 2)
+			row[x + 2] += alpha * v2;
+		if (columns > 3)
+			row[x + 3] += alpha * v3;
+	}
+
+	/**
+	 * Rounds a number up to the next multiple of a given factor.
+	 * 
+	 * @param n      the number to round
+	 * @param factor the factor
+	 * @return the smallest multiple of <code>factor</code> not less than
+	 *         <code>n</code>
+	 */
+	static int roundUp(int n, int factor) {
+		return (n + factor - 1) / factor * factor;
+	}
+
+}
@@ -0,0 +1,45 @@
+package com.timofriedl.linalg.doublematrix.algorithm.multiplication;
+
+import com.timofriedl.linalg.doublematrix.DoubleMatrix;
+import com.timofriedl.linalg.doublematrix.algorithm.DoubleMatrixAlgorithm;
+
+/**
+ * Super class for all different matrix multiplication algorithms. The
+ * <code>inputMatrix</code> is the left factor of the multiplication.
+ * 
+ * @author Timo Friedl
+ */
+public abstract class MatrixMultiplier extends DoubleMatrixAlgorithm {
+
+	/**
+	 * Creates a new multiplier instance with the given left factor.
+	 * 
+	 * @param inputMatrix the left {@link DoubleMatrix} of the multiplication
+	 */
+	public MatrixMultiplier(DoubleMatrix inputMatrix) {
+		super(inputMatrix);
+	}
+
+	/**
+	 * Calculates the matrix multiplication of the <code>inputMatrix</code> with a
+	 * second {@link DoubleMatrix}.
+	 * 
+	 * <code>B</code> must be as tall as the <code>inputMatrix</code> is wide.
+	 * 
+	 * @param B the right matrix to multiply
+	 * @return the result of the multiplication
+	 */
+	public abstract DoubleMatrix multiply(DoubleMatrix B);
+
+	/**
+	 * Checks if the <code>inputMatrix</code> can be multiplied with a given right
+	 * factor, failing if the bounds do not match.
+	 * 
+	 * @param B the right matrix to multiply
+	 */
+	protected void checkBounds(DoubleMatrix B) {
+		if (B.getHeight() != inputMatrix.getWidth())
+			throw new IllegalArgumentException("Matrix B must be as tall as A is wide when multiplicating them.");
+	}
+
+}
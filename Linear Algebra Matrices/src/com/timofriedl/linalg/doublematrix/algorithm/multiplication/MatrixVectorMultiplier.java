@@ -0,0 +1,251 @@
+package com.timofriedl.linalg.doublematrix.algorithm.multiplication;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import com.timofriedl.linalg.doublematrix.DoubleMatrix;
+import com.timofriedl.linalg.doublematrix.algorithm.DoubleMatrixAlgorithm;
+import com.timofriedl.linalg.doublematrix.storage.DoubleStorage;
+import com.timofriedl.linalg.doublevector.DoubleVector;
+
+/**
+ * Multiplies the <code>inputMatrix</code> or its transposed matrix with a
+ * {@link DoubleVector}.
+ * 
+ * Both products read every row of the matrix exactly once: <code>Ax</code>
+ * calculates one scalar product per row, <code>A^T x</code> adds a multiple of
+ * every row to the result. Products with more than a given number of
+ * multiplications are split into parts of the result that are calculated on a
+ * {@link ForkJoinPool}.
+ * 
+ * @author Timo Friedl
+ */
+public class MatrixVectorMultiplier extends DoubleMatrixAlgorithm {
+
+	/**
+	 * the default number of multiplications below which a part of the result is
+	 * calculated sequentially
+	 */
+	public static final long DEFAULT_THRESHOLD = 1L << 18;
+
+	/**
+	 * the pool to run the multiplication tasks on
+	 */
+	private final ForkJoinPool pool;
+
+	/**
+	 * the number of multiplications below which a part of the result is
+	 * calculated sequentially
+	 */
+	private final long threshold;
+
+	/**
+	 * Creates a new multiplier instance that runs big products on the common
+	 * {@link ForkJoinPool}.
+	 * 
+	 * @param inputMatrix the {@link DoubleMatrix} to multiply
+	 */
+	public MatrixVectorMultiplier(DoubleMatrix inputMatrix) {
+		this(inputMatrix, ForkJoinPool.commonPool(), DEFAULT_THRESHOLD);
+	}
+
+	/**
+	 * Creates a new multiplier instance that runs big products on a given pool.
+	 * 
+	 * @param inputMatrix the {@link DoubleMatrix} to multiply
+	 * @param pool        the pool to run the multiplication tasks on
+	 * @param threshold   the number of multiplications below which a part of the
+	 *                    result is calculated sequentially
+	 */
+	public MatrixVectorMultiplier(DoubleMatrix inputMatrix, ForkJoinPool pool, long threshold) {
+		super(inputMatrix);
+
+		if (pool == null)
+			throw new IllegalArgumentException("The ForkJoinPool must not be null.");
+		if (threshold < 1)
+			throw new IllegalArgumentException("The threshold must be positive.");
+
+		this.pool = pool;
+		this.threshold = threshold;
+	}
+
+	/**
+	 * Calculates the product <code>Ax</code>.
+	 * 
+	 * @param x the vector to multiply, as big as the matrix is wide
+	 * @return the result vector, as big as the matrix is tall
+	 */
+	public DoubleVector multiply(DoubleVector x) {
+		final DoubleVector result = new DoubleVector(inputMatrix.getHeight());
+		multiply(x, result);
+
+		return result;
+	}
+
+	/**
+	 * Calculates the product <code>Ax</code> and writes it into a given vector.
+	 * 
+	 * @param x      the vector to multiply, as big as the matrix is wide
+	 * @param result the vector to overwrite, as big as the matrix is tall and not
+	 *               sharing its values with <code>x</code>
+	 */
+	public void multiply(DoubleVector x, DoubleVector result) {
+		if (x.size() != inputMatrix.getWidth())
+			throw new IllegalArgumentException("The vector must be as big as the matrix is wide.");
+		if (result.size() != inputMatrix.getHeight())
+			throw new IllegalArgumentException("The result vector must be as big as the matrix is tall.");
+
+		run(new PartTask(x, result, false, 0, inputMatrix.getHeight()));
+	}
+
+	/**
+	 * Calculates the product <code>A^T x</code> without transposing the matrix.
+	 * 
+	 * @param x the vector to multiply, as big as the matrix is tall
+	 * @return the result vector, as big as the matrix is wide
+	 */
+	public DoubleVector multiplyTransposed(DoubleVector x) {
+		final DoubleVector result = new DoubleVector(inputMatrix.getWidth());
+		multiplyTransposed(x, result);
+
+		return result;
+	}
+
+	/**
+	 * Calculates the product <code>A^T x</code> without transposing the matrix and
+	 * writes it into a given vector.
+	 * 
+	 * @param x      the vector to multiply, as big as the matrix is tall
+	 * @param result the vector to overwrite, as big as the matrix is wide and not
+	 *               sharing its values with <code>x</code>
+	 */
+	public void multiplyTransposed(DoubleVector x, DoubleVector result) {
+		if (x.size() != inputMatrix.getHeight())
+			throw new IllegalArgumentException("The vector must be as big as the matrix is tall.");
+		if (result.size() != inputMatrix.getWidth())
+			throw new IllegalArgumentException("The result vector must be as big as the matrix is wide.");
+
+		run(new PartTask(x, result, true, 0, inputMatrix.getWidth()));
+	}
+
+	/**
+	 * Runs a task sequentially if it is small, otherwise on the pool.
+	 */
+	private void run(PartTask task) {
+		if (task.work() <= threshold)
+			task.compute();
+		else
+			pool.invoke(task);
+	}
+
+	/**
+	 * Calculates a part of the result, splitting it in halves as long as it is
+	 * bigger than the <code>threshold</code>.
+	 */
+	private class PartTask extends RecursiveAction {
+
+		private static final long serialVersionUID = 1L;
+
+		/**
+		 * the vector to multiply
+		 */
+		private final DoubleVector x;
+
+		/**
+		 * the result vector
+		 */
+		private final DoubleVector result;
+
+		/**
+		 * true for <code>A^T x</code>, false for <code>Ax</code>
+		 */
+		private final boolean transposed;
+
+		/**
+		 * the bounds of this part in the result, end exclusive
+		 */
+		private final int start, end;
+
+		private PartTask(DoubleVector x, DoubleVector result, boolean transposed, int start, int end) {
+			this.x = x;
+			this.result = result;
+			this.transposed = transposed;
+			this.start = start;
+			this.end = end;
+		}
+
+		/**
+		 * @return the number of multiplications needed for this part
+		 */
+		private long work() {
+			return (long) (end - start) * x.size();
+		}
+
+		@Override
+		protected void compute() {
+			if (work() <= threshold || end - start < 2) {
+				if (transposed)
+					multiplyTransposedPart(x, result, start, end);
+				else
+					multiplyPart(x, result, start, end);
+				return;
+			}
+
+			final int middle = (start + end) >>> 1;
+			invokeAll(new PartTask(x, result, transposed, start, middle),
+					new PartTask(x, result, transposed, middle, end));
+		}
+
+	}
+
+	/**
+	 * Calculates the rows from <code>start</code> to <code>end</code> of
+	 * <code>Ax</code>.
+	 */
+	private void multiplyPart(DoubleVector x, DoubleVector result, int start, int end) {
+		final DoubleStorage storage = inputMatrix.getStorage();
+		final int width = inputMatrix.getWidth();
+
+		for (int y = start; y < end; y++) {
+			final double[] row = storage.rowArray(y);
+			double sum;
+
+			if (row != null)
+				sum = x.scalarProduct(row, storage.rowOffset(y));
+			else {
+				sum = 0.0;
+				for (int c = 0; c < width; c++)
+					sum += storage.get(c, y) * x.get(c);
+			}
+
+			result.set(y, sum);
+		}
+	}
+
+	/**
+	 * Calculates the values from <code>start</code> to <code>end</code> of
+	 * <code>A^T x</code> by adding the matching part of every row.
+	 */
+	private void multiplyTransposedPart(DoubleVector x, DoubleVector result, int start, int end) {
+		final DoubleStorage storage = inputMatrix.getStorage();
+		final DoubleVector part = result.subVector(start, end - start);
+
+		for (int i = 0; i < part.size(); i++)
+			part.set(i, 0.0);
+
+		for (int y = 0; y < inputMatrix.getHeight(); y++) {
+			final double factor = x.get(y);
+			final double[] row = storage.rowArray(y);
+
+			if (factor == 0.0)
+				continue;
+
+			if (row != null)
+				part.axpy(factor, row, storage.rowOffset(y) + start);
+			else
+				for (int i = 0; i < part.size(); i++)
+					part.set(i, part.get(i) + factor * storage.get(start + i, y));
+		}
+	}
+
+}
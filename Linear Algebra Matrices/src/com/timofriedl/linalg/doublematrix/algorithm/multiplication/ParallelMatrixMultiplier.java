@@ -0,0 +1,155 @@
+package com.timofriedl.linalg.doublematrix.algorithm.multiplication;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import com.timofriedl.linalg.doublematrix.DoubleMatrix;
+import com.timofriedl.linalg.doublematrix.storage.DoubleStorage;
+
+/**
+ * A parallel implementation of a {@link MatrixMultiplier}.
+ * 
+ * The result is split recursively into blocks of rows and columns which are
+ * calculated on a {@link ForkJoinPool} with the kernel of the
+ * {@link BlockedMatrixMultiplier}. Blocks below a given amount of work are not
+ * split any further, so small products are calculated without any task
+ * overhead.
+ * 
+ * @author Timo Friedl
+ */
+public class ParallelMatrixMultiplier extends MatrixMultiplier {
+
+	/**
+	 * the default number of multiplications below which a block is calculated
+	 * sequentially
+	 */
+	public static final long DEFAULT_THRESHOLD = 1L << 21;
+
+	/**
+	 * the pool to run the multiplication tasks on
+	 */
+	private final ForkJoinPool pool;
+
+	/**
+	 * the number of multiplications below which a block is calculated sequentially
+	 */
+	private final long threshold;
+
+	/**
+	 * Creates a new multiplier instance that runs on the common
+	 * {@link ForkJoinPool}.
+	 * 
+	 * @param inputMatrix the left {@link DoubleMatrix} of the multiplication
+	 */
+	public ParallelMatrixMultiplier(DoubleMatrix inputMatrix) {
+		this(inputMatrix, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Creates a new multiplier instance that runs on a given pool.
+	 * 
+	 * @param inputMatrix the left {@link DoubleMatrix} of the multiplication
+	 * @param pool        the pool to run the multiplication tasks on
+	 */
+	public ParallelMatrixMultiplier(DoubleMatrix inputMatrix, ForkJoinPool pool) {
+		this(inputMatrix, pool, DEFAULT_THRESHOLD);
+	}
+
+	/**
+	 * Creates a new multiplier instance that runs on a given pool.
+	 * 
+	 * @param inputMatrix the left {@link DoubleMatrix} of the multiplication
+	 * @param pool        the pool to run the multiplication tasks on
+	 * @param threshold   the number of multiplications below which a block is
+	 *                    calculated sequentially
+	 */
+	public ParallelMatrixMultiplier(DoubleMatrix inputMatrix, ForkJoinPool pool, long threshold) {
+		super(inputMatrix);
+
+		if (pool == null)
+			throw new IllegalArgumentException("The ForkJoinPool must not be null.");
+		if (threshold < 1)
+			throw new IllegalArgumentException("The threshold must be positive.");
+
+		this.pool = pool;
+		this.threshold = threshold;
+	}
+
+	@Override
+	public DoubleMatrix multiply(DoubleMatrix B) {
+		checkBounds(B);
+
+		final DoubleMatrix result = new DoubleMatrix(B.getWidth(), inputMatrix.getHeight());
+		final BlockTask task = new BlockTask(B, result.getStorage(), 0, result.getHeight(), 0, result.getWidth());
+
+		if (task.work() <= threshold)
+			task.compute();
+		else
+			pool.invoke(task);
+
+		return result;
+	}
+
+	/**
+	 * Calculates a block of the result, splitting it in halves as long as it is
+	 * bigger than the <code>threshold</code>.
+	 */
+	private class BlockTask extends RecursiveAction {
+
+		private static final long serialVersionUID = 1L;
+
+		/**
+		 * the right factor
+		 */
+		private final DoubleMatrix B;
+
+		/**
+		 * the result storage
+		 */
+		private final DoubleStorage C;
+
+		/**
+		 * the bounds of this block in the result, end values exclusive
+		 */
+		private final int rowStart, rowEnd, colStart, colEnd;
+
+		private BlockTask(DoubleMatrix B, DoubleStorage C, int rowStart, int rowEnd, int colStart, int colEnd) {
+			this.B = B;
+			this.C = C;
+			this.rowStart = rowStart;
+			this.rowEnd = rowEnd;
+			this.colStart = colStart;
+			this.colEnd = colEnd;
+		}
+
+		/**
+		 * @return the number of multiplications needed for this block
+		 */
+		private long work() {
+			return (long) (rowEnd - rowStart) * (colEnd - colStart) * inputMatrix.getWidth();
+		}
+
+		@Override
+		protected void compute() {
+			final int rows = rowEnd - rowStart;
+			final int columns = colEnd - colStart;
+
+			if (work() <= threshold || (rows <= BlockedMatrixMultiplier.MR && columns <= BlockedMatrixMultiplier.NR)) {
+				BlockedMatrixMultiplier.multiplyAdd(1.0, inputMatrix, B, C, rowStart, rowEnd, colStart, colEnd);
+				return;
+			}
+
+			if (rows >= columns) {
+				final int middle = rowStart + BlockedMatrixMultiplier.roundUp(rows / 2, BlockedMatrixMultiplier.MR);
+				invokeAll(new BlockTask(B, C, rowStart, middle, colStart, colEnd),
+						new BlockTask(B, C, middle, rowEnd, colStart, colEnd));
+			} else {
+				final int middle = colStart + BlockedMatrixMultiplier.roundUp(columns / 2, BlockedMatrixMultiplier.NR);
+				invokeAll(new BlockTask(B, C, rowStart, rowEnd, colStart, middle),
+						new BlockTask(B, C, rowStart, rowEnd, middle, colEnd));
+			}
+		}
+
+	}
+
+}
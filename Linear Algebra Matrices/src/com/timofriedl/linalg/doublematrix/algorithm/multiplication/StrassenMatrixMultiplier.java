@@ -0,0 +1,214 @@
+package com.timofriedl.linalg.doublematrix.algorithm.multiplication;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import com.timofriedl.linalg.doublematrix.DoubleMatrix;
+
+/**
+ * A {@link MatrixMultiplier} using the Winograd variant of the Strassen
+ * algorithm, which needs 7 instead of 8 products of half the size and 15
+ * additions per recursion step.
+ * 
+ * Both factors are padded with zeros to a size that can be halved until it is
+ * at most the <code>cutoff</code>. Blocks of that size are multiplied with the
+ * kernel of the {@link BlockedMatrixMultiplier}. The seven products of the
+ * first {@value #PARALLEL_DEPTH} recursion levels are calculated in parallel on
+ * a {@link ForkJoinPool}.
+ * 
+ * Only pays off for big, roughly square matrices and needs about three times
+ * the memory of the result for temporary blocks. Products with a dimension not
+ * bigger than the <code>cutoff</code> are passed to the
+ * {@link BlockedMatrixMultiplier} directly. The result may differ from the
+ * classical product by a slightly bigger rounding error.
+ * 
+ * @author Timo Friedl
+ */
+public class StrassenMatrixMultiplier extends MatrixMultiplier {
+
+	/**
+	 * the default size up to which blocks are multiplied classically
+	 */
+	public static final int DEFAULT_CUTOFF = 256;
+
+	/**
+	 * the number of recursion levels whose products are calculated in parallel
+	 */
+	private static final int PARALLEL_DEPTH = 2;
+
+	/**
+	 * the size up to which blocks are multiplied classically
+	 */
+	private final int cutoff;
+
+	/**
+	 * the pool to run the multiplication tasks on
+	 */
+	private final ForkJoinPool pool;
+
+	/**
+	 * Creates a new multiplier instance with the default cutoff that runs on the
+	 * common {@link ForkJoinPool}.
+	 * 
+	 * @param inputMatrix the left {@link DoubleMatrix} of the multiplication
+	 */
+	public StrassenMatrixMultiplier(DoubleMatrix inputMatrix) {
+		this(inputMatrix, DEFAULT_CUTOFF, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Creates a new multiplier instance that runs on a given pool.
+	 * 
+	 * @param inputMatrix the left {@link DoubleMatrix} of the multiplication
+	 * @param cutoff      the size up to which blocks are multiplied classically
+	 * @param pool        the pool to run the multiplication tasks on
+	 */
+	public StrassenMatrixMultiplier(DoubleMatrix inputMatrix, int cutoff, ForkJoinPool pool) {
+		super(inputMatrix);
+
+		if (cutoff < 1)
+			throw new IllegalArgumentException("The cutoff must be positive.");
+		if (pool == null)
+			throw new IllegalArgumentException("The ForkJoinPool must not be null.");
+
+		this.cutoff = cutoff;
+		this.pool = pool;
+	}
+
+	@Override
+	public DoubleMatrix multiply(DoubleMatrix B) {
+		checkBounds(B);
+
+		final int height = inputMatrix.getHeight();
+		final int depth = inputMatrix.getWidth();
+		final int width = B.getWidth();
+
+		if (Math.min(height, Math.min(depth, width)) <= cutoff)
+			return new BlockedMatrixMultiplier(inputMatrix).multiply(B);
+
+		int size = Math.max(height, Math.max(depth, width));
+		int levels = 0;
+		while (size > cutoff) {
+			size = (size + 1) / 2;
+			levels++;
+		}
+
+		final int padded = size << levels;
+		final DoubleMatrix result = new DoubleMatrix(padded, padded);
+		pool.invoke(new ProductTask(pad(inputMatrix, padded), pad(B, padded), result, 0));
+
+		return padded == width && padded == height ? result : result.copy(0, 0, width, height);
+	}
+
+	/**
+	 * Returns a square matrix of the given size containing a given matrix in the
+	 * upper left corner and zeros everywhere else. Matrices that already have the
+	 * size and keep their rows in arrays are returned without copying.
+	 */
+	private static DoubleMatrix pad(DoubleMatrix M, int size) {
+		if (M.getWidth() == size && M.getHeight() == size && M.getStorage().rowArray(0) != null)
+			return M;
+
+		final DoubleMatrix padded = new DoubleMatrix(size, size);
+		padded.paste(M, 0, 0);
+
+		return padded;
+	}
+
+	/**
+	 * Calculates the product of two square blocks, overwriting a result block.
+	 */
+	private class ProductTask extends RecursiveAction {
+
+		private static final long serialVersionUID = 1L;
+
+		/**
+		 * the factors and the result block, all of the same size
+		 */
+		private final DoubleMatrix A, B, C;
+
+		/**
+		 * the recursion level of this product
+		 */
+		private final int level;
+
+		private ProductTask(DoubleMatrix A, DoubleMatrix B, DoubleMatrix C, int level) {
+			this.A = A;
+			this.B = B;
+			this.C = C;
+			this.level = level;
+		}
+
+		@Override
+		protected void compute() {
+			final int n = A.getHeight();
+
+			if (n <= cutoff) {
+				BlockedMatrixMultiplier.gemm(1.0, A, B, 0.0, C);
+				return;
+			}
+
+			final int h = n / 2;
+			final DoubleMatrix A11 = A.view(0, 0, h, h), A12 = A.view(h, 0, h, h);
+			final DoubleMatrix A21 = A.view(0, h, h, h), A22 = A.view(h, h, h, h);
+			final DoubleMatrix B11 = B.view(0, 0, h, h), B12 = B.view(h, 0, h, h);
+			final DoubleMatrix B21 = B.view(0, h, h, h), B22 = B.view(h, h, h, h);
+			final DoubleMatrix C11 = C.view(0, 0, h, h), C12 = C.view(h, 0, h, h);
+			final DoubleMatrix C21 = C.view(0, h, h, h), C22 = C.view(h, h, h, h);
+
+			final DoubleMatrix S1 = combine(A21, 1.0, A22);
+			final DoubleMatrix S2 = combine(S1, -1.0, A11);
+			final DoubleMatrix S3 = combine(A11, -1.0, A21);
+			final DoubleMatrix S4 = combine(A12, -1.0, S2);
+			final DoubleMatrix T1 = combine(B12, -1.0, B11);
+			final DoubleMatrix T2 = combine(B22, -1.0, T1);
+			final DoubleMatrix T3 = combine(B22, -1.0, B12);
+			final DoubleMatrix T4 = combine(T2, -1.0, B21);
+
+			final DoubleMatrix P1 = new DoubleMatrix(h, h);
+			final DoubleMatrix P6 = new DoubleMatrix(h, h);
+			final DoubleMatrix P7 = new DoubleMatrix(h, h);
+
+			final ProductTask[] products = { new ProductTask(A11, B11, P1, level + 1),
+					new ProductTask(A12, B21, C11, level + 1), new ProductTask(S4, B22, C12, level + 1),
+					new ProductTask(A22, T4, C21, level + 1), new ProductTask(S1, T1, C22, level + 1),
+					new ProductTask(S2, T2, P6, level + 1), new ProductTask(S3, T3, P7, level + 1) };
+
+			if (level < PARALLEL_DEPTH)
+				invokeAll(products);
+			else
+				for (ProductTask product : products)
+					product.compute();
+
+			// P1, P6 and P7 contain M1, M6 and M7, C11 to C22 contain M2 to M5
+			P6.add(P1);
+			P7.add(P6);
+			P6.add(C22);
+			C11.add(P1);
+			C12.add(P6);
+			C21.scale(-1.0);
+			C21.add(P7);
+			C22.add(P7);
+		}
+
+	}
+
+	/**
+	 * @return a new matrix containing <code>X + factor * Y</code>
+	 */
+	private static DoubleMatrix combine(DoubleMatrix X, double factor, DoubleMatrix Y) {
+		final DoubleMatrix result = new DoubleMatrix(X.getWidth(), X.getHeight());
+		result.paste(X, 0, 0);
+		result.axpy(factor, Y);
+
+		return result;
+	}
+
+	/**
+	 * @return the size up to which blocks are multiplied classically
+	 */
+	public int getCutoff() {
+		return cutoff;
+	}
+
+}
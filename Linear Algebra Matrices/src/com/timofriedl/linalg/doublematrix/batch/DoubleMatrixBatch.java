@@ -0,0 +1,524 @@
+package com.timofriedl.linalg.doublematrix.batch;
+
+import com.timofriedl.linalg.doublematrix.DoubleMatrix;
+
+/**
+ * Stores many small square matrices of the same size, e.g. millions of 3 x 3
+ * transforms, in one array and calculates products, determinants and inverses
+ * of all of them at once.
+ * 
+ * The values are stored as a structure of arrays: the value at position
+ * <code>(x, y)</code> of the matrix <code>i</code> is at
+ * <code>numbers[(y * size + x) * count + i]</code>. Every kernel loops over the
+ * matrices with one fully unrolled body per matrix size, so there are no
+ * objects, no inner loops and no bound checks per matrix, and the same value of
+ * neighbouring matrices lies next to each other in memory.
+ * 
+ * Only sizes from 2 to {@value #MAX_SIZE} are supported; use
+ * {@link DoubleMatrix} for bigger matrices.
+ * 
+ * @author Timo Friedl
+ */
+public class DoubleMatrixBatch {
+
+	/**
+	 * the smallest supported matrix size
+	 */
+	public static final int MIN_SIZE = 2;
+
+	/**
+	 * the biggest supported matrix size
+	 */
+	public static final int MAX_SIZE = 4;
+
+	/**
+	 * the width and height of every matrix
+	 */
+	private final int size;
+
+	/**
+	 * the number of matrices
+	 */
+	private final int count;
+
+	/**
+	 * the values of all matrices, format: [(y * size + x) * count + i]
+	 */
+	private final double[] numbers;
+
+	/**
+	 * Creates a batch of zero matrices.
+	 * 
+	 * @param size  the width and height of every matrix
+	 * @param count the number of matrices
+	 */
+	public DoubleMatrixBatch(int size, int count) {
+		if (size < MIN_SIZE || size > MAX_SIZE)
+			throw new IllegalArgumentException("Batched matrices must have a size from " + MIN_SIZE + " to "
+					+ MAX_SIZE + ", not " + size + ".");
+		if (count < 0)
+			throw new IllegalArgumentException("The number of matrices must not be negative.");
+
+		this.size = size;
+		this.count = count;
+		this.numbers = new double[Math.multiplyExact(size * size, count)];
+	}
+
+	/**
+	 * Creates a batch of matrices with the given values.
+	 * 
+	 * Array is called by reference!
+	 * 
+	 * @param size    the width and height of every matrix
+	 * @param count   the number of matrices
+	 * @param numbers the values of all matrices, format: [(y * size + x) * count
+	 *                + i]
+	 */
+	public DoubleMatrixBatch(int size, int count, double[] numbers) {
+		if (size < MIN_SIZE || size > MAX_SIZE)
+			throw new IllegalArgumentException("Batched matrices must have a size from " + MIN_SIZE + " to "
+					+ MAX_SIZE + ", not " + size + ".");
+		if (count < 0)
+			throw new IllegalArgumentException("The number of matrices must not be negative.");
+		if (numbers.length != (long) size * size * count)
+			throw new IllegalArgumentException("The number array does not match the batch size.");
+
+		this.size = size;
+		this.count = count;
+		this.numbers = numbers;
+	}
+
+	/**
+	 * Copies the values of some square matrices of the same size into a new
+	 * batch.
+	 * 
+	 * @param matrices the matrices to copy
+	 * @return the batch containing the matrices in the given order
+	 */
+	public static DoubleMatrixBatch of(DoubleMatrix... matrices) {
+		if (matrices.length == 0)
+			throw new IllegalArgumentException("A batch needs at least one matrix to know its size.");
+
+		final DoubleMatrixBatch batch = new DoubleMatrixBatch(matrices[0].getWidth(), matrices.length);
+
+		for (int i = 0; i < matrices.length; i++)
+			batch.setMatrix(i, matrices[i]);
+
+		return batch;
+	}
+
+	/**
+	 * Calculates the products of all matrices of this batch with the matrices at
+	 * the same positions of a second batch.
+	 * 
+	 * @param B the batch of right factors
+	 * @return a new batch containing the products
+	 */
+	public DoubleMatrixBatch multiply(DoubleMatrixBatch B) {
+		final DoubleMatrixBatch result = new DoubleMatrixBatch(size, count);
+		multiply(B, result);
+
+		return result;
+	}
+
+	/**
+	 * Calculates the products of all matrices of this batch with the matrices at
+	 * the same positions of a second batch and writes them into a given batch.
+	 * The result batch may be <code>this</code> or <code>B</code>.
+	 * 
+	 * @param B      the batch of right factors
+	 * @param result the batch to overwrite with the products
+	 */
+	public void multiply(DoubleMatrixBatch B, DoubleMatrixBatch result) {
+		checkSameShape(B);
+		checkSameShape(result);
+
+		switch (size) {
+		case 2:
+			multiply2(numbers, B.numbers, result.numbers, count);
+			break;
+		case 3:
+			multiply3(numbers, B.numbers, result.numbers, count);
+			break;
+		default:
+			multiply4(numbers, B.numbers, result.numbers, count);
+		}
+	}
+
+	/**
+	 * Calculates the determinants of all matrices of this batch.
+	 * 
+	 * @return the determinant of every matrix
+	 */
+	public double[] determinants() {
+		final double[] result = new double[count];
+		determinants(result);
+
+		return result;
+	}
+
+	/**
+	 * Calculates the determinants of all matrices of this batch and writes them
+	 * into a given array.
+	 * 
+	 * @param result the array to overwrite, at least as long as the number of
+	 *               matrices
+	 */
+	public void determinants(double[] result) {
+		if (result.length < count)
+			throw new IllegalArgumentException("The result array is too short for all determinants.");
+
+		switch (size) {
+		case 2:
+			determinant2(numbers, result, count);
+			break;
+		case 3:
+			determinant3(numbers, result, count);
+			break;
+		default:
+			determinant4(numbers, result, count);
+		}
+	}
+
+	/**
+	 * Calculates the inverses of all matrices of this batch.
+	 * 
+	 * The inverse of a singular matrix consists of infinite or NaN values; check
+	 * the {@link #determinants()} first if singular matrices can occur.
+	 * 
+	 * @return a new batch containing the inverses
+	 */
+	public DoubleMatrixBatch inverse() {
+		final DoubleMatrixBatch result = new DoubleMatrixBatch(size, count);
+		inverse(result);
+
+		return result;
+	}
+
+	/**
+	 * Calculates the inverses of all matrices of this batch and writes them into
+	 * a given batch, which may be <code>this</code>.
+	 * 
+	 * The inverse of a singular matrix consists of infinite or NaN values; check
+	 * the {@link #determinants()} first if singular matrices can occur.
+	 * 
+	 * @param result the batch to overwrite with the inverses
+	 */
+	public void inverse(DoubleMatrixBatch result) {
+		checkSameShape(result);
+
+		switch (size) {
+		case 2:
+			inverse2(numbers, result.numbers, count);
+			break;
+		case 3:
+			inverse3(numbers, result.numbers, count);
+			break;
+		default:
+			inverse4(numbers, result.numbers, count);
+		}
+	}
+
+	/**
+	 * Fails if another batch does not have the same matrix size and number of
+	 * matrices.
+	 */
+	private void checkSameShape(DoubleMatrixBatch other) {
+		if (other.size != size || other.count != count)
+			throw new IllegalArgumentException("Batches must have the same matrix size and number of matrices.");
+	}
+
+	/**
+	 * Multiplies all pairs of 2 x 2 matrices.
+	 */
+	private static void multiply2(double[] a, double[] b, double[] c, int count) {
+		for (int i = 0; i < count; i++) {
+			final double a00 = a[i], a01 = a[count + i];
+			final double a10 = a[2 * count + i], a11 = a[3 * count + i];
+			final double b00 = b[i], b01 = b[count + i];
+			final double b10 = b[2 * count + i], b11 = b[3 * count + i];
+
+			c[i] = a00 * b00 + a01 * b10;
+			c[count + i] = a00 * b01 + a01 * b11;
+			c[2 * count + i] = a10 * b00 + a11 * b10;
+			c[3 * count + i] = a10 * b01 + a11 * b11;
+		}
+	}
+
+	/**
+	 * Multiplies all pairs of 3 x 3 matrices.
+	 */
+	private static void multiply3(double[] a, double[] b, double[] c, int count) {
+		for (int i = 0; i < count; i++) {
+			final double a00 = a[i], a01 = a[count + i], a02 = a[2 * count + i];
+			final double a10 = a[3 * count + i], a11 = a[4 * count + i], a12 = a[5 * count + i];
+			final double a20 = a[6 * count + i], a21 = a[7 * count + i], a22 = a[8 * count + i];
+			final double b00 = b[i], b01 = b[count + i], b02 = b[2 * count + i];
+			final double b10 = b[3 * count + i], b11 = b[4 * count + i], b12 = b[5 * count + i];
+			final double b20 = b[6 * count + i], b21 = b[7 * count + i], b22 = b[8 * count + i];
+
+			c[i] = a00 * b00 + a01 * b10 + a02 * b20;
+			c[count + i] = a00 * b01 + a01 * b11 + a02 * b21;
+			c[2 * count + i] = a00 * b02 + a01 * b12 + a02 * b22;
+			c[3 * count + i] = a10 * b00 + a11 * b10 + a12 * b20;
+			c[4 * count + i] = a10 * b01 + a11 * b11 + a12 * b21;
+			c[5 * count + i] = a10 * b02 + a11 * b12 + a12 * b22;
+			c[6 * count + i] = a20 * b00 + a21 * b10 + a22 * b20;
+			c[7 * count + i] = a20 * b01 + a21 * b11 + a22 * b21;
+			c[8 * count + i] = a20 * b02 + a21 * b12 + a22 * b22;
+		}
+	}
+
+	/**
+	 * Multiplies all pairs of 4 x 4 matrices.
+	 */
+	private static void multiply4(double[] a, double[] b, double[] c, int count) {
+		for (int i = 0; i < count; i++) {
+			final double a00 = a[i], a01 = a[count + i];
+			final double a02 = a[2 * count + i], a03 = a[3 * count + i];
+			final double a10 = a[4 * count + i], a11 = a[5 * count + i];
+			final double a12 = a[6 * count + i], a13 = a[7 * count + i];
+			final double a20 = a[8 * count + i], a21 = a[9 * count + i];
+			final double a22 = a[10 * count + i], a23 = a[11 * count + i];
+			final double a30 = a[12 * count + i], a31 = a[13 * count + i];
+			final double a32 = a[14 * count + i], a33 = a[15 * count + i];
+			final double b00 = b[i], b01 = b[count + i];
+			final double b02 = b[2 * count + i], b03 = b[3 * count + i];
+			final double b10 = b[4 * count + i], b11 = b[5 * count + i];
+			final double b12 = b[6 * count + i], b13 = b[7 * count + i];
+			final double b20 = b[8 * count + i], b21 = b[9 * count + i];
+			final double b22 = b[10 * count + i], b23 = b[11 * count + i];
+			final double b30 = b[12 * count + i], b31 = b[13 * count + i];
+			final double b32 = b[14 * count + i], b33 = b[15 * count + i];
+
+			c[i] = a00 * b00 + a01 * b10 + a02 * b20 + a03 * b30;
+			c[count + i] = a00 * b01 + a01 * b11 + a02 * b21 + a03 * b31;
+			c[2 * count + i] = a00 * b02 + a01 * b12 + a02 * b22 + a03 * b32;
+			c[3 * count + i] = a00 * b03 + a01 * b13 + a02 * b23 + a03 * b33;
+			c[4 * count + i] = a10 * b00 + a11 * b10 + a12 * b20 + a13 * b30;
+			c[5 * count + i] = a10 * b01 + a11 * b11 + a12 * b21 + a13 * b31;
+			c[6 * count + i] = a10 * b02 + a11 * b12 + a12 * b22 + a13 * b32;
+			c[7 * count + i] = a10 * b03 + a11 * b13 + a12 * b23 + a13 * b33;
+			c[8 * count + i] = a20 * b00 + a21 * b10 + a22 * b20 + a23 * b30;
+			c[9 * count + i] = a20 * b01 + a21 * b11 + a22 * b21 + a23 * b31;
+			c[10 * count + i] = a20 * b02 + a21 * b12 + a22 * b22 + a23 * b32;
+			c[11 * count + i] = a20 * b03 + a21 * b13 + a22 * b23 + a23 * b33;
+			c[12 * count + i] = a30 * b00 + a31 * b10 + a32 * b20 + a33 * b30;
+			c[13 * count + i] = a30 * b01 + a31 * b11 + a32 * b21 + a33 * b31;
+			c[14 * count + i] = a30 * b02 + a31 * b12 + a32 * b22 + a33 * b32;
+			c[15 * count + i] = a30 * b03 + a31 * b13 + a32 * b23 + a33 * b33;
+		}
+	}
+
+	/**
+	 * Calculates the determinants of all 2 x 2 matrices.
+	 */
+	private static void determinant2(double[] a, double[] d, int count) {
+		for (int i = 0; i < count; i++) {
+			final double a00 = a[i], a01 = a[count + i];
+			final double a10 = a[2 * count + i], a11 = a[3 * count + i];
+
+			d[i] = a00 * a11 - a01 * a10;
+		}
+	}
+
+	/**
+	 * Calculates the determinants of all 3 x 3 matrices.
+	 */
+	private static void determinant3(double[] a, double[] d, int count) {
+		for (int i = 0; i < count; i++) {
+			final double a00 = a[i], a01 = a[count + i], a02 = a[2 * count + i];
+			final double a10 = a[3 * count + i], a11 = a[4 * count + i], a12 = a[5 * count + i];
+			final double a20 = a[6 * count + i], a21 = a[7 * count + i], a22 = a[8 * count + i];
+
+			d[i] = a00 * (a11 * a22 - a12 * a21) - a01 * (a10 * a22 - a12 * a20)
+					+ a02 * (a10 * a21 - a11 * a20);
+		}
+	}
+
+	/**
+	 * Calculates the determinants of all 4 x 4 matrices.
+	 */
+	private static void determinant4(double[] a, double[] d, int count) {
+		for (int i = 0; i < count; i++) {
+			final double a00 = a[i], a01 = a[count + i];
+			final double a02 = a[2 * count + i], a03 = a[3 * count + i];
+			final double a10 = a[4 * count + i], a11 = a[5 * count + i];
+			final double a12 = a[6 * count + i], a13 = a[7 * count + i];
+			final double a20 = a[8 * count + i], a21 = a[9 * count + i];
+			final double a22 = a[10 * count + i], a23 = a[11 * count + i];
+			final double a30 = a[12 * count + i], a31 = a[13 * count + i];
+			final double a32 = a[14 * count + i], a33 = a[15 * count + i];
+
+			final double s0 = a20 * a31 - a21 * a30, s1 = a20 * a32 - a22 * a30, s2 = a20 * a33 - a23 * a30;
+			final double s3 = a21 * a32 - a22 * a31, s4 = a21 * a33 - a23 * a31, s5 = a22 * a33 - a23 * a32;
+			final double c0 = a00 * a11 - a01 * a10, c1 = a00 * a12 - a02 * a10, c2 = a00 * a13 - a03 * a10;
+			final double c3 = a01 * a12 - a02 * a11, c4 = a01 * a13 - a03 * a11, c5 = a02 * a13 - a03 * a12;
+
+			d[i] = c0 * s5 - c1 * s4 + c2 * s3 + c3 * s2 - c4 * s1 + c5 * s0;
+		}
+	}
+
+	/**
+	 * Inverts all 2 x 2 matrices with their adjugates.
+	 */
+	private static void inverse2(double[] a, double[] r, int count) {
+		for (int i = 0; i < count; i++) {
+			final double a00 = a[i], a01 = a[count + i];
+			final double a10 = a[2 * count + i], a11 = a[3 * count + i];
+
+			final double f = 1.0 / (a00 * a11 - a01 * a10);
+
+			r[i] = a11 * f;
+			r[count + i] = -a01 * f;
+			r[2 * count + i] = -a10 * f;
+			r[3 * count + i] = a00 * f;
+		}
+	}
+
+	/**
+	 * Inverts all 3 x 3 matrices with their adjugates.
+	 */
+	private static void inverse3(double[] a, double[] r, int count) {
+		for (int i = 0; i < count; i++) {
+			final double a00 = a[i], a01 = a[count + i], a02 = a[2 * count + i];
+			final double a10 = a[3 * count + i], a11 = a[4 * count + i], a12 = a[5 * count + i];
+			final double a20 = a[6 * count + i], a21 = a[7 * count + i], a22 = a[8 * count + i];
+
+			final double m00 = a11 * a22 - a12 * a21, m10 = a12 * a20 - a10 * a22, m20 = a10 * a21 - a11 * a20;
+			final double f = 1.0 / (a00 * m00 + a01 * m10 + a02 * m20);
+
+			r[i] = m00 * f;
+			r[count + i] = (a02 * a21 - a01 * a22) * f;
+			r[2 * count + i] = (a01 * a12 - a02 * a11) * f;
+			r[3 * count + i] = m10 * f;
+			r[4 * count + i] = (a00 * a22 - a02 * a20) * f;
+			r[5 * count + i] = (a02 * a10 - a00 * a12) * f;
+			r[6 * count + i] = m20 * f;
+			r[7 * count + i] = (a01 * a20 - a00 * a21) * f;
+			r[8 * count + i] = (a00 * a11 - a01 * a10) * f;
+		}
+	}
+
+	/**
+	 * Inverts all 4 x 4 matrices with their adjugates.
+	 */
+	private static void inverse4(double[] a, double[] r, int count) {
+		for (int i = 0; i < count; i++) {
+			final double a00 = a[i], a01 = a[count + i];
+			final double a02 = a[2 * count + i], a03 = a[3 * count + i];
+			final double a10 = a[4 * count + i], a11 = a[5 * count + i];
+			final double a12 = a[6 * count + i], a13 = a[7 * count + i];
+			final double a20 = a[8 * count + i], a21 = a[9 * count + i];
+			final double a22 = a[10 * count + i], a23 = a[11 * count + i];
+			final double a30 = a[12 * count + i], a31 = a[13 * count + i];
+			final double a32 = a[14 * count + i], a33 = a[15 * count + i];
+
+			final double s0 = a20 * a31 - a21 * a30, s1 = a20 * a32 - a22 * a30, s2 = a20 * a33 - a23 * a30;
+			final double s3 = a21 * a32 - a22 * a31, s4 = a21 * a33 - a23 * a31, s5 = a22 * a33 - a23 * a32;
+			final double c0 = a00 * a11 - a01 * a10, c1 = a00 * a12 - a02 * a10, c2 = a00 * a13 - a03 * a10;
+			final double c3 = a01 * a12 - a02 * a11, c4 = a01 * a13 - a03 * a11, c5 = a02 * a13 - a03 * a12;
+			final double f = 1.0 / (c0 * s5 - c1 * s4 + c2 * s3 + c3 * s2 - c4 * s1 + c5 * s0);
+
+			r[i] = (a11 * s5 - a12 * s4 + a13 * s3) * f;
+			r[count + i] = (-a01 * s5 + a02 * s4 - a03 * s3) * f;
+			r[2 * count + i] = (a31 * c5 - a32 * c4 + a33 * c3) * f;
+			r[3 * count + i] = (-a21 * c5 + a22 * c4 - a23 * c3) * f;
+			r[4 * count + i] = (-a10 * s5 + a12 * s2 - a13 * s1) * f;
+			r[5 * count + i] = (a00 * s5 - a02 * s2 + a03 * s1) * f;
+			r[6 * count + i] = (-a30 * c5 + a32 * c2 - a33 * c1) * f;
+			r[7 * count + i] = (a20 * c5 - a22 * c2 + a23 * c1) * f;
+			r[8 * count + i] = (a10 * s4 - a11 * s2 + a13 * s0) * f;
+			r[9 * count + i] = (-a00 * s4 + a01 * s2 - a03 * s0) * f;
+			r[10 * count + i] = (a30 * c4 - a31 * c2 + a33 * c0) * f;
+			r[11 * count + i] = (-a20 * c4 + a21 * c2 - a23 * c0) * f;
+			r[12 * count + i] = (-a10 * s3 + a11 * s1 - a12 * s0) * f;
+			r[13 * count + i] = (a00 * s3 - a01 * s1 + a02 * s0) * f;
+			r[14 * count + i] = (-a30 * c3 + a31 * c1 - a32 * c0) * f;
+			r[15 * count + i] = (a20 * c3 - a21 * c1 + a22 * c0) * f;
+		}
+	}
+
+	/**
+	 * Copies a matrix of this batch into a new {@link DoubleMatrix}.
+	 * 
+	 * @param index the position of the matrix in this batch
+	 * @return the copied matrix
+	 */
+	public DoubleMatrix getMatrix(int index) {
+		if (index < 0 || index >= count)
+			throw new IllegalArgumentException("The index " + index + " does not match the batch bounds.");
+
+		final DoubleMatrix matrix = new DoubleMatrix(size, size);
+
+		for (int y = 0; y < size; y++)
+			for (int x = 0; x < size; x++)
+				matrix.set(x, y, numbers[(y * size + x) * count + index]);
+
+		return matrix;
+	}
+
+	/**
+	 * Overwrites a matrix of this batch with the values of a
+	 * {@link DoubleMatrix}.
+	 * 
+	 * @param index  the position of the matrix in this batch
+	 * @param matrix the matrix to copy, as big as the matrices of this batch
+	 */
+	public void setMatrix(int index, DoubleMatrix matrix) {
+		if (index < 0 || index >= count)
+			throw new IllegalArgumentException("The index " + index + " does not match the batch bounds.");
+		if (matrix.getWidth() != size || matrix.getHeight() != size)
+			throw new IllegalArgumentException("The matrix does not match the size of the batch.");
+
+		for (int y = 0; y < size; y++)
+			for (int x = 0; x < size; x++)
+				numbers[(y * size + x) * count + index] = matrix.get(x, y);
+	}
+
+	/**
+	 * Returns a value of a matrix of this batch.
+	 * 
+	 * @param index the position of the matrix in this batch
+	 * @param x     the x coordinate of the value
+	 * @param y     the y coordinate of the value
+	 * @return the value at this position
+	 */
+	public double get(int index, int x, int y) {
+		return numbers[(y * size + x) * count + index];
+	}
+
+	/**
+	 * Sets a value of a matrix of this batch.
+	 * 
+	 * @param index the position of the matrix in this batch
+	 * @param x     the x coordinate of the value
+	 * @param y     the y coordinate of the value
+	 * @param value the new value
+	 */
+	public void set(int index, int x, int y, double value) {
+		numbers[(y * size + x) * count + index] = value;
+	}
+
+	/**
+	 * @return the values of all matrices, format: [(y * size + x) * count + i]
+	 */
+	public double[] getNumbers() {
+		return numbers;
+	}
+
+	/**
+	 * @return the width and height of every matrix
+	 */
+	public int getSize() {
+		return size;
+	}
+
+	/**
+	 * @return the number of matrices
+	 */
+	public int getCount() {
+		return count;
+	}
+
+}
@@ -0,0 +1,61 @@
+package com.timofriedl.linalg.doublematrix.expr;
+
+import com.timofriedl.linalg.doublematrix.storage.DoubleStorage;
+import com.timofriedl.linalg.doublematrix.storage.RowMajorDoubleStorage;
+import com.timofriedl.linalg.doublevector.DoubleVector;
+
+/**
+ * A {@link DoubleStorage} that reads and writes a {@link DoubleVector} as a n x
+ * 1 matrix, so vectors can take part in a {@link MatrixExpr}.
+ * 
+ * @author Timo Friedl
+ */
+final class ColumnVectorStorage extends DoubleStorage {
+
+	/**
+	 * the vector containing the values
+	 */
+	private final DoubleVector vector;
+
+	/**
+	 * Creates a new column storage.
+	 * 
+	 * Vector is called by reference!
+	 * 
+	 * @param vector the vector containing the values
+	 */
+	ColumnVectorStorage(DoubleVector vector) {
+		this.vector = vector;
+	}
+
+	@Override
+	public int getWidth() {
+		return 1;
+	}
+
+	@Override
+	public int getHeight() {
+		return vector.size();
+	}
+
+	@Override
+	public double get(int x, int y) {
+		return vector.get(y);
+	}
+
+	@Override
+	public void set(int x, int y, double value) {
+		vector.set(y, value);
+	}
+
+	@Override
+	public DoubleStorage copy() {
+		final double[] numbers = new double[vector.size()];
+
+		for (int y = 0; y < numbers.length; y++)
+			numbers[y] = vector.get(y);
+
+		return new RowMajorDoubleStorage(numbers, 1, numbers.length);
+	}
+
+}
@@ -0,0 +1,58 @@
+package com.timofriedl.linalg.doublematrix.expr;
+
+import java.util.List;
+
+import com.timofriedl.linalg.doublematrix.DoubleMatrix;
+
+/**
+ * A {@link MatrixExpr} that appends a second formula of the same height on the
+ * right side of a first one. Both parts are calculated directly into views of
+ * their area of the result.
+ * 
+ * @author Timo Friedl
+ */
+final class ConcatenatedExpr extends MatrixExpr {
+
+	/**
+	 * the parts
+	 */
+	private final MatrixExpr left, right;
+
+	/**
+	 * Creates a new concatenation of two formulas with the same height.
+	 * 
+	 * @param left  the left part
+	 * @param right the right part
+	 */
+	ConcatenatedExpr(MatrixExpr left, MatrixExpr right) {
+		super(left.getWidth() + right.getWidth(), left.getHeight());
+		this.left = left;
+		this.right = right;
+	}
+
+	@Override
+	void collect(double factor, boolean transposed, List<ExprEvaluator.Term> terms) {
+		terms.add(new ExprEvaluator.Term(this, factor, transposed));
+	}
+
+	@Override
+	boolean mayShareValues(DoubleMatrix matrix) {
+		return left.mayShareValues(matrix) || right.mayShareValues(matrix);
+	}
+
+	@Override
+	void addTo(double factor, boolean transposed, DoubleMatrix target) {
+		final int leftWidth = left.getWidth();
+		final int height = getHeight();
+
+		// a transposed concatenation stacks the transposed parts vertically
+		if (transposed) {
+			left.addTo(factor, true, target.view(0, 0, height, leftWidth));
+			right.addTo(factor, true, target.view(0, leftWidth, height, right.getWidth()));
+		} else {
+			left.addTo(factor, false, target.view(0, 0, leftWidth, height));
+			right.addTo(factor, false, target.view(leftWidth, 0, right.getWidth(), height));
+		}
+	}
+
+}
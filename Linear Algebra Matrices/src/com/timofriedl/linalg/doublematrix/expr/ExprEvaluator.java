@@ -0,0 +1,194 @@
+package com.timofriedl.linalg.doublematrix.expr;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import com.timofriedl.linalg.doublematrix.DoubleMatrix;
+import com.timofriedl.linalg.doublematrix.storage.DoubleStorage;
+import com.timofriedl.linalg.doublevector.DoubleArrays;
+
+/**
+ * Calculates a {@link MatrixExpr} into a target matrix.
+ * 
+ * The formula is flattened into a list of summands. All summands that are
+ * plain matrices are added in one pass over the target, block by block of
+ * {@value #BLOCK_SIZE} rows, so every target row is written once while it is in
+ * the cache. Products and concatenations then add themselves to the target.
+ * 
+ * @author Timo Friedl
+ */
+final class ExprEvaluator {
+
+	/**
+	 * the number of target rows calculated at once
+	 */
+	private static final int BLOCK_SIZE = 32;
+
+	private ExprEvaluator() {
+	}
+
+	/**
+	 * Adds a formula, scaled with a factor and possibly transposed, to a target
+	 * matrix.
+	 * 
+	 * @param expr       the formula to calculate
+	 * @param factor     the factor of the formula
+	 * @param transposed true to add the transpose of the formula
+	 * @param target     the matrix to add the result to
+	 */
+	static void addTo(MatrixExpr expr, double factor, boolean transposed, DoubleMatrix target) {
+		evaluate(expr, factor, transposed, target, false);
+	}
+
+	/**
+	 * Overwrites a target matrix with the result of a formula.
+	 * 
+	 * @param expr   the formula to calculate
+	 * @param target the matrix to overwrite
+	 */
+	static void assign(MatrixExpr expr, DoubleMatrix target) {
+		evaluate(expr, 1.0, false, target, true);
+	}
+
+	/**
+	 * Calculates a formula into a target matrix.
+	 * 
+	 * @param expr       the formula to calculate
+	 * @param factor     the factor of the formula
+	 * @param transposed true to calculate the transpose of the formula
+	 * @param target     the matrix to write the result to
+	 * @param overwrite  true to overwrite the target, false to add to it
+	 */
+	private static void evaluate(MatrixExpr expr, double factor, boolean transposed, DoubleMatrix target,
+			boolean overwrite) {
+		final int width = target.getWidth();
+		final int height = target.getHeight();
+
+		if (height > 0 && target.getStorage().rowArray(0) == null) {
+			final DoubleMatrix result = new DoubleMatrix(width, height);
+			evaluate(expr, factor, transposed, result, false);
+
+			if (overwrite)
+				target.paste(result, 0, 0);
+			else
+				target.add(result);
+
+			return;
+		}
+
+		final List<Term> terms = new ArrayList<>();
+		expr.collect(factor, transposed, terms);
+
+		final List<Term> matrices = new ArrayList<>();
+		final List<Term> others = new ArrayList<>();
+
+		for (Term term : terms)
+			if (term.factor == 0.0)
+				continue;
+			else if (term.node instanceof LeafExpr)
+				matrices.add(term);
+			else
+				others.add(term);
+
+		if (overwrite || !matrices.isEmpty())
+			addMatrices(matrices, target.getStorage(), width, height, overwrite);
+
+		for (Term term : others)
+			term.node.addTo(term.factor, term.transposed, target);
+	}
+
+	/**
+	 * Adds all plain matrix summands to a target storage with heap rows in one
+	 * pass.
+	 * 
+	 * @param matrices  the summands that are plain matrices
+	 * @param target    the storage to write to
+	 * @param width     the width of the target
+	 * @param height    the height of the target
+	 * @param overwrite true to clear every target row before adding
+	 */
+	private static void addMatrices(List<Term> matrices, DoubleStorage target, int width, int height,
+			boolean overwrite) {
+		for (int blockY = 0; blockY < height; blockY += BLOCK_SIZE) {
+			final int endY = Math.min(blockY + BLOCK_SIZE, height);
+
+			if (overwrite)
+				for (int y = blockY; y < endY; y++)
+					Arrays.fill(target.rowArray(y), target.rowOffset(y), target.rowOffset(y) + width, 0.0);
+
+			for (Term term : matrices) {
+				final DoubleStorage source = ((LeafExpr) term.node).getMatrix().getStorage();
+
+				if (term.transposed)
+					addTransposed(term.factor, source, target, width, blockY, endY);
+				else
+					for (int y = blockY; y < endY; y++) {
+						final double[] row = target.rowArray(y);
+						final int offset = target.rowOffset(y);
+						final double[] sourceRow = source.rowArray(y);
+
+						if (sourceRow != null)
+							DoubleArrays.axpy(term.factor, sourceRow, source.rowOffset(y), row, offset, width);
+						else
+							for (int x = 0; x < width; x++)
+								row[offset + x] += term.factor * source.get(x, y);
+					}
+			}
+		}
+	}
+
+	/**
+	 * Adds the transpose of a source storage, scaled with a factor, to a block of
+	 * target rows. Every source row contributes one column of the block, so the
+	 * source is read in contiguous parts of the block height.
+	 */
+	private static void addTransposed(double factor, DoubleStorage source, DoubleStorage target, int width,
+			int blockY, int endY) {
+		final double[][] rows = new double[endY - blockY][];
+		final int[] offsets = new int[rows.length];
+
+		for (int y = blockY; y < endY; y++) {
+			rows[y - blockY] = target.rowArray(y);
+			offsets[y - blockY] = target.rowOffset(y);
+		}
+
+		for (int x = 0; x < width; x++) {
+			final double[] sourceRow = source.rowArray(x);
+			final int sourceOffset = source.rowOffset(x) + blockY;
+
+			for (int i = 0; i < rows.length; i++)
+				rows[i][offsets[i] + x] += factor
+						* (sourceRow != null ? sourceRow[sourceOffset + i] : source.get(blockY + i, x));
+		}
+	}
+
+	/**
+	 * A summand of a formula with its factor and orientation.
+	 */
+	static final class Term {
+
+		/**
+		 * the formula of the summand
+		 */
+		private final MatrixExpr node;
+
+		/**
+		 * the factor of the summand
+		 */
+		private final double factor;
+
+		/**
+		 * true if the summand is used transposed
+		 */
+		private final boolean transposed;
+
+		Term(MatrixExpr node, double factor, boolean transposed) {
+			this.node = node;
+			this.factor = factor;
+			this.transposed = transposed;
+		}
+
+	}
+
+}
@@ -0,0 +1,46 @@
+package com.timofriedl.linalg.doublematrix.expr;
+
+import java.util.List;
+
+import com.timofriedl.linalg.doublematrix.DoubleMatrix;
+
+/**
+ * A {@link MatrixExpr} that reads a {@link DoubleMatrix} by reference.
+ * 
+ * @author Timo Friedl
+ */
+final class LeafExpr extends MatrixExpr {
+
+	/**
+	 * the matrix read by this formula
+	 */
+	private final DoubleMatrix matrix;
+
+	/**
+	 * Creates a new formula that only reads a given matrix.
+	 * 
+	 * @param matrix the matrix, read by reference
+	 */
+	LeafExpr(DoubleMatrix matrix) {
+		super(matrix.getWidth(), matrix.getHeight());
+		this.matrix = matrix;
+	}
+
+	@Override
+	void collect(double factor, boolean transposed, List<ExprEvaluator.Term> terms) {
+		terms.add(new ExprEvaluator.Term(this, factor, transposed));
+	}
+
+	@Override
+	boolean mayShareValues(DoubleMatrix matrix) {
+		return this.matrix.getStorage().mayShareValues(matrix.getStorage());
+	}
+
+	/**
+	 * @return the matrix read by this formula
+	 */
+	DoubleMatrix getMatrix() {
+		return matrix;
+	}
+
+}
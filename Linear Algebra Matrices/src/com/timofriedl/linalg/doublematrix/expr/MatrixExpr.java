@@ -0,0 +1,291 @@
+package com.timofriedl.linalg.doublematrix.expr;
+
+import java.util.List;
+
+import com.timofriedl.linalg.doublematrix.DoubleMatrix;
+import com.timofriedl.linalg.doublematrix.storage.DoubleStorage;
+import com.timofriedl.linalg.doublematrix.storage.RowMajorDoubleStorage;
+import com.timofriedl.linalg.doublevector.DoubleVector;
+
+/**
+ * A formula of {@link DoubleMatrix} and {@link DoubleVector} operations that is
+ * only recorded when it is built and calculated at once by
+ * {@link #evaluate()}.
+ * 
+ * The evaluation avoids the intermediate matrices the same chain of
+ * {@link DoubleMatrix} calls would create:
+ * <ul>
+ * <li>sums and multiples of matrices are added row block by row block in a
+ * single pass over the result,</li>
+ * <li>transposes are never copied but moved down to the matrices they are
+ * applied to, which are then read in their transposed order,</li>
+ * <li>products are accumulated directly into the result by the
+ * {@link com.timofriedl.linalg.doublematrix.algorithm.multiplication.BlockedMatrixMultiplier}
+ * with the transposes and factors of both sides folded in,</li>
+ * <li>concatenated parts are calculated directly into their area of the
+ * result.</li>
+ * </ul>
+ * Only a factor of a product that is neither a matrix nor a transposed or
+ * scaled matrix, like the sum in <code>(A + B) * C</code>, is calculated into
+ * a temporary matrix.
+ * 
+ * The matrices of a formula are read by reference, so changes made before the
+ * evaluation are seen by it.
+ * 
+ * @author Timo Friedl
+ */
+public abstract class MatrixExpr {
+
+	/**
+	 * the bounds of the result of this formula
+	 */
+	private final int width, height;
+
+	/**
+	 * Creates a new formula node with the bounds of its result.
+	 * 
+	 * @param width  the width of the result
+	 * @param height the height of the result
+	 */
+	MatrixExpr(int width, int height) {
+		this.width = width;
+		this.height = height;
+	}
+
+	/**
+	 * Starts a formula with a given {@link DoubleMatrix}.
+	 * 
+	 * @param matrix the matrix, read by reference
+	 * @return the formula containing only this matrix
+	 */
+	public static MatrixExpr of(DoubleMatrix matrix) {
+		if (matrix == null)
+			throw new IllegalArgumentException("The matrix of a formula must not be null.");
+
+		return new LeafExpr(matrix);
+	}
+
+	/**
+	 * Starts a formula with a given {@link DoubleVector} as a column matrix.
+	 * 
+	 * @param vector the vector, read by reference
+	 * @return the formula containing only this vector as a n x 1 matrix
+	 */
+	public static MatrixExpr of(DoubleVector vector) {
+		if (vector == null)
+			throw new IllegalArgumentException("The vector of a formula must not be null.");
+
+		return new LeafExpr(new DoubleMatrix(new ColumnVectorStorage(vector)));
+	}
+
+	/**
+	 * Records the addition of a second formula with the same bounds.
+	 * 
+	 * @param toAdd the formula to add
+	 * @return the sum
+	 */
+	public MatrixExpr add(MatrixExpr toAdd) {
+		checkSameBounds(toAdd);
+		return new SumExpr(this, toAdd);
+	}
+
+	/**
+	 * Records the addition of a {@link DoubleMatrix} with the same bounds.
+	 * 
+	 * @param toAdd the matrix to add
+	 * @return the sum
+	 */
+	public MatrixExpr add(DoubleMatrix toAdd) {
+		return add(of(toAdd));
+	}
+
+	/**
+	 * Records the subtraction of a second formula with the same bounds.
+	 * 
+	 * @param toSubtract the formula to subtract
+	 * @return the difference
+	 */
+	public MatrixExpr subtract(MatrixExpr toSubtract) {
+		checkSameBounds(toSubtract);
+		return new SumExpr(this, new ScaledExpr(toSubtract, -1.0));
+	}
+
+	/**
+	 * Records the subtraction of a {@link DoubleMatrix} with the same bounds.
+	 * 
+	 * @param toSubtract the matrix to subtract
+	 * @return the difference
+	 */
+	public MatrixExpr subtract(DoubleMatrix toSubtract) {
+		return subtract(of(toSubtract));
+	}
+
+	/**
+	 * Records the multiplication of all values with a given factor.
+	 * 
+	 * @param factor the scaling factor
+	 * @return the scaled formula
+	 */
+	public MatrixExpr scale(double factor) {
+		return new ScaledExpr(this, factor);
+	}
+
+	/**
+	 * Records the diagonal flip of this formula.
+	 * 
+	 * @return the transposed formula
+	 */
+	public MatrixExpr transpose() {
+		return new TransposedExpr(this);
+	}
+
+	/**
+	 * Records the matrix multiplication with a second formula, which must be as
+	 * tall as this formula is wide.
+	 * 
+	 * @param B the right factor
+	 * @return the product
+	 */
+	public MatrixExpr multiply(MatrixExpr B) {
+		if (B.getHeight() != width)
+			throw new IllegalArgumentException("Matrix B must be as tall as A is wide when multiplicating them.");
+
+		return new ProductExpr(this, B);
+	}
+
+	/**
+	 * Records the matrix multiplication with a {@link DoubleMatrix}, which must be
+	 * as tall as this formula is wide.
+	 * 
+	 * @param B the right factor
+	 * @return the product
+	 */
+	public MatrixExpr multiply(DoubleMatrix B) {
+		return multiply(of(B));
+	}
+
+	/**
+	 * Records the horizontal concatenation with a second formula of the same
+	 * height.
+	 * 
+	 * @param B the formula to append on the right side
+	 * @return the concatenation
+	 */
+	public MatrixExpr concatenate(MatrixExpr B) {
+		if (B.getHeight() != height)
+			throw new IllegalArgumentException("Matrices must have the same height when concatenating them.");
+
+		return new ConcatenatedExpr(this, B);
+	}
+
+	/**
+	 * Records the horizontal concatenation with a {@link DoubleMatrix} of the same
+	 * height.
+	 * 
+	 * @param B the matrix to append on the right side
+	 * @return the concatenation
+	 */
+	public MatrixExpr concatenate(DoubleMatrix B) {
+		return concatenate(of(B));
+	}
+
+	/**
+	 * Calculates this formula.
+	 * 
+	 * @return the result in a new {@link DoubleMatrix}
+	 */
+	public DoubleMatrix evaluate() {
+		final DoubleMatrix result = new DoubleMatrix(width, height);
+		ExprEvaluator.addTo(this, 1.0, false, result);
+
+		return result;
+	}
+
+	/**
+	 * Calculates this formula and overwrites a given {@link DoubleMatrix} with the
+	 * result. If the target may share its values with a matrix of the formula,
+	 * e.g. as the matrix itself or a view on it, the result is calculated into a
+	 * temporary matrix first and then pasted into the target.
+	 * 
+	 * @param target the matrix to overwrite, with the bounds of the result
+	 * @see DoubleStorage#mayShareValues(DoubleStorage)
+	 */
+	public void evaluateInto(DoubleMatrix target) {
+		if (target.getWidth() != width || target.getHeight() != height)
+			throw new IllegalArgumentException("The target matrix must have the bounds of the result.");
+
+		if (mayShareValues(target))
+			target.paste(evaluate(), 0, 0);
+		else
+			ExprEvaluator.assign(this, target);
+	}
+
+	/**
+	 * Calculates this formula of a n x 1 result.
+	 * 
+	 * @return the result in a new {@link DoubleVector}
+	 */
+	public DoubleVector evaluateVector() {
+		if (width != 1)
+			throw new IllegalArgumentException("Only formulas with a width of 1 can be calculated as a vector.");
+
+		final double[] numbers = new double[height];
+		ExprEvaluator.addTo(this, 1.0, false, new DoubleMatrix(new RowMajorDoubleStorage(numbers, 1, height)));
+
+		return new DoubleVector(numbers);
+	}
+
+	/**
+	 * Collects the summands of this formula, each with its factor and
+	 * orientation.
+	 * 
+	 * @param factor     the factor of this formula
+	 * @param transposed true if this formula is used transposed
+	 * @param terms      the list to add the summands to
+	 */
+	abstract void collect(double factor, boolean transposed, List<ExprEvaluator.Term> terms);
+
+	/**
+	 * Adds this formula, scaled with a factor and possibly transposed, to a target
+	 * matrix.
+	 * 
+	 * @param factor     the factor of this formula
+	 * @param transposed true to add the transpose of this formula
+	 * @param target     the matrix to add the result to
+	 */
+	void addTo(double factor, boolean transposed, DoubleMatrix target) {
+		ExprEvaluator.addTo(this, factor, transposed, target);
+	}
+
+	/**
+	 * Checks if a given matrix could share its values with a matrix read by this
+	 * formula.
+	 * 
+	 * @param matrix the matrix to look for
+	 * @return false if the matrix is known to be independent of this formula
+	 */
+	abstract boolean mayShareValues(DoubleMatrix matrix);
+
+	/**
+	 * Fails if a second formula has other bounds than this one.
+	 */
+	private void checkSameBounds(MatrixExpr other) {
+		if (other.getWidth() != width || other.getHeight() != height)
+			throw new IllegalArgumentException("Matrices must have same size when adding them.");
+	}
+
+	/**
+	 * @return the width of the result of this formula
+	 */
+	public int getWidth() {
+		return width;
+	}
+
+	/**
+	 * @return the height of the result of this formula
+	 */
+	public int getHeight() {
+		return height;
+	}
+
+}
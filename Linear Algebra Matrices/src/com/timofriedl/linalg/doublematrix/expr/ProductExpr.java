@@ -0,0 +1,92 @@
+package com.timofriedl.linalg.doublematrix.expr;
+
+import java.util.List;
+
+import com.timofriedl.linalg.doublematrix.DoubleMatrix;
+import com.timofriedl.linalg.doublematrix.algorithm.multiplication.BlockedMatrixMultiplier;
+
+/**
+ * A {@link MatrixExpr} that multiplies two formulas.
+ * 
+ * The product is accumulated directly into the result. Factors and transposes
+ * of both sides are folded into the call of the
+ * {@link BlockedMatrixMultiplier}, so <code>(s * A^T) * B</code> reads
+ * <code>A</code> in place. A transposed product is calculated as the product of
+ * the swapped and transposed factors.
+ * 
+ * @author Timo Friedl
+ */
+final class ProductExpr extends MatrixExpr {
+
+	/**
+	 * the factors
+	 */
+	private final MatrixExpr left, right;
+
+	/**
+	 * Creates a new product of two formulas.
+	 * 
+	 * @param left  the left factor
+	 * @param right the right factor, as tall as the left factor is wide
+	 */
+	ProductExpr(MatrixExpr left, MatrixExpr right) {
+		super(right.getWidth(), left.getHeight());
+		this.left = left;
+		this.right = right;
+	}
+
+	@Override
+	void collect(double factor, boolean transposed, List<ExprEvaluator.Term> terms) {
+		terms.add(new ExprEvaluator.Term(this, factor, transposed));
+	}
+
+	@Override
+	boolean mayShareValues(DoubleMatrix matrix) {
+		return left.mayShareValues(matrix) || right.mayShareValues(matrix);
+	}
+
+	@Override
+	void addTo(double factor, boolean transposed, DoubleMatrix target) {
+		// (A * B)^T = B^T * A^T
+		final Operand a = new Operand(transposed ? right : left, transposed);
+		final Operand b = new Operand(transposed ? left : right, transposed);
+
+		BlockedMatrixMultiplier.gemm(factor * a.factor * b.factor, a.matrix, a.transposed, b.matrix, b.transposed, 1.0,
+				target);
+	}
+
+	/**
+	 * A factor of the product, reduced to a matrix with a scaling factor and an
+	 * orientation.
+	 */
+	private static class Operand {
+
+		private final DoubleMatrix matrix;
+		private double factor = 1.0;
+		private boolean transposed;
+
+		/**
+		 * Removes all scales and transposes around a formula and calculates the
+		 * remaining formula if it is not a plain matrix.
+		 * 
+		 * @param expr       the factor of the product
+		 * @param transposed true if the factor is used transposed
+		 */
+		private Operand(MatrixExpr expr, boolean transposed) {
+			this.transposed = transposed;
+
+			while (expr instanceof ScaledExpr || expr instanceof TransposedExpr)
+				if (expr instanceof ScaledExpr) {
+					factor *= ((ScaledExpr) expr).getFactor();
+					expr = ((ScaledExpr) expr).getChild();
+				} else {
+					this.transposed = !this.transposed;
+					expr = ((TransposedExpr) expr).getChild();
+				}
+
+			matrix = expr instanceof LeafExpr ? ((LeafExpr) expr).getMatrix() : expr.evaluate();
+		}
+
+	}
+
+}
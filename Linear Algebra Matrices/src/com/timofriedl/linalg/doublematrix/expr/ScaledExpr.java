@@ -0,0 +1,62 @@
+package com.timofriedl.linalg.doublematrix.expr;
+
+import java.util.List;
+
+import com.timofriedl.linalg.doublematrix.DoubleMatrix;
+
+/**
+ * A {@link MatrixExpr} that multiplies all values of a second formula with a
+ * factor. The factor is passed down to the summands, so it never needs a pass
+ * of its own.
+ * 
+ * @author Timo Friedl
+ */
+final class ScaledExpr extends MatrixExpr {
+
+	/**
+	 * the formula to scale
+	 */
+	private final MatrixExpr child;
+
+	/**
+	 * the scaling factor
+	 */
+	private final double factor;
+
+	/**
+	 * Creates a new scaled formula.
+	 * 
+	 * @param child  the formula to scale
+	 * @param factor the scaling factor
+	 */
+	ScaledExpr(MatrixExpr child, double factor) {
+		super(child.getWidth(), child.getHeight());
+		this.child = child;
+		this.factor = factor;
+	}
+
+	@Override
+	void collect(double factor, boolean transposed, List<ExprEvaluator.Term> terms) {
+		child.collect(factor * this.factor, transposed, terms);
+	}
+
+	@Override
+	boolean mayShareValues(DoubleMatrix matrix) {
+		return child.mayShareValues(matrix);
+	}
+
+	/**
+	 * @return the formula to scale
+	 */
+	MatrixExpr getChild() {
+		return child;
+	}
+
+	/**
+	 * @return the scaling factor
+	 */
+	double getFactor() {
+		return factor;
+	}
+
+}
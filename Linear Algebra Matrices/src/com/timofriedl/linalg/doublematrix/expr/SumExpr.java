@@ -0,0 +1,44 @@
+package com.timofriedl.linalg.doublematrix.expr;
+
+import java.util.List;
+
+import com.timofriedl.linalg.doublematrix.DoubleMatrix;
+
+/**
+ * A {@link MatrixExpr} that adds two formulas with the same bounds. Both
+ * summands are collected into one list, so a sum of any length is calculated in
+ * a single pass.
+ * 
+ * @author Timo Friedl
+ */
+final class SumExpr extends MatrixExpr {
+
+	/**
+	 * the summands
+	 */
+	private final MatrixExpr left, right;
+
+	/**
+	 * Creates a new sum of two formulas with the same bounds.
+	 * 
+	 * @param left  the first summand
+	 * @param right the second summand
+	 */
+	SumExpr(MatrixExpr left, MatrixExpr right) {
+		super(left.getWidth(), left.getHeight());
+		this.left = left;
+		this.right = right;
+	}
+
+	@Override
+	void collect(double factor, boolean transposed, List<ExprEvaluator.Term> terms) {
+		left.collect(factor, transposed, terms);
+		right.collect(factor, transposed, terms);
+	}
+
+	@Override
+	boolean mayShareValues(DoubleMatrix matrix) {
+		return left.mayShareValues(matrix) || right.mayShareValues(matrix);
+	}
+
+}
@@ -0,0 +1,47 @@
+package com.timofriedl.linalg.doublematrix.expr;
+
+import java.util.List;
+
+import com.timofriedl.linalg.doublematrix.DoubleMatrix;
+
+/**
+ * A {@link MatrixExpr} that flips a second formula diagonally. The flip is
+ * passed down to the summands, so it is never copied into a transposed matrix.
+ * 
+ * @author Timo Friedl
+ */
+final class TransposedExpr extends MatrixExpr {
+
+	/**
+	 * the formula to transpose
+	 */
+	private final MatrixExpr child;
+
+	/**
+	 * Creates a new transposed formula.
+	 * 
+	 * @param child the formula to transpose
+	 */
+	TransposedExpr(MatrixExpr child) {
+		super(child.getHeight(), child.getWidth());
+		this.child = child;
+	}
+
+	@Override
+	void collect(double factor, boolean transposed, List<ExprEvaluator.Term> terms) {
+		child.collect(factor, !transposed, terms);
+	}
+
+	@Override
+	boolean mayShareValues(DoubleMatrix matrix) {
+		return child.mayShareValues(matrix);
+	}
+
+	/**
+	 * @return the formula to transpose
+	 */
+	MatrixExpr getChild() {
+		return child;
+	}
+
+}
@@ -0,0 +1,245 @@
+package com.timofriedl.linalg.doublematrix.io;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Arrays;
+
+import com.timofriedl.linalg.doublematrix.DoubleMatrix;
+import com.timofriedl.linalg.doublematrix.storage.RowMajorDoubleStorage;
+
+/**
+ * Reads matrices from CSV text, one matrix row per line.
+ * 
+ * The numbers are parsed directly from the read characters without splitting
+ * the lines into strings first. Values may be surrounded by spaces or double
+ * quotes, empty lines are ignored, and all rows must have the same number of
+ * values. Lines end with <code>\n</code>, <code>\r\n</code> or <code>\r</code>.
+ * 
+ * {@link #read()} reads the whole matrix into the heap,
+ * {@link #read(int, RowBlockHandler)} streams it in blocks of rows and works
+ * for files of any size.
+ * 
+ * @author Timo Friedl
+ */
+public class CsvMatrixReader implements Closeable {
+
+	/**
+	 * the source of the values
+	 */
+	private final MatrixTokenizer tokenizer;
+
+	/**
+	 * the character that separates the values of a row
+	 */
+	private char delimiter = ',';
+
+	/**
+	 * the number of lines to skip before the first row
+	 */
+	private int headerLines = 0;
+
+	/**
+	 * true if the header lines have been skipped already
+	 */
+	private boolean started = false;
+
+	/**
+	 * the number of columns, -1 until the first row has been read
+	 */
+	private int width = -1;
+
+	/**
+	 * the values of the last read row
+	 */
+	private double[] row = new double[16];
+
+	/**
+	 * Creates a new CSV reader. Wrapping the reader into a buffer is not
+	 * necessary.
+	 * 
+	 * @param reader the source of the CSV text
+	 */
+	public CsvMatrixReader(Reader reader) {
+		this.tokenizer = new MatrixTokenizer(reader);
+	}
+
+	/**
+	 * Sets the character that separates the values of a row. Default is a comma.
+	 * 
+	 * @param delimiter the new delimiter, must not be a digit, sign, point,
+	 *                  quote or line break
+	 * @return this reader
+	 */
+	public CsvMatrixReader setDelimiter(char delimiter) {
+		if (Character.isDigit(delimiter) || delimiter == '-' || delimiter == '+' || delimiter == '.'
+				|| delimiter == '"' || delimiter == '\r' || delimiter == '\n')
+			throw new IllegalArgumentException("The delimiter '" + delimiter + "' cannot separate numbers.");
+
+		this.delimiter = delimiter;
+		return this;
+	}
+
+	/**
+	 * Sets the number of lines to skip before the first row, e.g. a line with
+	 * column names. Default is zero.
+	 * 
+	 * @param headerLines the number of lines to skip
+	 * @return this reader
+	 */
+	public CsvMatrixReader setHeaderLines(int headerLines) {
+		if (headerLines < 0)
+			throw new IllegalArgumentException("The number of header lines must not be negative.");
+
+		this.headerLines = headerLines;
+		return this;
+	}
+
+	/**
+	 * Reads all remaining rows into a new matrix.
+	 * 
+	 * @return the matrix containing the read rows
+	 * @throws IOException if the text cannot be read or is no valid matrix
+	 */
+	public DoubleMatrix read() throws IOException {
+		double[] numbers = new double[0];
+		int height = 0;
+
+		while (readRow()) {
+			if ((long) (height + 1) * width > numbers.length) {
+				final long capacity = Math.max(2L * numbers.length, (long) (height + 1) * width);
+				if (capacity > Integer.MAX_VALUE - 8)
+					throw new IOException("The matrix is too big for an array, use read(int, RowBlockHandler).");
+
+				numbers = Arrays.copyOf(numbers, (int) capacity);
+			}
+
+			System.arraycopy(row, 0, numbers, height * width, width);
+			height++;
+		}
+
+		if (height == 0)
+			return new DoubleMatrix(0, 0);
+
+		if (numbers.length != height * width)
+			numbers = Arrays.copyOf(numbers, height * width);
+
+		return new DoubleMatrix(new RowMajorDoubleStorage(numbers, width, height));
+	}
+
+	/**
+	 * Reads all remaining rows and passes them to a handler in blocks. Only one
+	 * block is kept in memory at a time.
+	 * 
+	 * @param blockRows the number of rows of every block except the last one
+	 * @param handler   the receiver of the blocks
+	 * @return the number of read rows
+	 * @throws IOException if the text cannot be read, is no valid matrix or the
+	 *                     handler fails
+	 */
+	public int read(int blockRows, RowBlockHandler handler) throws IOException {
+		if (blockRows < 1)
+			throw new IllegalArgumentException("A block must contain at least one row.");
+		if (handler == null)
+			throw new IllegalArgumentException("The row block handler must not be null.");
+
+		double[] numbers = null;
+		int firstRow = 0;
+		int rows = 0;
+
+		while (readRow()) {
+			if (numbers == null)
+				numbers = new double[Math.multiplyExact(blockRows, width)];
+
+			System.arraycopy(row, 0, numbers, rows * width, width);
+
+			if (++rows == blockRows) {
+				handler.handleRows(firstRow, new DoubleMatrix(new RowMajorDoubleStorage(numbers, width, rows)));
+				firstRow += rows;
+				rows = 0;
+			}
+		}
+
+		if (rows > 0) {
+			final double[] last = Arrays.copyOf(numbers, rows * width);
+			handler.handleRows(firstRow, new DoubleMatrix(new RowMajorDoubleStorage(last, width, rows)));
+			firstRow += rows;
+		}
+
+		return firstRow;
+	}
+
+	/**
+	 * Reads the next non empty line into {@link #row}.
+	 * 
+	 * @return false at the end of the text
+	 * @throws IOException if the text cannot be read or is no valid row
+	 */
+	private boolean readRow() throws IOException {
+		if (!started) {
+			for (int i = 0; i < headerLines; i++)
+				tokenizer.skipLine();
+			started = true;
+		}
+
+		do {
+			tokenizer.skipBlanks(delimiter);
+			if (tokenizer.peek() == MatrixTokenizer.EOF)
+				return false;
+		} while (tokenizer.skipLineBreak());
+
+		int count = 0;
+
+		while (true) {
+			tokenizer.skipBlanks(delimiter);
+
+			final boolean quoted = tokenizer.peek() == '"';
+			if (quoted)
+				tokenizer.next();
+
+			final double value = tokenizer.readDouble(delimiter);
+
+			if (quoted && tokenizer.next() != '"')
+				throw tokenizer.error("Missing closing quote");
+
+			if (count == row.length) {
+				if (width >= 0)
+					throw tokenizer.error("Expected " + width + " values");
+				row = Arrays.copyOf(row, 2 * row.length);
+			}
+			row[count++] = value;
+
+			tokenizer.skipBlanks(delimiter);
+			final int c = tokenizer.peek();
+
+			if (c == delimiter)
+				tokenizer.next();
+			else if (c == MatrixTokenizer.EOF || c == '\r' || c == '\n')
+				break;
+			else
+				throw tokenizer.error("Unexpected character '" + (char) c + "'");
+		}
+
+		if (width < 0) {
+			width = count;
+			row = Arrays.copyOf(row, width);
+		} else if (count != width)
+			throw tokenizer.error("Expected " + width + " values but found " + count);
+
+		tokenizer.skipLineBreak();
+		return true;
+	}
+
+	/**
+	 * @return the number of columns, -1 if no row has been read yet
+	 */
+	public int getWidth() {
+		return width;
+	}
+
+	@Override
+	public void close() throws IOException {
+		tokenizer.close();
+	}
+
+}
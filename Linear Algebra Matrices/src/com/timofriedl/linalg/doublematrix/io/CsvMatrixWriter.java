@@ -0,0 +1,65 @@
+package com.timofriedl.linalg.doublematrix.io;
+
+import java.io.IOException;
+import java.io.Writer;
+
+import com.timofriedl.linalg.doublematrix.DoubleMatrix;
+
+/**
+ * Writes matrices as CSV text, one matrix row per line, that can be read again
+ * by the {@link CsvMatrixReader}.
+ * 
+ * Every number is written with as many digits as needed to read back exactly
+ * the same value. The rows are written one after another, so matrices of any
+ * storage, e.g. memory mapped ones, can be written without copying them into
+ * the heap.
+ * 
+ * @author Timo Friedl
+ */
+public final class CsvMatrixWriter {
+
+	private CsvMatrixWriter() {
+	}
+
+	/**
+	 * Writes a matrix with commas between the values.
+	 * 
+	 * @param matrix the matrix to write
+	 * @param writer the destination of the text, not closed by this method
+	 * @throws IOException if the text cannot be written
+	 */
+	public static void write(DoubleMatrix matrix, Writer writer) throws IOException {
+		write(matrix, writer, ',');
+	}
+
+	/**
+	 * Writes a matrix.
+	 * 
+	 * @param matrix    the matrix to write
+	 * @param writer    the destination of the text, not closed by this method
+	 * @param delimiter the character between the values of a row
+	 * @throws IOException if the text cannot be written
+	 */
+	public static void write(DoubleMatrix matrix, Writer writer, char delimiter) throws IOException {
+		final int width = matrix.getWidth();
+		final double[] row = new double[width];
+		final StringBuilder line = new StringBuilder(24 * width + 1);
+
+		for (int y = 0; y < matrix.getHeight(); y++) {
+			matrix.copyRowTo(y, 0, width, row, 0);
+
+			line.setLength(0);
+			for (int x = 0; x < width; x++) {
+				if (x > 0)
+					line.append(delimiter);
+				line.append(row[x]);
+			}
+			line.append('\n');
+
+			writer.append(line);
+		}
+
+		writer.flush();
+	}
+
+}
@@ -0,0 +1,182 @@
+package com.timofriedl.linalg.doublematrix.io;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import com.timofriedl.linalg.doublematrix.DoubleMatrix;
+import com.timofriedl.linalg.doublematrix.storage.DoubleStorage;
+import com.timofriedl.linalg.doublematrix.storage.MappedDoubleStorage;
+
+/**
+ * Reads and writes {@link DoubleMatrix}es in a compact binary file format.
+ * 
+ * Format: a header of {@value #HEADER_SIZE} bytes, followed by all values row
+ * after row as little endian 64 bit floats. The header contains, all little
+ * endian:
+ * 
+ * <pre>
+ * offset  0: magic number "LAMX" (4 bytes)
+ * offset  4: format version, currently 1 (int)
+ * offset  8: data type, 1 for 64 bit floats (int)
+ * offset 12: layout, 0 for row major (int)
+ * offset 16: width (int)
+ * offset 20: height (int)
+ * offset 24: reserved, zero (8 bytes)
+ * </pre>
+ * 
+ * The values start at a multiple of 8 bytes, so the file can be memory mapped
+ * with {@link #map(Path, boolean)} and used without reading or parsing it.
+ * 
+ * @author Timo Friedl
+ */
+public final class DoubleMatrixFile {
+
+	/**
+	 * the size of the header in bytes
+	 */
+	public static final int HEADER_SIZE = 32;
+
+	/**
+	 * the magic number at the start of every file, "LAMX" in ASCII
+	 */
+	private static final int MAGIC = 0x584D414C;
+
+	/**
+	 * the current format version
+	 */
+	private static final int VERSION = 1;
+
+	/**
+	 * the data type id of 64 bit floats
+	 */
+	private static final int TYPE_FLOAT64 = 1;
+
+	/**
+	 * the layout id of row major values
+	 */
+	private static final int LAYOUT_ROW_MAJOR = 0;
+
+	private DoubleMatrixFile() {
+	}
+
+	/**
+	 * Writes a matrix into a file, replacing the file if it exists.
+	 * 
+	 * @param matrix the matrix to write
+	 * @param path   the path of the file
+	 * @throws IOException if the file cannot be written
+	 */
+	public static void save(DoubleMatrix matrix, Path path) throws IOException {
+		final int width = matrix.getWidth();
+		final int height = matrix.getHeight();
+
+		try (MappedDoubleStorage target = create(path, width, height)) {
+			final double[] row = new double[width];
+
+			for (int y = 0; y < height; y++) {
+				matrix.copyRowTo(y, 0, width, row, 0);
+				target.pasteRow(y, 0, width, row, 0);
+			}
+
+			target.flush();
+		}
+	}
+
+	/**
+	 * Reads a matrix file completely into a matrix on the heap.
+	 * 
+	 * @param path the path of the file
+	 * @return the read matrix
+	 * @throws IOException if the file cannot be read or has an invalid format
+	 */
+	public static DoubleMatrix load(Path path) throws IOException {
+		try (MappedDoubleStorage source = map(path, false)) {
+			final DoubleMatrix matrix = new DoubleMatrix(source.getWidth(), source.getHeight());
+			final DoubleStorage storage = matrix.getStorage();
+
+			for (int y = 0; y < source.getHeight(); y++)
+				source.copyRowTo(y, 0, source.getWidth(), storage.rowArray(y), storage.rowOffset(y));
+
+			return matrix;
+		}
+	}
+
+	/**
+	 * Memory maps a matrix file. The values are loaded lazily by the operating
+	 * system when they are accessed first. Use the storage with
+	 * {@link DoubleMatrix#DoubleMatrix(DoubleStorage)} and close it afterwards.
+	 * 
+	 * @param path     the path of the file
+	 * @param writable true to write changes to the file, false to map it read
+	 *                 only
+	 * @return the storage containing the values of the file
+	 * @throws IOException if the file cannot be mapped or has an invalid format
+	 */
+	public static MappedDoubleStorage map(Path path, boolean writable) throws IOException {
+		final StandardOpenOption[] options = writable
+				? new StandardOpenOption[] { StandardOpenOption.READ, StandardOpenOption.WRITE }
+				: new StandardOpenOption[] { StandardOpenOption.READ };
+
+		try (FileChannel channel = FileChannel.open(path, options)) {
+			final ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+			while (header.hasRemaining())
+				if (channel.read(header, header.position()) < 0)
+					throw new IOException("The file " + path + " is too short for a matrix header.");
+
+			if (header.getInt(0) != MAGIC)
+				throw new IOException("The file " + path + " is not a matrix file.");
+			if (header.getInt(4) != VERSION)
+				throw new IOException("The matrix file version " + header.getInt(4) + " is not supported.");
+			if (header.getInt(8) != TYPE_FLOAT64 || header.getInt(12) != LAYOUT_ROW_MAJOR)
+				throw new IOException("The data type or layout of the matrix file is not supported.");
+
+			final int width = header.getInt(16);
+			final int height = header.getInt(20);
+
+			if (width < 0 || height < 0)
+				throw new IOException("The matrix file has a negative size.");
+			if (channel.size() < HEADER_SIZE + (long) width * height * Double.BYTES)
+				throw new IOException("The matrix file is shorter than its size requires.");
+
+			return new MappedDoubleStorage(channel, HEADER_SIZE, width, height, writable);
+		}
+	}
+
+	/**
+	 * Creates a new matrix file filled with zeros and maps it writable, replacing
+	 * the file if it exists. Useful to calculate matrices that are too big for the
+	 * heap directly into a file.
+	 * 
+	 * @param path   the path of the file
+	 * @param width  the number of columns
+	 * @param height the number of rows
+	 * @return the writable storage of the new file
+	 * @throws IOException if the file cannot be created
+	 */
+	public static MappedDoubleStorage create(Path path, int width, int height) throws IOException {
+		if (width < 0 || height < 0)
+			throw new IllegalArgumentException("Matrix size must not be negative.");
+
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+				StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+			final ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+			header.putInt(MAGIC).putInt(VERSION).putInt(TYPE_FLOAT64).putInt(LAYOUT_ROW_MAJOR);
+			header.putInt(width).putInt(height).putLong(0L);
+			header.flip();
+
+			while (header.hasRemaining())
+				channel.write(header, header.position());
+
+			final long size = HEADER_SIZE + (long) width * height * Double.BYTES;
+			if (size > HEADER_SIZE)
+				channel.write(ByteBuffer.allocate(1), size - 1);
+
+			return new MappedDoubleStorage(channel, HEADER_SIZE, width, height, true);
+		}
+	}
+
+}
@@ -0,0 +1,327 @@
+package com.timofriedl.linalg.doublematrix.io;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.Locale;
+
+import com.timofriedl.linalg.doublematrix.DoubleMatrix;
+import com.timofriedl.linalg.doublematrix.sparse.CscDoubleMatrix;
+import com.timofriedl.linalg.doublematrix.sparse.CsrDoubleMatrix;
+import com.timofriedl.linalg.doublematrix.sparse.SparseDoubleMatrix;
+import com.timofriedl.linalg.doublematrix.sparse.SparseDoubleMatrixBuilder;
+
+/**
+ * Reads and writes matrices in the Matrix Market exchange format
+ * (<code>.mtx</code> files).
+ * 
+ * Both the dense <code>array</code> format and the sparse
+ * <code>coordinate</code> format are supported with the fields
+ * <code>real</code>, <code>integer</code> and <code>pattern</code> and the
+ * symmetries <code>general</code>, <code>symmetric</code> and
+ * <code>skew-symmetric</code>. Complex matrices are not supported.
+ * 
+ * The values are parsed directly from the read characters. The array format
+ * lists the values column by column and the coordinate format in any order, so
+ * the matrix is always read completely, either into a dense or a sparse
+ * matrix.
+ * 
+ * @author Timo Friedl
+ */
+public final class MatrixMarket {
+
+	/**
+	 * the first word of every Matrix Market file
+	 */
+	private static final String BANNER = "%%MatrixMarket";
+
+	/**
+	 * the values are separated by spaces and tabs only, a line break never is a
+	 * delimiter inside a line
+	 */
+	private static final char NO_DELIMITER = '\n';
+
+	private MatrixMarket() {
+	}
+
+	/**
+	 * Reads a matrix in the array or coordinate format into a dense matrix.
+	 * 
+	 * @param reader the source of the text, not closed by this method
+	 * @return the read matrix
+	 * @throws IOException if the text cannot be read or has an invalid format
+	 */
+	public static DoubleMatrix readDense(Reader reader) throws IOException {
+		final MatrixTokenizer tokenizer = new MatrixTokenizer(reader);
+		final Header header = readHeader(tokenizer);
+
+		final DoubleMatrix matrix = new DoubleMatrix(header.width, header.height);
+		readValues(tokenizer, header, matrix, null);
+
+		return matrix;
+	}
+
+	/**
+	 * Reads a matrix in the array or coordinate format into a sparse matrix. Zeros
+	 * of the array format are not stored.
+	 * 
+	 * @param reader the source of the text, not closed by this method
+	 * @return the read matrix
+	 * @throws IOException if the text cannot be read or has an invalid format
+	 */
+	public static CsrDoubleMatrix readSparse(Reader reader) throws IOException {
+		final MatrixTokenizer tokenizer = new MatrixTokenizer(reader);
+		final Header header = readHeader(tokenizer);
+
+		final long capacity = header.symmetry == Symmetry.GENERAL ? header.entries : 2L * header.entries;
+		final SparseDoubleMatrixBuilder builder = new SparseDoubleMatrixBuilder(header.width, header.height,
+				(int) Math.min(Math.max(capacity, 16L), Integer.MAX_VALUE - 8));
+		readValues(tokenizer, header, null, builder);
+
+		return builder.buildCsr();
+	}
+
+	/**
+	 * Writes a dense matrix in the general real array format.
+	 * 
+	 * @param matrix the matrix to write
+	 * @param writer the destination of the text, not closed by this method
+	 * @throws IOException if the text cannot be written
+	 */
+	public static void write(DoubleMatrix matrix, Writer writer) throws IOException {
+		final int width = matrix.getWidth();
+		final int height = matrix.getHeight();
+		final StringBuilder line = new StringBuilder(32);
+
+		writer.write(BANNER + " matrix array real general\n");
+		writer.write(height + " " + width + "\n");
+
+		for (int x = 0; x < width; x++)
+			for (int y = 0; y < height; y++) {
+				line.setLength(0);
+				line.append(matrix.get(x, y)).append('\n');
+				writer.append(line);
+			}
+
+		writer.flush();
+	}
+
+	/**
+	 * Writes a sparse matrix in the general real coordinate format, row after
+	 * row.
+	 * 
+	 * @param matrix the matrix to write
+	 * @param writer the destination of the text, not closed by this method
+	 * @throws IOException if the text cannot be written
+	 */
+	public static void write(SparseDoubleMatrix matrix, Writer writer) throws IOException {
+		final CsrDoubleMatrix csr = matrix instanceof CscDoubleMatrix ? ((CscDoubleMatrix) matrix).toCsr()
+				: (CsrDoubleMatrix) matrix;
+		final int[] rowPointers = csr.getRowPointers();
+		final int[] columnIndices = csr.getColumnIndices();
+		final double[] values = csr.getValues();
+		final StringBuilder line = new StringBuilder(48);
+
+		writer.write(BANNER + " matrix coordinate real general\n");
+		writer.write(csr.getHeight() + " " + csr.getWidth() + " " + csr.nonZeros() + "\n");
+
+		for (int y = 0; y < csr.getHeight(); y++)
+			for (int i = rowPointers[y]; i < rowPointers[y + 1]; i++) {
+				line.setLength(0);
+				line.append(y + 1).append(' ').append(columnIndices[i] + 1).append(' ').append(values[i]).append('\n');
+				writer.append(line);
+			}
+
+		writer.flush();
+	}
+
+	/**
+	 * The kind of symmetry of a Matrix Market file.
+	 */
+	private enum Symmetry {
+		GENERAL, SYMMETRIC, SKEW_SYMMETRIC
+	}
+
+	/**
+	 * The information from the banner and size line of a Matrix Market file.
+	 */
+	private static final class Header {
+
+		/**
+		 * true for the coordinate format, false for the array format
+		 */
+		boolean coordinate;
+
+		/**
+		 * true if the entries contain no values
+		 */
+		boolean pattern;
+
+		/**
+		 * the symmetry of the matrix
+		 */
+		Symmetry symmetry;
+
+		/**
+		 * the size of the matrix
+		 */
+		int width, height;
+
+		/**
+		 * the number of listed entries
+		 */
+		long entries;
+
+	}
+
+	/**
+	 * Reads the banner, the comments and the size line.
+	 */
+	private static Header readHeader(MatrixTokenizer tokenizer) throws IOException {
+		final String banner = tokenizer.readLine();
+		if (banner == null)
+			throw new IOException("The Matrix Market text is empty.");
+
+		final String[] words = banner.trim().toLowerCase(Locale.ROOT).split("\\s+");
+		if (words.length != 5 || !words[0].equals(BANNER.toLowerCase(Locale.ROOT)) || !words[1].equals("matrix"))
+			throw new IOException("Invalid Matrix Market banner \"" + banner + "\".");
+
+		final Header header = new Header();
+
+		if (words[2].equals("coordinate"))
+			header.coordinate = true;
+		else if (!words[2].equals("array"))
+			throw new IOException("Unknown Matrix Market format \"" + words[2] + "\".");
+
+		if (words[3].equals("pattern") && header.coordinate)
+			header.pattern = true;
+		else if (!words[3].equals("real") && !words[3].equals("integer") && !words[3].equals("double"))
+			throw new IOException("The Matrix Market field \"" + words[3] + "\" is not supported.");
+
+		if (words[4].equals("general"))
+			header.symmetry = Symmetry.GENERAL;
+		else if (words[4].equals("symmetric") || words[4].equals("hermitian"))
+			header.symmetry = Symmetry.SYMMETRIC;
+		else if (words[4].equals("skew-symmetric"))
+			header.symmetry = Symmetry.SKEW_SYMMETRIC;
+		else
+			throw new IOException("Unknown Matrix Market symmetry \"" + words[4] + "\".");
+
+		skipComments(tokenizer);
+		header.height = readSize(tokenizer);
+		header.width = readSize(tokenizer);
+
+		if (header.symmetry != Symmetry.GENERAL && header.width != header.height)
+			throw tokenizer.error("A symmetric matrix must be square");
+
+		if (header.coordinate)
+			header.entries = readSize(tokenizer);
+		else if (header.symmetry == Symmetry.GENERAL)
+			header.entries = (long) header.width * header.height;
+		else if (header.symmetry == Symmetry.SYMMETRIC)
+			header.entries = (long) header.width * (header.width + 1) / 2;
+		else
+			header.entries = (long) header.width * (header.width - 1) / 2;
+
+		endLine(tokenizer);
+		return header;
+	}
+
+	/**
+	 * Reads the listed entries into either a dense matrix or a sparse builder.
+	 */
+	private static void readValues(MatrixTokenizer tokenizer, Header header, DoubleMatrix dense,
+			SparseDoubleMatrixBuilder sparse) throws IOException {
+		int x = 0;
+		int y = header.symmetry == Symmetry.SKEW_SYMMETRIC ? 1 : 0;
+
+		for (long i = 0; i < header.entries; i++) {
+			skipComments(tokenizer);
+
+			if (header.coordinate) {
+				y = tokenizer.readInt(NO_DELIMITER) - 1;
+				tokenizer.skipBlanks(NO_DELIMITER);
+				x = tokenizer.readInt(NO_DELIMITER) - 1;
+
+				if (x < 0 || y < 0 || x >= header.width || y >= header.height)
+					throw tokenizer.error("Entry (" + (y + 1) + ", " + (x + 1) + ") is outside of the matrix");
+				if (header.symmetry != Symmetry.GENERAL && x > y)
+					throw tokenizer.error("A symmetric matrix must only list its lower triangle");
+				if (header.symmetry == Symmetry.SKEW_SYMMETRIC && x == y)
+					throw tokenizer.error("A skew-symmetric matrix must not list its diagonal");
+			}
+
+			double value = 1.0;
+			if (!header.pattern) {
+				tokenizer.skipBlanks(NO_DELIMITER);
+				value = tokenizer.readDouble(NO_DELIMITER);
+			}
+
+			endLine(tokenizer);
+
+			put(dense, sparse, x, y, value);
+			if (header.symmetry == Symmetry.SYMMETRIC && x != y)
+				put(dense, sparse, y, x, value);
+			else if (header.symmetry == Symmetry.SKEW_SYMMETRIC)
+				put(dense, sparse, y, x, -value);
+
+			if (!header.coordinate && ++y == header.height) {
+				x++;
+				y = header.symmetry == Symmetry.GENERAL ? 0 : header.symmetry == Symmetry.SYMMETRIC ? x : x + 1;
+			}
+		}
+
+		skipComments(tokenizer);
+		if (tokenizer.peek() != MatrixTokenizer.EOF)
+			throw tokenizer.error("Expected " + header.entries + " entries but found more");
+	}
+
+	/**
+	 * Stores a value in the dense matrix or adds it to the sparse builder.
+	 */
+	private static void put(DoubleMatrix dense, SparseDoubleMatrixBuilder sparse, int x, int y, double value) {
+		if (dense != null)
+			dense.set(x, y, value);
+		else if (value != 0.0)
+			sparse.add(x, y, value);
+	}
+
+	/**
+	 * Reads a non negative size or index.
+	 */
+	private static int readSize(MatrixTokenizer tokenizer) throws IOException {
+		tokenizer.skipBlanks(NO_DELIMITER);
+
+		final int size = tokenizer.readInt(NO_DELIMITER);
+		if (size < 0)
+			throw tokenizer.error("Sizes must not be negative");
+
+		return size;
+	}
+
+	/**
+	 * Skips empty lines and comment lines.
+	 */
+	private static void skipComments(MatrixTokenizer tokenizer) throws IOException {
+		while (true) {
+			tokenizer.skipBlanks(NO_DELIMITER);
+
+			if (tokenizer.peek() == '%')
+				tokenizer.skipLine();
+			else if (!tokenizer.skipLineBreak())
+				return;
+		}
+	}
+
+	/**
+	 * Makes sure that nothing but spaces follows on the current line and skips
+	 * the line break.
+	 */
+	private static void endLine(MatrixTokenizer tokenizer) throws IOException {
+		tokenizer.skipBlanks(NO_DELIMITER);
+
+		if (tokenizer.peek() != MatrixTokenizer.EOF && !tokenizer.skipLineBreak())
+			throw tokenizer.error("Unexpected characters at the end of the line");
+	}
+
+}
@@ -0,0 +1,263 @@
+package com.timofriedl.linalg.doublematrix.io;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Arrays;
+
+/**
+ * Splits a character stream into number tokens for the text matrix readers.
+ * 
+ * The characters are read in big chunks into a buffer. Tokens are copied into
+ * a reused array and parsed by the {@link NumberParser}, so reading numbers
+ * creates no objects at all.
+ * 
+ * @author Timo Friedl
+ */
+final class MatrixTokenizer implements Closeable {
+
+	/**
+	 * returned by {@link #peek()} at the end of the stream
+	 */
+	static final int EOF = -1;
+
+	/**
+	 * the number of characters read at once
+	 */
+	private static final int BUFFER_SIZE = 1 << 16;
+
+	/**
+	 * the source of the characters
+	 */
+	private final Reader reader;
+
+	/**
+	 * the read characters
+	 */
+	private final char[] buffer = new char[BUFFER_SIZE];
+
+	/**
+	 * the index of the next character in the buffer
+	 */
+	private int position;
+
+	/**
+	 * the number of valid characters in the buffer
+	 */
+	private int limit;
+
+	/**
+	 * the characters of the last token
+	 */
+	private char[] token = new char[32];
+
+	/**
+	 * the number of characters of the last token
+	 */
+	private int tokenLength;
+
+	/**
+	 * the number of the current line, starting with 1
+	 */
+	private long line = 1L;
+
+	/**
+	 * Creates a new tokenizer.
+	 * 
+	 * @param reader the source of the characters
+	 */
+	MatrixTokenizer(Reader reader) {
+		if (reader == null)
+			throw new IllegalArgumentException("The reader must not be null.");
+
+		this.reader = reader;
+	}
+
+	/**
+	 * @return the next character without consuming it, {@link #EOF} at the end
+	 *         of the stream
+	 * @throws IOException if the stream cannot be read
+	 */
+	int peek() throws IOException {
+		if (position == limit) {
+			limit = reader.read(buffer, 0, buffer.length);
+			position = 0;
+
+			if (limit <= 0) {
+				limit = 0;
+				return EOF;
+			}
+		}
+
+		return buffer[position];
+	}
+
+	/**
+	 * @return the next character, {@link #EOF} at the end of the stream
+	 * @throws IOException if the stream cannot be read
+	 */
+	int next() throws IOException {
+		final int c = peek();
+
+		if (c != EOF) {
+			position++;
+			if (c == '\n')
+				line++;
+		}
+
+		return c;
+	}
+
+	/**
+	 * Skips spaces and tabs.
+	 * 
+	 * @param delimiter a character not to skip even if it is a space or a tab
+	 * @throws IOException if the stream cannot be read
+	 */
+	void skipBlanks(char delimiter) throws IOException {
+		for (int c = peek(); (c == ' ' || c == '\t') && c != delimiter; c = peek())
+			position++;
+	}
+
+	/**
+	 * Skips a line break if the stream is at one.
+	 * 
+	 * @return true if a line break has been skipped
+	 * @throws IOException if the stream cannot be read
+	 */
+	boolean skipLineBreak() throws IOException {
+		int c = peek();
+
+		if (c == '\r') {
+			position++;
+			if (peek() == '\n')
+				next();
+			else
+				line++;
+			return true;
+		}
+
+		if (c == '\n') {
+			next();
+			return true;
+		}
+
+		return false;
+	}
+
+	/**
+	 * Skips the rest of the current line including the line break.
+	 * 
+	 * @throws IOException if the stream cannot be read
+	 */
+	void skipLine() throws IOException {
+		for (int c = peek(); c != EOF; c = peek())
+			if (skipLineBreak())
+				return;
+			else
+				position++;
+	}
+
+	/**
+	 * Reads the rest of the current line including the line break. Only meant
+	 * for header lines, since it creates a string.
+	 * 
+	 * @return the line without the line break, null at the end of the stream
+	 * @throws IOException if the stream cannot be read
+	 */
+	String readLine() throws IOException {
+		if (peek() == EOF)
+			return null;
+
+		final StringBuilder builder = new StringBuilder();
+		for (int c = peek(); c != EOF && c != '\r' && c != '\n'; c = peek())
+			builder.append((char) next());
+
+		skipLineBreak();
+		return builder.toString();
+	}
+
+	/**
+	 * Reads a token up to the next space, tab, line break, quote, delimiter or
+	 * the end of the stream.
+	 * 
+	 * @param delimiter the character that separates values
+	 * @return the number of characters of the token, 0 if there is no token
+	 * @throws IOException if the stream cannot be read
+	 */
+	int readToken(char delimiter) throws IOException {
+		tokenLength = 0;
+
+		for (int c = peek(); c != EOF; c = peek()) {
+			if (c == delimiter || c == ' ' || c == '\t' || c == '\r' || c == '\n' || c == '"')
+				break;
+
+			if (tokenLength == token.length)
+				token = Arrays.copyOf(token, 2 * token.length);
+
+			token[tokenLength++] = (char) c;
+			position++;
+		}
+
+		return tokenLength;
+	}
+
+	/**
+	 * Reads a token and parses it as a decimal number.
+	 * 
+	 * @param delimiter the character that separates values
+	 * @return the parsed number
+	 * @throws IOException if there is no number or the stream cannot be read
+	 */
+	double readDouble(char delimiter) throws IOException {
+		if (readToken(delimiter) == 0)
+			throw error("Expected a number");
+
+		try {
+			return NumberParser.parseDouble(token, 0, tokenLength);
+		} catch (NumberFormatException e) {
+			throw error("Invalid number \"" + new String(token, 0, tokenLength) + "\"");
+		}
+	}
+
+	/**
+	 * Reads a token and parses it as a decimal integer.
+	 * 
+	 * @param delimiter the character that separates values
+	 * @return the parsed number
+	 * @throws IOException if there is no integer or the stream cannot be read
+	 */
+	int readInt(char delimiter) throws IOException {
+		if (readToken(delimiter) == 0)
+			throw error("Expected an integer");
+
+		try {
+			return NumberParser.parseInt(token, 0, tokenLength);
+		} catch (NumberFormatException e) {
+			throw error("Invalid integer \"" + new String(token, 0, tokenLength) + "\"");
+		}
+	}
+
+	/**
+	 * Creates an exception for a format error in the current line.
+	 * 
+	 * @param message the description of the error
+	 * @return the exception to throw
+	 */
+	IOException error(String message) {
+		return new IOException(message + " in line " + line + ".");
+	}
+
+	/**
+	 * @return the number of the current line, starting with 1
+	 */
+	long getLine() {
+		return line;
+	}
+
+	@Override
+	public void close() throws IOException {
+		reader.close();
+	}
+
+}
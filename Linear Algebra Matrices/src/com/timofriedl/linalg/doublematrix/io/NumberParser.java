@@ -0,0 +1,152 @@
+package com.timofriedl.linalg.doublematrix.io;
+
+/**
+ * Parses decimal numbers from character arrays without creating strings.
+ * 
+ * Numbers with at most 15 significant digits and a small exponent, which is
+ * the usual case in text files, are calculated exactly with a single
+ * multiplication or division. All other numbers fall back to
+ * {@link Double#parseDouble(String)}, so the result is always correctly
+ * rounded.
+ * 
+ * @author Timo Friedl
+ */
+final class NumberParser {
+
+	/**
+	 * the powers of ten that are exactly representable as doubles
+	 */
+	private static final double[] POWERS_OF_TEN = { 1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+			1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22 };
+
+	/**
+	 * the maximum number of significant digits of the fast path
+	 */
+	private static final int MAX_FAST_DIGITS = 15;
+
+	private NumberParser() {
+	}
+
+	/**
+	 * Parses a decimal number, e.g. <code>-1.25e-3</code>.
+	 * 
+	 * @param chars  the array containing the number
+	 * @param start  the index of the first character of the number
+	 * @param length the number of characters of the number
+	 * @return the parsed number
+	 * @throws NumberFormatException if the characters are no number
+	 */
+	static double parseDouble(char[] chars, int start, int length) {
+		final int end = start + length;
+		int i = start;
+
+		boolean negative = false;
+		if (i < end && (chars[i] == '-' || chars[i] == '+'))
+			negative = chars[i++] == '-';
+
+		long mantissa = 0L;
+		int digits = 0;
+		int exponent = 0;
+		boolean anyDigit = false;
+
+		for (; i < end && chars[i] >= '0' && chars[i] <= '9'; i++) {
+			anyDigit = true;
+			if (digits < MAX_FAST_DIGITS) {
+				mantissa = mantissa * 10 + (chars[i] - '0');
+				if (mantissa != 0)
+					digits++;
+			} else
+				return slowParse(chars, start, length);
+		}
+
+		if (i < end && chars[i] == '.')
+			for (i++; i < end && chars[i] >= '0' && chars[i] <= '9'; i++) {
+				anyDigit = true;
+				if (digits < MAX_FAST_DIGITS) {
+					mantissa = mantissa * 10 + (chars[i] - '0');
+					if (mantissa != 0)
+						digits++;
+					exponent--;
+				} else if (chars[i] != '0')
+					return slowParse(chars, start, length);
+			}
+
+		if (!anyDigit)
+			return slowParse(chars, start, length);
+
+		if (i < end && (chars[i] == 'e' || chars[i] == 'E')) {
+			i++;
+
+			boolean negativeExponent = false;
+			if (i < end && (chars[i] == '-' || chars[i] == '+'))
+				negativeExponent = chars[i++] == '-';
+
+			if (i == end)
+				return slowParse(chars, start, length);
+
+			int explicitExponent = 0;
+			for (; i < end && chars[i] >= '0' && chars[i] <= '9'; i++) {
+				if (explicitExponent > 1000)
+					return slowParse(chars, start, length);
+				explicitExponent = explicitExponent * 10 + (chars[i] - '0');
+			}
+
+			exponent += negativeExponent ? -explicitExponent : explicitExponent;
+		}
+
+		if (i != end || exponent < -22 || exponent > 22)
+			return slowParse(chars, start, length);
+
+		double value = mantissa;
+		if (exponent < 0)
+			value /= POWERS_OF_TEN[-exponent];
+		else
+			value *= POWERS_OF_TEN[exponent];
+
+		return negative ? -value : value;
+	}
+
+	/**
+	 * Parses a number with {@link Double#parseDouble(String)}.
+	 */
+	private static double slowParse(char[] chars, int start, int length) {
+		return Double.parseDouble(new String(chars, start, length));
+	}
+
+	/**
+	 * Parses a decimal integer.
+	 * 
+	 * @param chars  the array containing the number
+	 * @param start  the index of the first character of the number
+	 * @param length the number of characters of the number
+	 * @return the parsed number
+	 * @throws NumberFormatException if the characters are no integer or out of
+	 *                               range
+	 */
+	static int parseInt(char[] chars, int start, int length) {
+		final int end = start + length;
+		int i = start;
+
+		boolean negative = false;
+		if (i < end && (chars[i] == '-' || chars[i] == '+'))
+			negative = chars[i++] == '-';
+
+		if (i == end || end - i > 10)
+			throw new NumberFormatException("Invalid integer \"" + new String(chars, start, length) + "\".");
+
+		long value = 0L;
+		for (; i < end; i++) {
+			if (chars[i] < '0' || chars[i] > '9')
+				throw new NumberFormatException("Invalid integer \"" + new String(chars, start, length) + "\".");
+			value = value * 10 + (chars[i] - '0');
+		}
+
+		if (negative)
+			value = -value;
+		if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE)
+			throw new NumberFormatException("Integer \"" + new String(chars, start, length) + "\" is out of range.");
+
+		return (int) value;
+	}
+
+}
@@ -0,0 +1,28 @@
+package com.timofriedl.linalg.doublematrix.io;
+
+import java.io.IOException;
+
+import com.timofriedl.linalg.doublematrix.DoubleMatrix;
+
+/**
+ * Receives the rows of a matrix file block by block, e.g. to process files that
+ * do not fit into the heap.
+ * 
+ * @author Timo Friedl
+ * @see CsvMatrixReader#read(int, RowBlockHandler)
+ */
+public interface RowBlockHandler {
+
+	/**
+	 * Called for every block of rows in order.
+	 * 
+	 * The block matrix is reused for the next block, so it must not be kept after
+	 * this method returns. Copy it if needed.
+	 * 
+	 * @param firstRow the number of the first row of the block in the file
+	 * @param block    the rows of the block
+	 * @throws IOException to stop reading the file
+	 */
+	void handleRows(int firstRow, DoubleMatrix block) throws IOException;
+
+}
@@ -0,0 +1,182 @@
+package com.timofriedl.linalg.doublematrix.sparse;
+
+import com.timofriedl.linalg.doublematrix.DoubleMatrix;
+import com.timofriedl.linalg.doublematrix.storage.DoubleStorage;
+import com.timofriedl.linalg.doublevector.DoubleArrays;
+import com.timofriedl.linalg.doublevector.DoubleVector;
+
+/**
+ * A sparse matrix in the compressed sparse column (CSC) format. The non zero
+ * values are stored column after column, so columns can be traversed quickly.
+ * 
+ * @author Timo Friedl
+ */
+public class CscDoubleMatrix extends SparseDoubleMatrix {
+
+	/**
+	 * Creates a new CSC matrix with the given compressed arrays.
+	 * 
+	 * Arrays are called by reference!
+	 * 
+	 * @param width          the width of this matrix
+	 * @param height         the height of this matrix
+	 * @param columnPointers the range of every column in the other arrays,
+	 *                       <code>width + 1</code> values
+	 * @param rowIndices     the row of every stored value, ascending in every
+	 *                       column
+	 * @param values         the stored values
+	 */
+	public CscDoubleMatrix(int width, int height, int[] columnPointers, int[] rowIndices, double[] values) {
+		super(width, height, width, columnPointers, rowIndices, values);
+	}
+
+	/**
+	 * Creates a CSC matrix containing all non zero values of a dense
+	 * {@link DoubleMatrix}.
+	 * 
+	 * @param matrix the dense matrix to convert
+	 * @return the sparse copy of <code>matrix</code>
+	 */
+	public static CscDoubleMatrix fromDense(DoubleMatrix matrix) {
+		final int width = matrix.getWidth();
+		final int height = matrix.getHeight();
+
+		final int[] columnPointers = new int[width + 1];
+		for (int x = 0; x < width; x++) {
+			int count = 0;
+			for (int y = 0; y < height; y++)
+				if (matrix.get(x, y) != 0.0)
+					count++;
+
+			columnPointers[x + 1] = columnPointers[x] + count;
+		}
+
+		final int[] rowIndices = new int[columnPointers[width]];
+		final double[] values = new double[columnPointers[width]];
+
+		int k = 0;
+		for (int x = 0; x < width; x++)
+			for (int y = 0; y < height; y++) {
+				final double value = matrix.get(x, y);
+
+				if (value != 0.0) {
+					rowIndices[k] = y;
+					values[k++] = value;
+				}
+			}
+
+		return new CscDoubleMatrix(width, height, columnPointers, rowIndices, values);
+	}
+
+	@Override
+	public double get(int x, int y) {
+		if (x < 0 || y < 0 || x >= width || y >= height)
+			throw new IllegalArgumentException("The position does not match the matrix bounds.");
+
+		return find(x, y);
+	}
+
+	/**
+	 * Calculates the matrix multiplication with a dense {@link DoubleMatrix}.
+	 * Every stored value in column <code>x</code> adds a scaled copy of row
+	 * <code>x</code> of <code>B</code> to a row of the result.
+	 */
+	@Override
+	public DoubleMatrix multiply(DoubleMatrix B) {
+		checkBounds(B);
+
+		final DoubleStorage b = rowArrayStorage(B);
+		final int resultWidth = B.getWidth();
+		final DoubleMatrix result = new DoubleMatrix(resultWidth, height);
+		final DoubleStorage c = result.getStorage();
+
+		for (int x = 0; x < width; x++) {
+			final double[] row = b.rowArray(x);
+			final int rowOffset = b.rowOffset(x);
+
+			for (int k = pointers[x]; k < pointers[x + 1]; k++)
+				DoubleArrays.axpy(values[k], row, rowOffset, c.rowArray(indices[k]), c.rowOffset(indices[k]),
+						resultWidth);
+		}
+
+		return result;
+	}
+
+	/**
+	 * Calculates the product of this matrix and a {@link DoubleVector}.
+	 * <code>result</code> must not be the same vector as <code>v</code>.
+	 */
+	@Override
+	public void multiply(DoubleVector v, DoubleVector result) {
+		checkBounds(v, result);
+
+		for (int y = 0; y < height; y++)
+			result.set(y, 0.0);
+
+		for (int x = 0; x < width; x++) {
+			final double factor = v.get(x);
+
+			if (factor != 0.0)
+				for (int k = pointers[x]; k < pointers[x + 1]; k++)
+					result.set(indices[k], result.get(indices[k]) + values[k] * factor);
+		}
+	}
+
+	@Override
+	public DoubleMatrix toDense() {
+		final DoubleMatrix result = new DoubleMatrix(width, height);
+
+		for (int x = 0; x < width; x++)
+			for (int k = pointers[x]; k < pointers[x + 1]; k++)
+				result.set(x, indices[k], values[k]);
+
+		return result;
+	}
+
+	/**
+	 * Converts this matrix into the {@link CsrDoubleMatrix} format.
+	 * 
+	 * @return a CSR copy of this matrix
+	 */
+	public CsrDoubleMatrix toCsr() {
+		final int[] rowPointers = new int[height + 1];
+		final int[] columnIndices = new int[nonZeros()];
+		final double[] newValues = new double[nonZeros()];
+
+		regroup(rowPointers, columnIndices, newValues);
+
+		return new CsrDoubleMatrix(width, height, rowPointers, columnIndices, newValues);
+	}
+
+	/**
+	 * Returns the transposed matrix without copying any values, since the CSC
+	 * arrays of a matrix are the CSR arrays of its transposed matrix.
+	 * 
+	 * @return a CSR matrix sharing the arrays of this matrix
+	 */
+	public CsrDoubleMatrix transpose() {
+		return new CsrDoubleMatrix(height, width, pointers, indices, values);
+	}
+
+	/**
+	 * @return the range of every column in the other arrays
+	 */
+	public int[] getColumnPointers() {
+		return pointers;
+	}
+
+	/**
+	 * @return the row of every stored value
+	 */
+	public int[] getRowIndices() {
+		return indices;
+	}
+
+	/**
+	 * @return the stored values
+	 */
+	public double[] getValues() {
+		return values;
+	}
+
+}
@@ -0,0 +1,180 @@
+package com.timofriedl.linalg.doublematrix.sparse;
+
+import com.timofriedl.linalg.doublematrix.DoubleMatrix;
+import com.timofriedl.linalg.doublematrix.storage.DoubleStorage;
+import com.timofriedl.linalg.doublevector.DoubleArrays;
+import com.timofriedl.linalg.doublevector.DoubleVector;
+
+/**
+ * A sparse matrix in the compressed sparse row (CSR) format. The non zero
+ * values are stored row after row, so rows can be traversed quickly.
+ * 
+ * @author Timo Friedl
+ */
+public class CsrDoubleMatrix extends SparseDoubleMatrix {
+
+	/**
+	 * Creates a new CSR matrix with the given compressed arrays.
+	 * 
+	 * Arrays are called by reference!
+	 * 
+	 * @param width         the width of this matrix
+	 * @param height        the height of this matrix
+	 * @param rowPointers   the range of every row in the other arrays,
+	 *                      <code>height + 1</code> values
+	 * @param columnIndices the column of every stored value, ascending in every
+	 *                      row
+	 * @param values        the stored values
+	 */
+	public CsrDoubleMatrix(int width, int height, int[] rowPointers, int[] columnIndices, double[] values) {
+		super(width, height, height, rowPointers, columnIndices, values);
+	}
+
+	/**
+	 * Creates a CSR matrix containing all non zero values of a dense
+	 * {@link DoubleMatrix}.
+	 * 
+	 * @param matrix the dense matrix to convert
+	 * @return the sparse copy of <code>matrix</code>
+	 */
+	public static CsrDoubleMatrix fromDense(DoubleMatrix matrix) {
+		final int width = matrix.getWidth();
+		final int height = matrix.getHeight();
+
+		final int[] rowPointers = new int[height + 1];
+		for (int y = 0; y < height; y++) {
+			int count = 0;
+			for (int x = 0; x < width; x++)
+				if (matrix.get(x, y) != 0.0)
+					count++;
+
+			rowPointers[y + 1] = rowPointers[y] + count;
+		}
+
+		final int[] columnIndices = new int[rowPointers[height]];
+		final double[] values = new double[rowPointers[height]];
+
+		int k = 0;
+		for (int y = 0; y < height; y++)
+			for (int x = 0; x < width; x++) {
+				final double value = matrix.get(x, y);
+
+				if (value != 0.0) {
+					columnIndices[k] = x;
+					values[k++] = value;
+				}
+			}
+
+		return new CsrDoubleMatrix(width, height, rowPointers, columnIndices, values);
+	}
+
+	@Override
+	public double get(int x, int y) {
+		if (x < 0 || y < 0 || x >= width || y >= height)
+			throw new IllegalArgumentException("The position does not match the matrix bounds.");
+
+		return find(y, x);
+	}
+
+	/**
+	 * Calculates the matrix multiplication with a dense {@link DoubleMatrix}.
+	 * Every stored value adds a scaled row of <code>B</code> to a row of the
+	 * result.
+	 */
+	@Override
+	public DoubleMatrix multiply(DoubleMatrix B) {
+		checkBounds(B);
+
+		final DoubleStorage b = rowArrayStorage(B);
+		final int resultWidth = B.getWidth();
+		final DoubleMatrix result = new DoubleMatrix(resultWidth, height);
+		final DoubleStorage c = result.getStorage();
+
+		for (int y = 0; y < height; y++) {
+			final double[] row = c.rowArray(y);
+			final int rowOffset = c.rowOffset(y);
+
+			for (int k = pointers[y]; k < pointers[y + 1]; k++)
+				DoubleArrays.axpy(values[k], b.rowArray(indices[k]), b.rowOffset(indices[k]), row, rowOffset,
+						resultWidth);
+		}
+
+		return result;
+	}
+
+	/**
+	 * Calculates the product of this matrix and a {@link DoubleVector}.
+	 * <code>result</code> must not be the same vector as <code>v</code>.
+	 */
+	@Override
+	public void multiply(DoubleVector v, DoubleVector result) {
+		checkBounds(v, result);
+
+		for (int y = 0; y < height; y++) {
+			double sum = 0.0;
+
+			for (int k = pointers[y]; k < pointers[y + 1]; k++)
+				sum += values[k] * v.get(indices[k]);
+
+			result.set(y, sum);
+		}
+	}
+
+	@Override
+	public DoubleMatrix toDense() {
+		final DoubleMatrix result = new DoubleMatrix(width, height);
+
+		for (int y = 0; y < height; y++)
+			for (int k = pointers[y]; k < pointers[y + 1]; k++)
+				result.set(indices[k], y, values[k]);
+
+		return result;
+	}
+
+	/**
+	 * Converts this matrix into the {@link CscDoubleMatrix} format.
+	 * 
+	 * @return a CSC copy of this matrix
+	 */
+	public CscDoubleMatrix toCsc() {
+		final int[] columnPointers = new int[width + 1];
+		final int[] rowIndices = new int[nonZeros()];
+		final double[] newValues = new double[nonZeros()];
+
+		regroup(columnPointers, rowIndices, newValues);
+
+		return new CscDoubleMatrix(width, height, columnPointers, rowIndices, newValues);
+	}
+
+	/**
+	 * Returns the transposed matrix without copying any values, since the CSR
+	 * arrays of a matrix are the CSC arrays of its transposed matrix.
+	 * 
+	 * @return a CSC matrix sharing the arrays of this matrix
+	 */
+	public CscDoubleMatrix transpose() {
+		return new CscDoubleMatrix(height, width, pointers, indices, values);
+	}
+
+	/**
+	 * @return the range of every row in the other arrays
+	 */
+	public int[] getRowPointers() {
+		return pointers;
+	}
+
+	/**
+	 * @return the column of every stored value
+	 */
+	public int[] getColumnIndices() {
+		return indices;
+	}
+
+	/**
+	 * @return the stored values
+	 */
+	public double[] getValues() {
+		return values;
+	}
+
+}
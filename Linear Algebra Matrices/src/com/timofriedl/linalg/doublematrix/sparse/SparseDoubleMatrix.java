@@ -0,0 +1,232 @@
+package com.timofriedl.linalg.doublematrix.sparse;
+
+import java.util.Arrays;
+
+import com.timofriedl.linalg.doublematrix.DoubleMatrix;
+import com.timofriedl.linalg.doublematrix.storage.DoubleStorage;
+import com.timofriedl.linalg.doublevector.DoubleVector;
+
+/**
+ * Super class for matrices that only store their non zero values in a
+ * compressed format.
+ * 
+ * The values are grouped by a major dimension (rows or columns).
+ * <code>pointers[i]</code> to <code>pointers[i + 1]</code> is the range of the
+ * group <code>i</code> in <code>indices</code> and <code>values</code>, and
+ * <code>indices</code> holds the minor coordinate of every value in ascending
+ * order.
+ * 
+ * @author Timo Friedl
+ */
+public abstract class SparseDoubleMatrix {
+
+	/**
+	 * the width of this matrix
+	 */
+	protected final int width;
+
+	/**
+	 * the height of this matrix
+	 */
+	protected final int height;
+
+	/**
+	 * the range of every group in <code>indices</code> and <code>values</code>
+	 */
+	protected final int[] pointers;
+
+	/**
+	 * the minor coordinate of every stored value
+	 */
+	protected final int[] indices;
+
+	/**
+	 * the stored values
+	 */
+	protected final double[] values;
+
+	/**
+	 * Creates a new sparse matrix with the given compressed arrays.
+	 * 
+	 * Arrays are called by reference!
+	 * 
+	 * @param width     the width of this matrix
+	 * @param height    the height of this matrix
+	 * @param majorSize the number of groups
+	 * @param pointers  the range of every group
+	 * @param indices   the minor coordinate of every stored value
+	 * @param values    the stored values
+	 */
+	protected SparseDoubleMatrix(int width, int height, int majorSize, int[] pointers, int[] indices,
+			double[] values) {
+		if (width < 0 || height < 0)
+			throw new IllegalArgumentException("Matrix size must not be negative.");
+		if (pointers.length != majorSize + 1 || pointers[0] != 0)
+			throw new IllegalArgumentException("The pointer array does not match the matrix size.");
+		if (indices.length < pointers[majorSize] || values.length < pointers[majorSize])
+			throw new IllegalArgumentException("The index and value arrays must contain all stored values.");
+
+		this.width = width;
+		this.height = height;
+		this.pointers = pointers;
+		this.indices = indices;
+		this.values = values;
+	}
+
+	/**
+	 * Returns the value at the given position.
+	 * 
+	 * @param x the x coordinate of the position
+	 * @param y the y coordinate of the position
+	 * @return the value at this position, zero if it is not stored
+	 */
+	public abstract double get(int x, int y);
+
+	/**
+	 * Calculates the matrix multiplication with a dense {@link DoubleMatrix}.
+	 * 
+	 * <code>B</code> must be as tall as <code>this</code> is wide.
+	 * 
+	 * @param B the dense matrix to multiply
+	 * @return the dense result of the multiplication
+	 */
+	public abstract DoubleMatrix multiply(DoubleMatrix B);
+
+	/**
+	 * Calculates the product of this matrix and a {@link DoubleVector} and writes
+	 * it into a given result vector.
+	 * 
+	 * @param v      the vector to multiply, as big as <code>this</code> is wide
+	 * @param result the vector to overwrite, as big as <code>this</code> is tall
+	 */
+	public abstract void multiply(DoubleVector v, DoubleVector result);
+
+	/**
+	 * Calculates the product of this matrix and a {@link DoubleVector}.
+	 * 
+	 * @param v the vector to multiply, as big as <code>this</code> is wide
+	 * @return the result vector, as big as <code>this</code> is tall
+	 */
+	public DoubleVector multiply(DoubleVector v) {
+		final DoubleVector result = new DoubleVector(height);
+		multiply(v, result);
+
+		return result;
+	}
+
+	/**
+	 * Converts this matrix into a dense {@link DoubleMatrix}.
+	 * 
+	 * @return the dense copy of this matrix
+	 */
+	public abstract DoubleMatrix toDense();
+
+	/**
+	 * Checks the bounds of a matrix vector multiplication.
+	 */
+	protected void checkBounds(DoubleVector v, DoubleVector result) {
+		if (v.size() != width)
+			throw new IllegalArgumentException("The vector must be as big as the matrix is wide.");
+		if (result.size() != height)
+			throw new IllegalArgumentException("The result vector must be as big as the matrix is tall.");
+	}
+
+	/**
+	 * Checks the bounds of a matrix multiplication.
+	 */
+	protected void checkBounds(DoubleMatrix B) {
+		if (B.getHeight() != width)
+			throw new IllegalArgumentException("Matrix B must be as tall as A is wide when multiplicating them.");
+	}
+
+	/**
+	 * Returns the storage of a dense matrix if its rows can be accessed as arrays,
+	 * otherwise the storage of a row major copy.
+	 * 
+	 * @param B the dense matrix
+	 * @return a storage with array backed rows containing the values of
+	 *         <code>B</code>
+	 */
+	protected static DoubleStorage rowArrayStorage(DoubleMatrix B) {
+		if (B.getHeight() == 0 || B.getStorage().rowArray(0) != null)
+			return B.getStorage();
+
+		return B.copy(0, 0, B.getWidth(), B.getHeight()).getStorage();
+	}
+
+	/**
+	 * Searches the stored value of a given group at a given minor coordinate.
+	 * 
+	 * @param major the number of the group
+	 * @param minor the minor coordinate
+	 * @return the stored value, zero if it is not stored
+	 */
+	protected double find(int major, int minor) {
+		int low = pointers[major];
+		int high = pointers[major + 1] - 1;
+
+		while (low <= high) {
+			final int middle = (low + high) >>> 1;
+
+			if (indices[middle] < minor)
+				low = middle + 1;
+			else if (indices[middle] > minor)
+				high = middle - 1;
+			else
+				return values[middle];
+		}
+
+		return 0.0;
+	}
+
+	/**
+	 * Regroups the compressed arrays by the minor dimension and writes them into
+	 * the given arrays. This converts between the row and the column format.
+	 * 
+	 * @param newPointers the array to fill with the new pointers, one bigger than
+	 *                    the minor dimension
+	 * @param newIndices  the array to fill with the new indices
+	 * @param newValues   the array to fill with the new values
+	 */
+	protected void regroup(int[] newPointers, int[] newIndices, double[] newValues) {
+		final int majorSize = pointers.length - 1;
+		final int minorSize = newPointers.length - 1;
+		final int nonZeros = nonZeros();
+
+		for (int k = 0; k < nonZeros; k++)
+			newPointers[indices[k] + 1]++;
+		for (int i = 0; i < minorSize; i++)
+			newPointers[i + 1] += newPointers[i];
+
+		final int[] next = Arrays.copyOf(newPointers, minorSize);
+
+		for (int major = 0; major < majorSize; major++)
+			for (int k = pointers[major]; k < pointers[major + 1]; k++) {
+				final int position = next[indices[k]]++;
+				newIndices[position] = major;
+				newValues[position] = values[k];
+			}
+	}
+
+	/**
+	 * @return the number of stored values
+	 */
+	public int nonZeros() {
+		return pointers[pointers.length - 1];
+	}
+
+	/**
+	 * @return the width of this matrix
+	 */
+	public int getWidth() {
+		return width;
+	}
+
+	/**
+	 * @return the height of this matrix
+	 */
+	public int getHeight() {
+		return height;
+	}
+
+}
@@ -0,0 +1,229 @@
+package com.timofriedl.linalg.doublematrix.sparse;
+
+import java.util.Arrays;
+
+/**
+ * Collects the values of a sparse matrix in the coordinate (COO) format and
+ * converts them into a {@link CsrDoubleMatrix} or a {@link CscDoubleMatrix}.
+ * 
+ * Values can be added in any order. Values added to the same position are
+ * summed up.
+ * 
+ * @author Timo Friedl
+ */
+public class SparseDoubleMatrixBuilder {
+
+	/**
+	 * the size of the matrix to build
+	 */
+	private final int width, height;
+
+	/**
+	 * the x coordinates of the added values
+	 */
+	private int[] xs;
+
+	/**
+	 * the y coordinates of the added values
+	 */
+	private int[] ys;
+
+	/**
+	 * the added values
+	 */
+	private double[] values;
+
+	/**
+	 * the number of added values
+	 */
+	private int size;
+
+	/**
+	 * Creates a new empty builder.
+	 * 
+	 * @param width  the width of the matrix to build
+	 * @param height the height of the matrix to build
+	 */
+	public SparseDoubleMatrixBuilder(int width, int height) {
+		this(width, height, 16);
+	}
+
+	/**
+	 * Creates a new empty builder with space for a given number of values.
+	 * 
+	 * @param width    the width of the matrix to build
+	 * @param height   the height of the matrix to build
+	 * @param capacity the expected number of values
+	 */
+	public SparseDoubleMatrixBuilder(int width, int height, int capacity) {
+		if (width < 0 || height < 0)
+			throw new IllegalArgumentException("Matrix size must not be negative.");
+		if (capacity < 0)
+			throw new IllegalArgumentException("Capacity must not be negative.");
+
+		this.width = width;
+		this.height = height;
+		this.xs = new int[capacity];
+		this.ys = new int[capacity];
+		this.values = new double[capacity];
+	}
+
+	/**
+	 * Adds a value at a given position. Zeros are ignored.
+	 * 
+	 * @param x     the x coordinate of the position
+	 * @param y     the y coordinate of the position
+	 * @param value the value to add
+	 * @return this builder
+	 */
+	public SparseDoubleMatrixBuilder add(int x, int y, double value) {
+		if (x < 0 || y < 0 || x >= width || y >= height)
+			throw new IllegalArgumentException("The position does not match the matrix bounds.");
+
+		if (value == 0.0)
+			return this;
+
+		if (size == values.length) {
+			final int capacity = Math.max(16, size + (size >> 1));
+			xs = Arrays.copyOf(xs, capacity);
+			ys = Arrays.copyOf(ys, capacity);
+			values = Arrays.copyOf(values, capacity);
+		}
+
+		xs[size] = x;
+		ys[size] = y;
+		values[size++] = value;
+
+		return this;
+	}
+
+	/**
+	 * Builds a matrix in the compressed sparse row format.
+	 * 
+	 * @return a new CSR matrix containing all added values
+	 */
+	public CsrDoubleMatrix buildCsr() {
+		final int[] rowPointers = new int[height + 1];
+		final int[] order = sort(ys, xs, height, width);
+
+		final int nonZeros = compress(ys, order, rowPointers);
+		final int[] columnIndices = new int[nonZeros];
+		final double[] newValues = new double[nonZeros];
+		fill(xs, order, columnIndices, newValues);
+
+		return new CsrDoubleMatrix(width, height, rowPointers, columnIndices, newValues);
+	}
+
+	/**
+	 * Builds a matrix in the compressed sparse column format.
+	 * 
+	 * @return a new CSC matrix containing all added values
+	 */
+	public CscDoubleMatrix buildCsc() {
+		final int[] columnPointers = new int[width + 1];
+		final int[] order = sort(xs, ys, width, height);
+
+		final int nonZeros = compress(xs, order, columnPointers);
+		final int[] rowIndices = new int[nonZeros];
+		final double[] newValues = new double[nonZeros];
+		fill(ys, order, rowIndices, newValues);
+
+		return new CscDoubleMatrix(width, height, columnPointers, rowIndices, newValues);
+	}
+
+	/**
+	 * Sorts the added values by a major and then by a minor coordinate with two
+	 * stable counting sorts.
+	 * 
+	 * @param major     the major coordinates
+	 * @param minor     the minor coordinates
+	 * @param majorSize the number of different major coordinates
+	 * @param minorSize the number of different minor coordinates
+	 * @return the positions of the added values in sorted order
+	 */
+	private int[] sort(int[] major, int[] minor, int majorSize, int minorSize) {
+		final int[] byMinor = new int[size];
+		final int[] next = new int[Math.max(majorSize, minorSize) + 1];
+
+		for (int i = 0; i < size; i++)
+			next[minor[i] + 1]++;
+		for (int i = 0; i < minorSize; i++)
+			next[i + 1] += next[i];
+		for (int i = 0; i < size; i++)
+			byMinor[next[minor[i]]++] = i;
+
+		Arrays.fill(next, 0);
+
+		final int[] sorted = new int[size];
+		for (int i = 0; i < size; i++)
+			next[major[i] + 1]++;
+		for (int i = 0; i < majorSize; i++)
+			next[i + 1] += next[i];
+		for (int i = 0; i < size; i++)
+			sorted[next[major[byMinor[i]]]++] = byMinor[i];
+
+		return sorted;
+	}
+
+	/**
+	 * Counts the distinct positions of every major group and fills the pointer
+	 * array.
+	 * 
+	 * @param major    the major coordinates
+	 * @param order    the positions of the added values in sorted order
+	 * @param pointers the array to fill with the range of every group
+	 * @return the number of distinct positions
+	 */
+	private int compress(int[] major, int[] order, int[] pointers) {
+		for (int i = 0; i < size; i++) {
+			final int current = order[i];
+
+			if (i == 0 || !samePosition(order[i - 1], current))
+				pointers[major[current] + 1]++;
+		}
+
+		for (int i = 0; i < pointers.length - 1; i++)
+			pointers[i + 1] += pointers[i];
+
+		return pointers[pointers.length - 1];
+	}
+
+	/**
+	 * Fills the index and value arrays in sorted order, summing up values at the
+	 * same position.
+	 * 
+	 * @param minor     the minor coordinates
+	 * @param order     the positions of the added values in sorted order
+	 * @param indices   the array to fill with the minor coordinates
+	 * @param newValues the array to fill with the values
+	 */
+	private void fill(int[] minor, int[] order, int[] indices, double[] newValues) {
+		int k = -1;
+
+		for (int i = 0; i < size; i++) {
+			final int current = order[i];
+
+			if (i == 0 || !samePosition(order[i - 1], current)) {
+				indices[++k] = minor[current];
+				newValues[k] = values[current];
+			} else
+				newValues[k] += values[current];
+		}
+	}
+
+	/**
+	 * @return true if two added values have the same coordinates
+	 */
+	private boolean samePosition(int first, int second) {
+		return xs[first] == xs[second] && ys[first] == ys[second];
+	}
+
+	/**
+	 * @return the number of added values, counting every call of
+	 *         {@link #add(int, int, double)} with a non zero value
+	 */
+	public int size() {
+		return size;
+	}
+
+}
@@ -0,0 +1,219 @@
+package com.timofriedl.linalg.doublematrix.storage;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+
+/**
+ * Super class for storages that keep their numbers outside of the Java heap in
+ * {@link ByteBuffer}s, row after row.
+ * 
+ * A single buffer cannot hold more than 2 GB, so the rows are split into chunks
+ * of up to {@value #MAX_CHUNK_BYTES} bytes, each chunk containing whole rows.
+ * 
+ * The memory is released by {@link #close()}. Afterwards every access fails.
+ * The storage must not be closed while other threads still access it.
+ * 
+ * @author Timo Friedl
+ */
+public abstract class BufferDoubleStorage extends DoubleStorage implements AutoCloseable {
+
+	/**
+	 * the maximum number of bytes of a chunk
+	 */
+	public static final int MAX_CHUNK_BYTES = 1 << 30;
+
+	/**
+	 * the number of columns
+	 */
+	private final int width;
+
+	/**
+	 * the number of rows
+	 */
+	private final int height;
+
+	/**
+	 * the number of rows of every chunk except the last one
+	 */
+	private final int rowsPerChunk;
+
+	/**
+	 * the buffers containing the chunks, null once closed
+	 */
+	private ByteBuffer[] buffers;
+
+	/**
+	 * the chunks as double views onto the buffers, null once closed
+	 */
+	private DoubleBuffer[] chunks;
+
+	/**
+	 * Creates a new storage onto the given buffers.
+	 * 
+	 * @param width   the number of columns
+	 * @param height  the number of rows
+	 * @param buffers the buffers, each one containing {@link #rowsPerChunk(int)}
+	 *                rows except the last one, positioned at the first value
+	 * @param order   the byte order of the values in the buffers
+	 */
+	protected BufferDoubleStorage(int width, int height, ByteBuffer[] buffers, ByteOrder order) {
+		if (width < 0 || height < 0)
+			throw new IllegalArgumentException("Storage size must not be negative.");
+		if (buffers.length != chunkCount(width, height))
+			throw new IllegalArgumentException("The number of buffers does not match the storage size.");
+
+		this.width = width;
+		this.height = height;
+		this.rowsPerChunk = rowsPerChunk(width);
+		this.buffers = buffers;
+		this.chunks = new DoubleBuffer[buffers.length];
+
+		for (int i = 0; i < buffers.length; i++) {
+			final int rows = Math.min(rowsPerChunk, height - i * rowsPerChunk);
+
+			if (buffers[i].remaining() < (long) rows * width * Double.BYTES)
+				throw new IllegalArgumentException("A buffer is too small for its rows.");
+
+			chunks[i] = buffers[i].slice().order(order).asDoubleBuffer();
+		}
+	}
+
+	/**
+	 * Calculates how many rows of a given width fit into a chunk.
+	 * 
+	 * @param width the number of columns
+	 * @return the number of rows per chunk, at least one
+	 */
+	public static int rowsPerChunk(int width) {
+		if ((long) width * Double.BYTES > MAX_CHUNK_BYTES)
+			throw new IllegalArgumentException("A row of " + width + " values does not fit into a buffer.");
+
+		return width == 0 ? Integer.MAX_VALUE : MAX_CHUNK_BYTES / (width * Double.BYTES);
+	}
+
+	/**
+	 * Calculates the number of chunks of a storage of the given size.
+	 * 
+	 * @param width  the number of columns
+	 * @param height the number of rows
+	 * @return the number of chunks
+	 */
+	public static int chunkCount(int width, int height) {
+		final int rowsPerChunk = rowsPerChunk(width);
+		return (int) (((long) height + rowsPerChunk - 1) / rowsPerChunk);
+	}
+
+	/**
+	 * Calculates the number of bytes of a chunk.
+	 * 
+	 * @param width  the number of columns
+	 * @param height the number of rows
+	 * @param chunk  the number of the chunk
+	 * @return the number of bytes of this chunk
+	 */
+	public static int chunkBytes(int width, int height, int chunk) {
+		final int rowsPerChunk = rowsPerChunk(width);
+		return Math.min(rowsPerChunk, height - chunk * rowsPerChunk) * width * Double.BYTES;
+	}
+
+	/**
+	 * @return the chunks, failing if this storage is closed
+	 */
+	private DoubleBuffer[] chunks() {
+		final DoubleBuffer[] chunks = this.chunks;
+		if (chunks == null)
+			throw new IllegalStateException("The storage has been closed.");
+
+		return chunks;
+	}
+
+	/**
+	 * @return the buffers containing the chunks, failing if this storage is
+	 *         closed
+	 */
+	protected ByteBuffer[] buffers() {
+		final ByteBuffer[] buffers = this.buffers;
+		if (buffers == null)
+			throw new IllegalStateException("The storage has been closed.");
+
+		return buffers;
+	}
+
+	@Override
+	public int getWidth() {
+		return width;
+	}
+
+	@Override
+	public int getHeight() {
+		return height;
+	}
+
+	@Override
+	public double get(int x, int y) {
+		return chunks()[y / rowsPerChunk].get((y % rowsPerChunk) * width + x);
+	}
+
+	@Override
+	public void set(int x, int y, double value) {
+		chunks()[y / rowsPerChunk].put((y % rowsPerChunk) * width + x, value);
+	}
+
+	@Override
+	public void copyRowTo(int y, int x, int length, double[] destination, int destinationOffset) {
+		final DoubleBuffer chunk = chunks()[y / rowsPerChunk].duplicate();
+		chunk.position((y % rowsPerChunk) * width + x);
+		chunk.get(destination, destinationOffset, length);
+	}
+
+	@Override
+	public void pasteRow(int y, int x, int length, double[] source, int sourceOffset) {
+		final DoubleBuffer chunk = chunks()[y / rowsPerChunk].duplicate();
+		chunk.position((y % rowsPerChunk) * width + x);
+		chunk.put(source, sourceOffset, length);
+	}
+
+	/**
+	 * Copies all values of this storage into another buffer storage of the same
+	 * size.
+	 * 
+	 * @param target the storage to overwrite
+	 */
+	protected void copyTo(BufferDoubleStorage target) {
+		final DoubleBuffer[] chunks = chunks();
+		final DoubleBuffer[] targetChunks = target.chunks();
+
+		for (int i = 0; i < chunks.length; i++) {
+			final DoubleBuffer source = chunks[i].duplicate();
+			final DoubleBuffer destination = targetChunks[i].duplicate();
+			source.limit(Math.min(rowsPerChunk, height - i * rowsPerChunk) * width);
+			destination.put(source);
+		}
+	}
+
+	/**
+	 * Releases the memory of the buffers. Further accesses fail with an
+	 * {@link IllegalStateException}.
+	 */
+	@Override
+	public void close() {
+		final ByteBuffer[] buffers = this.buffers;
+		if (buffers == null)
+			return;
+
+		this.chunks = null;
+		this.buffers = null;
+
+		for (ByteBuffer buffer : buffers)
+			DirectBuffers.free(buffer);
+	}
+
+	/**
+	 * @return true if this storage has been closed
+	 */
+	public boolean isClosed() {
+		return chunks == null;
+	}
+
+}
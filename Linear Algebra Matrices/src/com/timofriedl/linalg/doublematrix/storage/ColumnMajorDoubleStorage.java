@@ -0,0 +1,107 @@
+package com.timofriedl.linalg.doublematrix.storage;
+
+import java.util.Arrays;
+
+import com.timofriedl.linalg.doublevector.DoubleVector;
+
+/**
+ * Stores all numbers in one contiguous <code>double</code> array, column after
+ * column. Walking down a column reads the memory linearly.
+ * 
+ * @author Timo Friedl
+ */
+public class ColumnMajorDoubleStorage extends DoubleStorage {
+
+	/**
+	 * the numbers of this storage
+	 * 
+	 * format: [x * height + y]
+	 */
+	private final double[] numbers;
+
+	/**
+	 * the number of columns
+	 */
+	private final int width;
+
+	/**
+	 * the number of rows
+	 */
+	private final int height;
+
+	/**
+	 * Creates a new storage filled with zeros.
+	 * 
+	 * @param width  the number of columns
+	 * @param height the number of rows
+	 */
+	public ColumnMajorDoubleStorage(int width, int height) {
+		if (width < 0 || height < 0)
+			throw new IllegalArgumentException("Storage size must not be negative.");
+
+		this.numbers = new double[Math.multiplyExact(width, height)];
+		this.width = width;
+		this.height = height;
+	}
+
+	/**
+	 * Creates a new storage with the given numbers.
+	 * 
+	 * Array is called by reference!
+	 * 
+	 * @param numbers the numbers, format: [x * height + y]
+	 * @param width   the number of columns
+	 * @param height  the number of rows
+	 */
+	public ColumnMajorDoubleStorage(double[] numbers, int width, int height) {
+		if (width < 0 || height < 0)
+			throw new IllegalArgumentException("Storage size must not be negative.");
+		if (numbers.length != (long) width * height)
+			throw new IllegalArgumentException("The number array does not match the storage size.");
+
+		this.numbers = numbers;
+		this.width = width;
+		this.height = height;
+	}
+
+	@Override
+	public int getWidth() {
+		return width;
+	}
+
+	@Override
+	public int getHeight() {
+		return height;
+	}
+
+	@Override
+	public double get(int x, int y) {
+		return numbers[x * height + y];
+	}
+
+	@Override
+	public void set(int x, int y, double value) {
+		numbers[x * height + y] = value;
+	}
+
+	@Override
+	public ColumnMajorDoubleStorage copy() {
+		return new ColumnMajorDoubleStorage(Arrays.copyOf(numbers, numbers.length), width, height);
+	}
+
+	@Override
+	public double[] backingArray() {
+		return numbers;
+	}
+
+	@Override
+	public DoubleVector rowVector(int y) {
+		return new DoubleVector(numbers, y, height, width);
+	}
+
+	@Override
+	public DoubleVector columnVector(int x) {
+		return new DoubleVector(numbers, x * height, 1, height);
+	}
+
+}
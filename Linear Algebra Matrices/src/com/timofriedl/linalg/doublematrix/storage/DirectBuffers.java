@@ -0,0 +1,78 @@
+package com.timofriedl.linalg.doublematrix.storage;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+
+/**
+ * Releases the memory of direct and memory mapped {@link ByteBuffer}s
+ * immediately instead of waiting for the garbage collector.
+ * 
+ * There is no public API for this in Java 8, so the internal cleaner is called
+ * by reflection: <code>Unsafe.invokeCleaner</code> since Java 9,
+ * <code>DirectBuffer.cleaner().clean()</code> before. If neither is available,
+ * the memory is released by the garbage collector as usual.
+ * 
+ * @author Timo Friedl
+ */
+final class DirectBuffers {
+
+	/**
+	 * the <code>Unsafe</code> instance, null if not available
+	 */
+	private static final Object UNSAFE;
+
+	/**
+	 * <code>Unsafe.invokeCleaner(ByteBuffer)</code>, null before Java 9
+	 */
+	private static final Method INVOKE_CLEANER;
+
+	static {
+		Object unsafe = null;
+		Method invokeCleaner = null;
+
+		try {
+			final Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+			invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+
+			final Field field = unsafeClass.getDeclaredField("theUnsafe");
+			field.setAccessible(true);
+			unsafe = field.get(null);
+		} catch (ReflectiveOperationException | RuntimeException e) {
+			invokeCleaner = null;
+		}
+
+		UNSAFE = unsafe;
+		INVOKE_CLEANER = invokeCleaner;
+	}
+
+	private DirectBuffers() {
+	}
+
+	/**
+	 * Releases the memory of a direct buffer. Heap buffers are ignored. The buffer
+	 * must not be accessed afterwards.
+	 * 
+	 * @param buffer the buffer to release, not a slice or duplicate
+	 */
+	static void free(ByteBuffer buffer) {
+		if (!buffer.isDirect())
+			return;
+
+		try {
+			if (INVOKE_CLEANER != null)
+				INVOKE_CLEANER.invoke(UNSAFE, buffer);
+			else {
+				final Method cleanerMethod = buffer.getClass().getMethod("cleaner");
+				cleanerMethod.setAccessible(true);
+
+				final Object cleaner = cleanerMethod.invoke(buffer);
+				if (cleaner != null)
+					cleaner.getClass().getMethod("clean").invoke(cleaner);
+			}
+		} catch (ReflectiveOperationException | RuntimeException e) {
+			// the garbage collector releases the memory later
+		}
+	}
+
+}
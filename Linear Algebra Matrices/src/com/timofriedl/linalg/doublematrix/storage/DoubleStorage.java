@@ -0,0 +1,205 @@
+package com.timofriedl.linalg.doublematrix.storage;
+
+import com.timofriedl.linalg.doublematrix.DoubleMatrix;
+import com.timofriedl.linalg.doublevector.DoubleVector;
+
+/**
+ * Super class for all different ways to store the numbers of a
+ * {@link DoubleMatrix}.
+ * 
+ * Every storage supports random access with {@link #get(int, int)} and
+ * {@link #set(int, int, double)}. Storages that keep their rows contiguously in
+ * a <code>double</code> array on the heap additionally expose this array with
+ * {@link #rowArray(int)}, so algorithms can walk the memory linearly.
+ * 
+ * @author Timo Friedl
+ */
+public abstract class DoubleStorage {
+
+	/**
+	 * @return the number of columns of this {@link DoubleStorage}
+	 */
+	public abstract int getWidth();
+
+	/**
+	 * @return the number of rows of this {@link DoubleStorage}
+	 */
+	public abstract int getHeight();
+
+	/**
+	 * Returns the value at the given position.
+	 * 
+	 * @param x the x coordinate of the position
+	 * @param y the y coordinate of the position
+	 * @return the value at this position
+	 */
+	public abstract double get(int x, int y);
+
+	/**
+	 * Sets a value at the given position.
+	 * 
+	 * @param x     the x coordinate of the position
+	 * @param y     the y coordinate of the position
+	 * @param value the value to set
+	 */
+	public abstract void set(int x, int y, double value);
+
+	/**
+	 * Returns a detached copy of this {@link DoubleStorage} with the same layout.
+	 * 
+	 * @return the copy
+	 */
+	public abstract DoubleStorage copy();
+
+	/**
+	 * Returns the array that contains a given row, if the row is stored
+	 * contiguously on the heap. The value at <code>(x, y)</code> is then stored at
+	 * <code>rowArray(y)[rowOffset(y) + x]</code>.
+	 * 
+	 * @param y the number of the row
+	 * @return the array containing this row, or <code>null</code> if the row is
+	 *         not stored in a heap array
+	 */
+	public double[] rowArray(int y) {
+		return null;
+	}
+
+	/**
+	 * Returns the position of the first value of a given row in its
+	 * {@link #rowArray(int)}.
+	 * 
+	 * @param y the number of the row
+	 * @return the offset of this row
+	 */
+	public int rowOffset(int y) {
+		return 0;
+	}
+
+	/**
+	 * Returns the heap array that contains all values of this storage, if there is
+	 * a single one.
+	 * 
+	 * @return the array containing all values, or <code>null</code> if the values
+	 *         are not stored in a single heap array
+	 */
+	public double[] backingArray() {
+		return null;
+	}
+
+	/**
+	 * Checks if this storage could share values with another one, so writing one
+	 * of them can change the other. Storages with a {@link #backingArray()} or with
+	 * all their rows in heap arrays only share values if they have an array in
+	 * common, for any other storage sharing can not be ruled out.
+	 * 
+	 * @param other the storage to compare with
+	 * @return false if the storages are known to be independent
+	 */
+	public boolean mayShareValues(DoubleStorage other) {
+		if (other == this)
+			return true;
+		if (getWidth() == 0 || getHeight() == 0 || other.getWidth() == 0 || other.getHeight() == 0)
+			return false;
+
+		final double[] array = backingArray();
+		final double[] otherArray = other.backingArray();
+
+		if (array != null && otherArray != null)
+			return array == otherArray;
+		if (array != null)
+			return other.mayUseArray(array);
+		if (otherArray != null)
+			return mayUseArray(otherArray);
+
+		for (int y = 0; y < getHeight(); y++) {
+			final double[] row = rowArray(y);
+
+			if (row == null || other.mayUseArray(row))
+				return true;
+		}
+
+		return false;
+	}
+
+	/**
+	 * Checks if a row of this storage could be stored in a given array.
+	 * 
+	 * @param array the array to look for
+	 * @return false if no row is stored in this array
+	 */
+	private boolean mayUseArray(double[] array) {
+		for (int y = 0; y < getHeight(); y++) {
+			final double[] row = rowArray(y);
+
+			if (row == null || row == array)
+				return true;
+		}
+
+		return false;
+	}
+
+	/**
+	 * Copies a part of a row into a given array.
+	 * 
+	 * @param y                 the number of the row to copy
+	 * @param x                 the first column to copy
+	 * @param length            the number of values to copy
+	 * @param destination       the array to copy the values into
+	 * @param destinationOffset the first position in <code>destination</code>
+	 */
+	public void copyRowTo(int y, int x, int length, double[] destination, int destinationOffset) {
+		for (int i = 0; i < length; i++)
+			destination[destinationOffset + i] = get(x + i, y);
+	}
+
+	/**
+	 * Overwrites a part of a row with the values of a given array.
+	 * 
+	 * @param y            the number of the row to change
+	 * @param x            the first column to change
+	 * @param length       the number of values to copy
+	 * @param source       the array to copy the values from
+	 * @param sourceOffset the first position in <code>source</code>
+	 */
+	public void pasteRow(int y, int x, int length, double[] source, int sourceOffset) {
+		for (int i = 0; i < length; i++)
+			set(x + i, y, source[sourceOffset + i]);
+	}
+
+	/**
+	 * Returns a view onto a row. Changes of the view are written through to this
+	 * storage.
+	 * 
+	 * @param y the number of the row
+	 * @return the view onto this row
+	 */
+	public DoubleVector rowVector(int y) {
+		return new StorageVectorView(this, y, true, 0, getWidth());
+	}
+
+	/**
+	 * Returns a view onto a column. Changes of the view are written through to
+	 * this storage.
+	 * 
+	 * @param x the number of the column
+	 * @return the view onto this column
+	 */
+	public DoubleVector columnVector(int x) {
+		return new StorageVectorView(this, x, false, 0, getHeight());
+	}
+
+	/**
+	 * Swaps the values of two rows.
+	 * 
+	 * @param firstY  the number of the first row to swap with the second one
+	 * @param secondY the number of the second row to swap with the first one
+	 */
+	public void swapRows(int firstY, int secondY) {
+		for (int x = 0; x < getWidth(); x++) {
+			final double tmp = get(x, firstY);
+			set(x, firstY, get(x, secondY));
+			set(x, secondY, tmp);
+		}
+	}
+
+}
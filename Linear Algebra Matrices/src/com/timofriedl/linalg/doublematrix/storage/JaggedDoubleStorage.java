@@ -0,0 +1,103 @@
+package com.timofriedl.linalg.doublematrix.storage;
+
+import com.timofriedl.linalg.doublevector.DoubleVector;
+
+/**
+ * Stores the numbers in one separate <code>double</code> array per row. Rows
+ * can be swapped by reference without copying any values.
+ * 
+ * @author Timo Friedl
+ */
+public class JaggedDoubleStorage extends DoubleStorage {
+
+	/**
+	 * the numbers of this storage
+	 * 
+	 * format: [y][x]
+	 */
+	private final double[][] numbers;
+
+	/**
+	 * the number of columns
+	 */
+	private final int width;
+
+	/**
+	 * Creates a new storage with the given numbers.
+	 * 
+	 * Array is called by reference!
+	 * 
+	 * @param numbers the numbers, format: [y][x]
+	 */
+	public JaggedDoubleStorage(double[][] numbers) {
+		this.numbers = numbers;
+		this.width = numbers.length == 0 ? 0 : numbers[0].length;
+	}
+
+	@Override
+	public int getWidth() {
+		return width;
+	}
+
+	@Override
+	public int getHeight() {
+		return numbers.length;
+	}
+
+	@Override
+	public double get(int x, int y) {
+		return numbers[y][x];
+	}
+
+	@Override
+	public void set(int x, int y, double value) {
+		numbers[y][x] = value;
+	}
+
+	@Override
+	public JaggedDoubleStorage copy() {
+		final double[][] copy = new double[numbers.length][];
+
+		for (int y = 0; y < numbers.length; y++)
+			copy[y] = numbers[y].clone();
+
+		return new JaggedDoubleStorage(copy);
+	}
+
+	@Override
+	public double[] rowArray(int y) {
+		return numbers[y];
+	}
+
+	@Override
+	public int rowOffset(int y) {
+		return 0;
+	}
+
+	@Override
+	public void copyRowTo(int y, int x, int length, double[] destination, int destinationOffset) {
+		System.arraycopy(numbers[y], x, destination, destinationOffset, length);
+	}
+
+	@Override
+	public void pasteRow(int y, int x, int length, double[] source, int sourceOffset) {
+		System.arraycopy(source, sourceOffset, numbers[y], x, length);
+	}
+
+	/**
+	 * Returns a view onto the array of a row. The view stays bound to this array
+	 * when the row is swapped with {@link #swapRows(int, int)}.
+	 */
+	@Override
+	public DoubleVector rowVector(int y) {
+		return new DoubleVector(numbers[y]);
+	}
+
+	@Override
+	public void swapRows(int firstY, int secondY) {
+		final double[] tmp = numbers[firstY];
+		numbers[firstY] = numbers[secondY];
+		numbers[secondY] = tmp;
+	}
+
+}
@@ -0,0 +1,97 @@
+package com.timofriedl.linalg.doublematrix.storage;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+
+/**
+ * Stores all numbers row after row as little endian values in a memory mapped
+ * file. Opening the storage does not read anything, the operating system loads
+ * the pages of the file when they are accessed first.
+ * 
+ * Changes of a writable storage are written back to the file by the operating
+ * system, {@link #flush()} forces this immediately. Changing a read only storage
+ * fails with a {@link java.nio.ReadOnlyBufferException}. {@link #close()} unmaps
+ * the file.
+ * 
+ * @author Timo Friedl
+ */
+public class MappedDoubleStorage extends BufferDoubleStorage {
+
+	/**
+	 * true if changes are written to the file
+	 */
+	private final boolean writable;
+
+	/**
+	 * Maps a part of a file as a storage. The file channel can be closed
+	 * afterwards, the mapping stays valid.
+	 * 
+	 * @param channel  the channel of the file to map
+	 * @param position the position of the first value in the file
+	 * @param width    the number of columns
+	 * @param height   the number of rows
+	 * @param writable true to write changes to the file, false to map it read
+	 *                 only
+	 * @throws IOException if the file cannot be mapped
+	 */
+	public MappedDoubleStorage(FileChannel channel, long position, int width, int height, boolean writable)
+			throws IOException {
+		super(width, height, map(channel, position, width, height, writable), ByteOrder.LITTLE_ENDIAN);
+
+		this.writable = writable;
+	}
+
+	/**
+	 * Maps the chunks of a storage of the given size.
+	 */
+	private static ByteBuffer[] map(FileChannel channel, long position, int width, int height, boolean writable)
+			throws IOException {
+		if (width < 0 || height < 0)
+			throw new IllegalArgumentException("Storage size must not be negative.");
+
+		final ByteBuffer[] buffers = new ByteBuffer[chunkCount(width, height)];
+		final MapMode mode = writable ? MapMode.READ_WRITE : MapMode.READ_ONLY;
+
+		long chunkPosition = position;
+		for (int i = 0; i < buffers.length; i++) {
+			final int bytes = chunkBytes(width, height, i);
+			buffers[i] = channel.map(mode, chunkPosition, bytes);
+			chunkPosition += bytes;
+		}
+
+		return buffers;
+	}
+
+	/**
+	 * Returns a detached copy of this storage outside of the heap, since mapped
+	 * matrices are usually too big for the heap.
+	 */
+	@Override
+	public OffHeapDoubleStorage copy() {
+		final OffHeapDoubleStorage copy = new OffHeapDoubleStorage(getWidth(), getHeight());
+		copyTo(copy);
+
+		return copy;
+	}
+
+	/**
+	 * Writes all changes to the file immediately.
+	 */
+	public void flush() {
+		if (writable)
+			for (ByteBuffer buffer : buffers())
+				((MappedByteBuffer) buffer).force();
+	}
+
+	/**
+	 * @return true if changes are written to the file
+	 */
+	public boolean isWritable() {
+		return writable;
+	}
+
+}
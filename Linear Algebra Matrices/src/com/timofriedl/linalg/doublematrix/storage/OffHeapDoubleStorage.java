@@ -0,0 +1,55 @@
+package com.timofriedl.linalg.doublematrix.storage;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Stores all numbers row after row in direct {@link ByteBuffer}s outside of the
+ * Java heap. Big matrices then neither count against the maximum heap size nor
+ * have to be copied or scanned by the garbage collector.
+ * 
+ * The memory should be released with {@link #close()} as soon as the matrix is
+ * not needed anymore, e.g. with a try-with-resources statement. Otherwise it is
+ * released when the garbage collector finds the storage unreachable.
+ * 
+ * @author Timo Friedl
+ */
+public class OffHeapDoubleStorage extends BufferDoubleStorage {
+
+	/**
+	 * Creates a new storage filled with zeros.
+	 * 
+	 * @param width  the number of columns
+	 * @param height the number of rows
+	 */
+	public OffHeapDoubleStorage(int width, int height) {
+		super(width, height, allocate(width, height), ByteOrder.nativeOrder());
+	}
+
+	/**
+	 * Allocates the direct buffers for a storage of the given size.
+	 */
+	private static ByteBuffer[] allocate(int width, int height) {
+		if (width < 0 || height < 0)
+			throw new IllegalArgumentException("Storage size must not be negative.");
+
+		final ByteBuffer[] buffers = new ByteBuffer[chunkCount(width, height)];
+
+		for (int i = 0; i < buffers.length; i++)
+			buffers[i] = ByteBuffer.allocateDirect(chunkBytes(width, height, i));
+
+		return buffers;
+	}
+
+	/**
+	 * Returns a detached copy of this storage, also outside of the heap.
+	 */
+	@Override
+	public OffHeapDoubleStorage copy() {
+		final OffHeapDoubleStorage copy = new OffHeapDoubleStorage(getWidth(), getHeight());
+		copyTo(copy);
+
+		return copy;
+	}
+
+}
@@ -0,0 +1,140 @@
+package com.timofriedl.linalg.doublematrix.storage;
+
+import java.util.Arrays;
+
+import com.timofriedl.linalg.doublevector.DoubleVector;
+
+/**
+ * Stores all numbers in one contiguous <code>double</code> array, row after
+ * row. The whole matrix is a single allocation and can be copied with a single
+ * {@link System#arraycopy(Object, int, Object, int, int)} call.
+ * 
+ * @author Timo Friedl
+ */
+public class RowMajorDoubleStorage extends DoubleStorage {
+
+	/**
+	 * the numbers of this storage
+	 * 
+	 * format: [y * width + x]
+	 */
+	private final double[] numbers;
+
+	/**
+	 * the number of columns
+	 */
+	private final int width;
+
+	/**
+	 * the number of rows
+	 */
+	private final int height;
+
+	/**
+	 * Creates a new storage filled with zeros.
+	 * 
+	 * @param width  the number of columns
+	 * @param height the number of rows
+	 */
+	public RowMajorDoubleStorage(int width, int height) {
+		if (width < 0 || height < 0)
+			throw new IllegalArgumentException("Storage size must not be negative.");
+
+		this.numbers = new double[Math.multiplyExact(width, height)];
+		this.width = width;
+		this.height = height;
+	}
+
+	/**
+	 * Creates a new storage with the given numbers.
+	 * 
+	 * Array is called by reference!
+	 * 
+	 * @param numbers the numbers, format: [y * width + x]
+	 * @param width   the number of columns
+	 * @param height  the number of rows
+	 */
+	public RowMajorDoubleStorage(double[] numbers, int width, int height) {
+		if (width < 0 || height < 0)
+			throw new IllegalArgumentException("Storage size must not be negative.");
+		if (numbers.length != (long) width * height)
+			throw new IllegalArgumentException("The number array does not match the storage size.");
+
+		this.numbers = numbers;
+		this.width = width;
+		this.height = height;
+	}
+
+	@Override
+	public int getWidth() {
+		return width;
+	}
+
+	@Override
+	public int getHeight() {
+		return height;
+	}
+
+	@Override
+	public double get(int x, int y) {
+		return numbers[y * width + x];
+	}
+
+	@Override
+	public void set(int x, int y, double value) {
+		numbers[y * width + x] = value;
+	}
+
+	@Override
+	public RowMajorDoubleStorage copy() {
+		return new RowMajorDoubleStorage(Arrays.copyOf(numbers, numbers.length), width, height);
+	}
+
+	@Override
+	public double[] rowArray(int y) {
+		return numbers;
+	}
+
+	@Override
+	public double[] backingArray() {
+		return numbers;
+	}
+
+	@Override
+	public int rowOffset(int y) {
+		return y * width;
+	}
+
+	@Override
+	public void copyRowTo(int y, int x, int length, double[] destination, int destinationOffset) {
+		System.arraycopy(numbers, y * width + x, destination, destinationOffset, length);
+	}
+
+	@Override
+	public void pasteRow(int y, int x, int length, double[] source, int sourceOffset) {
+		System.arraycopy(source, sourceOffset, numbers, y * width + x, length);
+	}
+
+	@Override
+	public DoubleVector rowVector(int y) {
+		return new DoubleVector(numbers, y * width, 1, width);
+	}
+
+	@Override
+	public DoubleVector columnVector(int x) {
+		return new DoubleVector(numbers, x, width, height);
+	}
+
+	@Override
+	public void swapRows(int firstY, int secondY) {
+		final int first = firstY * width;
+		final int second = secondY * width;
+
+		for (int x = 0; x < width; x++) {
+			final double tmp = numbers[first + x];
+			numbers[first + x] = numbers[second + x];
+			numbers[second + x] = tmp;
+		}
+	}
+
+}
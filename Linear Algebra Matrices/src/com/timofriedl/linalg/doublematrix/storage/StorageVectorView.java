@@ -0,0 +1,85 @@
+package com.timofriedl.linalg.doublematrix.storage;
+
+import com.timofriedl.linalg.doublevector.DoubleVector;
+
+/**
+ * A {@link DoubleVector} that reads and writes a part of a row or column of a
+ * {@link DoubleStorage} through its <code>get</code> and <code>set</code>
+ * methods. Used for storages that cannot describe the row or column as a
+ * strided array.
+ * 
+ * @author Timo Friedl
+ */
+class StorageVectorView extends DoubleVector {
+
+	/**
+	 * the storage containing the values
+	 */
+	private final DoubleStorage storage;
+
+	/**
+	 * the number of the row or column
+	 */
+	private final int index;
+
+	/**
+	 * true for a row, false for a column
+	 */
+	private final boolean row;
+
+	/**
+	 * the first position in the row or column
+	 */
+	private final int from;
+
+	/**
+	 * the number of values
+	 */
+	private final int length;
+
+	/**
+	 * Creates a new view onto a part of a row or column.
+	 * 
+	 * @param storage the storage containing the values
+	 * @param index   the number of the row or column
+	 * @param row     true for a row, false for a column
+	 * @param from    the first position in the row or column
+	 * @param length  the number of values
+	 */
+	StorageVectorView(DoubleStorage storage, int index, boolean row, int from, int length) {
+		this.storage = storage;
+		this.index = index;
+		this.row = row;
+		this.from = from;
+		this.length = length;
+	}
+
+	@Override
+	public int size() {
+		return length;
+	}
+
+	@Override
+	public double get(int position) {
+		checkPosition(position);
+		return row ? storage.get(from + position, index) : storage.get(index, from + position);
+	}
+
+	@Override
+	public void set(int position, double value) {
+		checkPosition(position);
+		if (row)
+			storage.set(from + position, index, value);
+		else
+			storage.set(index, from + position, value);
+	}
+
+	@Override
+	public DoubleVector subVector(int from, int length) {
+		if (from < 0 || length < 0 || from + length > size())
+			throw new IllegalArgumentException("The sub vector does not match the DoubleVector bounds.");
+
+		return new StorageVectorView(storage, index, row, this.from + from, length);
+	}
+
+}
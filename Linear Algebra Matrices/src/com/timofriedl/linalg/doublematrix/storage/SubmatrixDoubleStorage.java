@@ -0,0 +1,133 @@
+package com.timofriedl.linalg.doublematrix.storage;
+
+import com.timofriedl.linalg.doublevector.DoubleVector;
+
+/**
+ * A view onto a rectangular area of another {@link DoubleStorage}. All values
+ * are read from and written to the parent storage without copying them.
+ * 
+ * @author Timo Friedl
+ */
+public class SubmatrixDoubleStorage extends DoubleStorage {
+
+	/**
+	 * the storage containing the values
+	 */
+	private final DoubleStorage parent;
+
+	/**
+	 * the position of this area in the parent storage
+	 */
+	private final int x, y;
+
+	/**
+	 * the size of this area
+	 */
+	private final int width, height;
+
+	/**
+	 * Creates a new view onto an area of a given storage, failing if the area is
+	 * not completely contained by the parent storage.
+	 * 
+	 * @param parent the storage containing the values
+	 * @param x      the x value of the start position of the area
+	 * @param y      the y value of the start position of the area
+	 * @param width  the width of the area
+	 * @param height the height of the area
+	 */
+	public SubmatrixDoubleStorage(DoubleStorage parent, int x, int y, int width, int height) {
+		if (x < 0 || y < 0 || width < 0 || height < 0 || x + width > parent.getWidth()
+				|| y + height > parent.getHeight())
+			throw new IllegalArgumentException("The given area does not match the bounds of the parent storage.");
+
+		this.parent = parent;
+		this.x = x;
+		this.y = y;
+		this.width = width;
+		this.height = height;
+	}
+
+	@Override
+	public int getWidth() {
+		return width;
+	}
+
+	@Override
+	public int getHeight() {
+		return height;
+	}
+
+	@Override
+	public double get(int x, int y) {
+		checkPosition(x, y);
+		return parent.get(this.x + x, this.y + y);
+	}
+
+	@Override
+	public void set(int x, int y, double value) {
+		checkPosition(x, y);
+		parent.set(this.x + x, this.y + y, value);
+	}
+
+	/**
+	 * Fails if a position is outside of this view, so that it never reads or
+	 * writes values of the parent storage outside of the viewed area.
+	 * 
+	 * @param x the x value of the position
+	 * @param y the y value of the position
+	 */
+	private void checkPosition(int x, int y) {
+		if (x < 0 || y < 0 || x >= width || y >= height)
+			throw new IndexOutOfBoundsException("The position (" + x + ", " + y + ") is outside of the " + width
+					+ " x " + height + " view.");
+	}
+
+	/**
+	 * Returns a detached copy of the values of this view.
+	 */
+	@Override
+	public RowMajorDoubleStorage copy() {
+		final RowMajorDoubleStorage copy = new RowMajorDoubleStorage(width, height);
+
+		for (int py = 0; py < height; py++)
+			parent.copyRowTo(y + py, x, width, copy.rowArray(py), copy.rowOffset(py));
+
+		return copy;
+	}
+
+	@Override
+	public double[] backingArray() {
+		return parent.backingArray();
+	}
+
+	@Override
+	public double[] rowArray(int y) {
+		return parent.rowArray(this.y + y);
+	}
+
+	@Override
+	public int rowOffset(int y) {
+		return parent.rowOffset(this.y + y) + x;
+	}
+
+	@Override
+	public void copyRowTo(int y, int x, int length, double[] destination, int destinationOffset) {
+		parent.copyRowTo(this.y + y, this.x + x, length, destination, destinationOffset);
+	}
+
+	@Override
+	public void pasteRow(int y, int x, int length, double[] source, int sourceOffset) {
+		parent.pasteRow(this.y + y, this.x + x, length, source, sourceOffset);
+	}
+
+	@Override
+	public DoubleVector rowVector(int y) {
+		return parent.rowVector(this.y + y).subVector(x, width);
+	}
+
+	@Override
+	public DoubleVector columnVector(int x) {
+		return parent.columnVector(this.x + x).subVector(y, height);
+	}
+
+}
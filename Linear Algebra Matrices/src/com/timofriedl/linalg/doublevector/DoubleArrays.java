@@ -0,0 +1,114 @@
+package com.timofriedl.linalg.doublevector;
+
+/**
+ * Contains the element wise kernels shared by {@link DoubleVector} and the
+ * matrix algorithms. All kernels work on contiguous parts of
+ * <code>double</code> arrays.
+ * 
+ * The loops are written so that the JIT compiler can vectorize them: no calls,
+ * no branches and only one induction variable per loop. Reductions keep four
+ * independent partial sums, so they are not limited by the latency of a single
+ * chain of additions.
+ * 
+ * @author Timo Friedl
+ */
+public final class DoubleArrays {
+
+	private DoubleArrays() {
+	}
+
+	/**
+	 * Calculates the scalar product of two array parts.
+	 * 
+	 * @param a       the first array
+	 * @param aOffset the first position in <code>a</code>
+	 * @param b       the second array
+	 * @param bOffset the first position in <code>b</code>
+	 * @param length  the number of values
+	 * @return the sum of all products
+	 */
+	public static double dot(double[] a, int aOffset, double[] b, int bOffset, int length) {
+		double s0 = 0, s1 = 0, s2 = 0, s3 = 0;
+		int i = 0;
+
+		for (; i <= length - 4; i += 4) {
+			s0 += a[aOffset + i] * b[bOffset + i];
+			s1 += a[aOffset + i + 1] * b[bOffset + i + 1];
+			s2 += a[aOffset + i + 2] * b[bOffset + i + 2];
+			s3 += a[aOffset + i + 3] * b[bOffset + i + 3];
+		}
+
+		for (; i < length; i++)
+			s0 += a[aOffset + i] * b[bOffset + i];
+
+		return (s0 + s1) + (s2 + s3);
+	}
+
+	/**
+	 * Calculates the sum of an array part.
+	 * 
+	 * @param a       the array
+	 * @param aOffset the first position in <code>a</code>
+	 * @param length  the number of values
+	 * @return the sum of all values
+	 */
+	public static double sum(double[] a, int aOffset, int length) {
+		double s0 = 0, s1 = 0, s2 = 0, s3 = 0;
+		int i = 0;
+
+		for (; i <= length - 4; i += 4) {
+			s0 += a[aOffset + i];
+			s1 += a[aOffset + i + 1];
+			s2 += a[aOffset + i + 2];
+			s3 += a[aOffset + i + 3];
+		}
+
+		for (; i < length; i++)
+			s0 += a[aOffset + i];
+
+		return (s0 + s1) + (s2 + s3);
+	}
+
+	/**
+	 * Adds a multiple of an array part to another one: y += alpha * x.
+	 * 
+	 * @param alpha   the factor to scale <code>x</code> with
+	 * @param x       the array to add
+	 * @param xOffset the first position in <code>x</code>
+	 * @param y       the array to change
+	 * @param yOffset the first position in <code>y</code>
+	 * @param length  the number of values
+	 */
+	public static void axpy(double alpha, double[] x, int xOffset, double[] y, int yOffset, int length) {
+		for (int i = 0; i < length; i++)
+			y[yOffset + i] += alpha * x[xOffset + i];
+	}
+
+	/**
+	 * Adds an array part to another one: y += x.
+	 * 
+	 * @param x       the array to add
+	 * @param xOffset the first position in <code>x</code>
+	 * @param y       the array to change
+	 * @param yOffset the first position in <code>y</code>
+	 * @param length  the number of values
+	 */
+	public static void add(double[] x, int xOffset, double[] y, int yOffset, int length) {
+		for (int i = 0; i < length; i++)
+			y[yOffset + i] += x[xOffset + i];
+	}
+
+	/**
+	 * Scales an array part with a given factor: x *= alpha.
+	 * 
+	 * @param alpha   the scaling factor
+	 * @param x       the array to change
+	 * @param xOffset the first position in <code>x</code>
+	 * @param length  the number of values
+	 */
+	public static void scale(double alpha, double[] x, int xOffset, int length) {
+		for (int i = 0; i < length; i++)
+			x[xOffset + i] *= alpha;
+	}
+
+}
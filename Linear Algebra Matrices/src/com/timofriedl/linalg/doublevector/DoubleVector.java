@@ -1,19 +1,35 @@
 package com.timofriedl.linalg.doublevector;
 
-import java.util.Arrays;
-
 /**
  * Represents a vector of <code>double</code> values.
  * 
+ * The values can be a strided part of a larger array, so a vector can be a
+ * view onto a row or column of a matrix without copying it.
+ * 
  * @author Timo Friedl
  */
 public class DoubleVector {
 
 	/**
-	 * the numbers stored in this vector
+	 * the array containing the numbers of this vector
 	 */
 	private final double[] numbers;
 
+	/**
+	 * the position of the first number in <code>numbers</code>
+	 */
+	private final int offset;
+
+	/**
+	 * the distance between two neighbouring numbers in <code>numbers</code>
+	 */
+	private final int stride;
+
+	/**
+	 * the number of dimensions of this vector
+	 */
+	private final int size;
+
 	/**
 	 * Creates a new zero vector instance.
 	 */
@@ -21,7 +37,10 @@ public class DoubleVector {
 		if (size < 0)
 			throw new IllegalArgumentException("DoubleVector size must not be negative.");
 
-		numbers = new double[size];
+		this.numbers = new double[size];
+		this.offset = 0;
+		this.stride = 1;
+		this.size = size;
 	}
 
 	/**
@@ -32,7 +51,42 @@ public class DoubleVector {
 	 * @param numbers the <code>double</code> values for this vector
 	 */
 	public DoubleVector(double[] numbers) {
+		this(numbers, 0, 1, numbers.length);
+	}
+
+	/**
+	 * Creates a new vector instance that reads and writes every
+	 * <code>stride</code>-th value of an array, starting at a given offset.
+	 * 
+	 * Array is called by reference!
+	 * 
+	 * @param numbers the array containing the values for this vector
+	 * @param offset  the position of the first value
+	 * @param stride  the distance between two neighbouring values
+	 * @param size    the number of values
+	 */
+	public DoubleVector(double[] numbers, int offset, int stride, int size) {
+		if (size < 0)
+			throw new IllegalArgumentException("DoubleVector size must not be negative.");
+		if (size > 0 && (offset < 0 || stride < 1 || offset + (long) (size - 1) * stride >= numbers.length))
+			throw new IllegalArgumentException("The DoubleVector bounds do not match the array bounds.");
+
 		this.numbers = numbers;
+		this.offset = offset;
+		this.stride = stride;
+		this.size = size;
+	}
+
+	/**
+	 * Creates a new vector instance without an array. Sub classes must override
+	 * {@link #size()}, {@link #get(int)}, {@link #set(int, double)} and
+	 * {@link #subVector(int, int)}.
+	 */
+	protected DoubleVector() {
+		this.numbers = null;
+		this.offset = 0;
+		this.stride = 0;
+		this.size = 0;
 	}
 
 	/**
@@ -45,8 +99,48 @@ public class DoubleVector {
 		if (toAdd.size() != size())
 			throw new IllegalArgumentException("DoubleVector sizes must be equal when adding them.");
 
-		for (int i = 0; i < size(); i++)
-			numbers[i] += toAdd.numbers[i];
+		if (isContiguous() && toAdd.isContiguous())
+			DoubleArrays.add(toAdd.numbers, toAdd.offset, numbers, offset, size);
+		else
+			for (int i = 0; i < size(); i++)
+				set(i, get(i) + toAdd.get(i));
+	}
+
+	/**
+	 * Adds a multiple of a second {@link DoubleVector} to the values of
+	 * <code>this</code>: this += alpha * x.
+	 * 
+	 * @param alpha the factor to scale <code>x</code> with
+	 * @param x     the vector to add
+	 */
+	public void axpy(double alpha, DoubleVector x) {
+		if (x.size() != size())
+			throw new IllegalArgumentException("DoubleVector sizes must be equal when adding them.");
+
+		if (isContiguous() && x.isContiguous())
+			DoubleArrays.axpy(alpha, x.numbers, x.offset, numbers, offset, size);
+		else
+			for (int i = 0; i < size(); i++)
+				set(i, get(i) + alpha * x.get(i));
+	}
+
+	/**
+	 * Adds a multiple of a contiguous part of an array, e.g. a row of a matrix, to
+	 * the values of <code>this</code>.
+	 * 
+	 * @param alpha       the factor to scale the array part with
+	 * @param array       the array containing the values to add
+	 * @param arrayOffset the position of the first value in <code>array</code>
+	 */
+	public void axpy(double alpha, double[] array, int arrayOffset) {
+		if (arrayOffset < 0 || arrayOffset + size() > array.length)
+			throw new IllegalArgumentException("The array part does not match the DoubleVector size.");
+
+		if (isContiguous())
+			DoubleArrays.axpy(alpha, array, arrayOffset, numbers, offset, size);
+		else
+			for (int i = 0; i < size(); i++)
+				set(i, get(i) + alpha * array[arrayOffset + i]);
 	}
 
 	/**
@@ -55,8 +149,11 @@ public class DoubleVector {
 	 * @param factor the scaling factor
 	 */
 	public void scale(double factor) {
-		for (int i = 0; i < size(); i++)
-			numbers[i] *= factor;
+		if (isContiguous())
+			DoubleArrays.scale(factor, numbers, offset, size);
+		else
+			for (int i = 0; i < size(); i++)
+				set(i, get(i) * factor);
 	}
 
 	/**
@@ -70,6 +167,9 @@ public class DoubleVector {
 			throw new IllegalArgumentException(
 					"DoubleVectors must have the same size when calculating the scalar product.");
 
+		if (isContiguous() && v2.isContiguous())
+			return DoubleArrays.dot(numbers, offset, v2.numbers, v2.offset, size);
+
 		double sum = 0;
 		for (int i = 0; i < size(); i++)
 			sum += get(i) * v2.get(i);
@@ -77,12 +177,37 @@ public class DoubleVector {
 		return sum;
 	}
 
+	/**
+	 * Sums up the scalar product with a contiguous part of an array, e.g. a row of
+	 * a matrix.
+	 * 
+	 * @param array       the array containing the second vector
+	 * @param arrayOffset the position of the first value in <code>array</code>
+	 * @return the calculated scalar product value
+	 */
+	public double scalarProduct(double[] array, int arrayOffset) {
+		if (arrayOffset < 0 || arrayOffset + size() > array.length)
+			throw new IllegalArgumentException("The array part does not match the DoubleVector size.");
+
+		if (isContiguous())
+			return DoubleArrays.dot(numbers, offset, array, arrayOffset, size);
+
+		double sum = 0;
+		for (int i = 0; i < size(); i++)
+			sum += get(i) * array[arrayOffset + i];
+
+		return sum;
+	}
+
 	/**
 	 * Calculates the sum of all values in this {@link DoubleVector}.
 	 * 
 	 * @return the calculated sum
 	 */
 	public double sum() {
+		if (isContiguous())
+			return DoubleArrays.sum(numbers, offset, size);
+
 		double sum = 0;
 
 		for (int i = 0; i < size(); i++)
@@ -92,11 +217,43 @@ public class DoubleVector {
 	}
 
 	/**
-	 * Returns a copy of this {@link DoubleVector}.
+	 * Returns a view onto a part of this {@link DoubleVector}. Changes of the view
+	 * are written through to this vector.
+	 * 
+	 * @param from   the first position of the part
+	 * @param length the number of values of the part
+	 * @return the view onto this part
+	 */
+	public DoubleVector subVector(int from, int length) {
+		if (from < 0 || length < 0 || from + length > size())
+			throw new IllegalArgumentException("The sub vector does not match the DoubleVector bounds.");
+
+		return new DoubleVector(numbers, offset + from * stride, stride, length);
+	}
+
+	/**
+	 * Returns a detached copy of this {@link DoubleVector}, also if this vector is
+	 * a view onto another one.
 	 */
 	@Override
 	public DoubleVector clone() {
-		return new DoubleVector(Arrays.copyOf(numbers, size()));
+		final double[] copy = new double[size()];
+
+		for (int i = 0; i < copy.length; i++)
+			copy[i] = get(i);
+
+		return new DoubleVector(copy);
+	}
+
+	/**
+	 * Returns a detached copy of this {@link DoubleVector}. Changes of the copy are
+	 * never written through to a viewed matrix or vector.
+	 * 
+	 * @return the detached copy
+	 * @see #clone()
+	 */
+	public DoubleVector toCopy() {
+		return clone();
 	}
 	
 	/**
@@ -125,13 +282,23 @@ public class DoubleVector {
 		System.out.println();
 	}
 
+	/**
+	 * Checks if the values of this {@link DoubleVector} are stored next to each
+	 * other in an array, so the kernels of {@link DoubleArrays} can be used.
+	 * 
+	 * @return true if this vector has an array with a stride of one
+	 */
+	private boolean isContiguous() {
+		return numbers != null && stride == 1;
+	}
+
 	/**
 	 * Returns the number of dimensions of this {@link DoubleVector}.
 	 * 
 	 * @return the size of this vector
 	 */
 	public int size() {
-		return numbers.length;
+		return size;
 	}
 
 	/**
@@ -139,9 +306,11 @@ public class DoubleVector {
 	 * 
 	 * @param position the value position
 	 * @return the value at this position
+	 * @throws IndexOutOfBoundsException if the position is outside of this vector
 	 */
 	public double get(int position) {
-		return numbers[position];
+		checkPosition(position);
+		return numbers[offset + position * stride];
 	}
 
 	/**
@@ -149,9 +318,23 @@ public class DoubleVector {
 	 * 
 	 * @param position the position to set the value
 	 * @param value    the new value
+	 * @throws IndexOutOfBoundsException if the position is outside of this vector
 	 */
 	public void set(int position, double value) {
-		numbers[position] = value;
+		checkPosition(position);
+		numbers[offset + position * stride] = value;
+	}
+
+	/**
+	 * Fails if a position is outside of this {@link DoubleVector}, so that a view
+	 * never reads or writes values of the underlying array outside of its window.
+	 * 
+	 * @param position the position to check
+	 */
+	protected void checkPosition(int position) {
+		if (position < 0 || position >= size())
+			throw new IndexOutOfBoundsException(
+					"The position " + position + " is outside of the vector of size " + size() + ".");
 	}
 
 }
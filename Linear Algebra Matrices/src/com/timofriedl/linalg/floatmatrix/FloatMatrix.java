@@ -0,0 +1,549 @@
+package com.timofriedl.linalg.floatmatrix;
+
+import com.timofriedl.linalg.doublematrix.DoubleMatrix;
+import com.timofriedl.linalg.doublematrix.storage.DoubleStorage;
+import com.timofriedl.linalg.floatvector.FloatArrays;
+import com.timofriedl.linalg.floatvector.FloatVector;
+
+/**
+ * Represents a table of <code>float</code> values with a given width and
+ * height, the single precision counterpart of {@link DoubleMatrix}.
+ * 
+ * Needs half the memory and memory bandwidth of a {@link DoubleMatrix}, which
+ * makes most operations on big matrices about twice as fast, at the cost of
+ * about seven instead of sixteen significant digits. The values are stored row
+ * after row in one contiguous array.
+ * 
+ * @author Timo Friedl
+ */
+public class FloatMatrix {
+
+	/**
+	 * the side length of the square blocks used when transposing
+	 */
+	private static final int TRANSPOSE_BLOCK_SIZE = 32;
+
+	/**
+	 * the number of rows of <code>B</code> multiplied at once, so that a block of
+	 * <code>B</code> stays in the cache while it is used for all rows of
+	 * <code>A</code>
+	 */
+	private static final int MULTIPLY_BLOCK_ROWS = 128;
+
+	/**
+	 * the number of columns of <code>B</code> multiplied at once
+	 */
+	private static final int MULTIPLY_BLOCK_COLUMNS = 512;
+
+	/**
+	 * the numbers of this matrix, format: [y * width + x]
+	 */
+	private final float[] numbers;
+
+	/**
+	 * the size of this matrix
+	 */
+	private final int width, height;
+
+	/**
+	 * Creates the zero matrix with a given size.
+	 * 
+	 * @param width  the width of this matrix
+	 * @param height the height of this matrix
+	 */
+	public FloatMatrix(int width, int height) {
+		if (width < 0 || height < 0)
+			throw new IllegalArgumentException("Matrix size must not be negative.");
+
+		this.numbers = new float[Math.multiplyExact(width, height)];
+		this.width = width;
+		this.height = height;
+	}
+
+	/**
+	 * Creates a matrix with the given numbers.
+	 * 
+	 * Array is called by reference!
+	 * 
+	 * @param numbers the numbers contained by the matrix, format: [y * width + x]
+	 * @param width   the width of this matrix
+	 * @param height  the height of this matrix
+	 */
+	public FloatMatrix(float[] numbers, int width, int height) {
+		if (width < 0 || height < 0)
+			throw new IllegalArgumentException("Matrix size must not be negative.");
+		if (numbers.length != (long) width * height)
+			throw new IllegalArgumentException("The number array does not match the matrix size.");
+
+		this.numbers = numbers;
+		this.width = width;
+		this.height = height;
+	}
+
+	/**
+	 * Creates the identity matrix with the given size.
+	 * 
+	 * @param size the width and height of this identity matrix
+	 * @return the created identity matrix
+	 */
+	public static FloatMatrix identity(int size) {
+		if (size < 0)
+			throw new IllegalArgumentException("The size of the identity matrix must not be negative.");
+
+		final FloatMatrix identity = new FloatMatrix(size, size);
+
+		for (int x = 0; x < size; x++)
+			identity.set(x, x, 1.0f);
+
+		return identity;
+	}
+
+	/**
+	 * Converts a {@link DoubleMatrix} to the nearest <code>float</code> values.
+	 * 
+	 * @param matrix the matrix to convert
+	 * @return a new matrix with the converted values
+	 */
+	public static FloatMatrix fromDouble(DoubleMatrix matrix) {
+		final int width = matrix.getWidth();
+		final FloatMatrix result = new FloatMatrix(width, matrix.getHeight());
+		final DoubleStorage storage = matrix.getStorage();
+		double[] buffer = null;
+
+		for (int y = 0; y < result.height; y++) {
+			double[] row = storage.rowArray(y);
+			int offset = storage.rowOffset(y);
+
+			if (row == null) {
+				if (buffer == null)
+					buffer = new double[width];
+
+				storage.copyRowTo(y, 0, width, buffer, 0);
+				row = buffer;
+				offset = 0;
+			}
+
+			FloatArrays.toFloat(row, offset, result.numbers, y * width, width);
+		}
+
+		return result;
+	}
+
+	/**
+	 * Converts this matrix to a {@link DoubleMatrix}. No precision is lost.
+	 * 
+	 * @return a new matrix with the converted values
+	 */
+	public DoubleMatrix toDoubleMatrix() {
+		final DoubleMatrix result = new DoubleMatrix(width, height);
+		final DoubleStorage storage = result.getStorage();
+
+		for (int y = 0; y < height; y++)
+			FloatArrays.toDouble(numbers, y * width, storage.rowArray(y), storage.rowOffset(y), width);
+
+		return result;
+	}
+
+	/**
+	 * Adds the values of a second {@link FloatMatrix} with the same bounds to
+	 * this.
+	 * 
+	 * @param toAdd the matrix to add
+	 */
+	public void add(FloatMatrix toAdd) {
+		if (toAdd.width != width || toAdd.height != height)
+			throw new IllegalArgumentException("Matrices must have same size when adding them.");
+
+		FloatArrays.add(toAdd.numbers, 0, numbers, 0, numbers.length);
+	}
+
+	/**
+	 * Adds a multiple of a second {@link FloatMatrix} with the same bounds to
+	 * this: this += alpha * X.
+	 * 
+	 * @param alpha the factor to scale <code>X</code> with
+	 * @param X     the matrix to add
+	 */
+	public void axpy(float alpha, FloatMatrix X) {
+		if (X.width != width || X.height != height)
+			throw new IllegalArgumentException("Matrices must have same size when adding them.");
+
+		FloatArrays.axpy(alpha, X.numbers, 0, numbers, 0, numbers.length);
+	}
+
+	/**
+	 * Calculates the matrix multiplication with a second {@link FloatMatrix}.
+	 * 
+	 * Every row of the result is accumulated from scaled rows of <code>B</code>,
+	 * so all inner loops run over contiguous rows. <code>B</code> is processed in
+	 * blocks of {@value #MULTIPLY_BLOCK_ROWS} x {@value #MULTIPLY_BLOCK_COLUMNS}
+	 * values, which stay in the cache while they are used for all rows of
+	 * <code>this</code>.
+	 * 
+	 * <code>B</code> must be as tall as <code>this</code> is wide.
+	 * 
+	 * @param B the second matrix to multiply
+	 * @return the result of the multiplication
+	 */
+	public FloatMatrix multiply(FloatMatrix B) {
+		if (B.height != width)
+			throw new IllegalArgumentException("The second matrix must be as tall as the first one is wide.");
+
+		final int n = B.width;
+		final FloatMatrix C = new FloatMatrix(n, height);
+
+		for (int blockX = 0; blockX < n; blockX += MULTIPLY_BLOCK_COLUMNS) {
+			final int blockWidth = Math.min(MULTIPLY_BLOCK_COLUMNS, n - blockX);
+
+			for (int blockK = 0; blockK < width; blockK += MULTIPLY_BLOCK_ROWS) {
+				final int endK = Math.min(blockK + MULTIPLY_BLOCK_ROWS, width);
+
+				for (int y = 0; y < height; y++) {
+					final int aRow = y * width;
+					final int cOffset = y * n + blockX;
+
+					for (int k = blockK; k < endK; k++)
+						FloatArrays.axpy(numbers[aRow + k], B.numbers, k * n + blockX, C.numbers, cOffset, blockWidth);
+				}
+			}
+		}
+
+		return C;
+	}
+
+	/**
+	 * Calculates the product of this matrix and a {@link FloatVector}, summing up
+	 * every row in <code>float</code> precision.
+	 * 
+	 * @param x the vector to multiply, as big as <code>this</code> is wide
+	 * @return the result vector, as big as <code>this</code> is tall
+	 */
+	public FloatVector multiply(FloatVector x) {
+		if (x.size() != width)
+			throw new IllegalArgumentException("The vector must be as big as the matrix is wide.");
+
+		final FloatVector result = new FloatVector(height);
+
+		for (int y = 0; y < height; y++)
+			result.set(y, x.scalarProduct(numbers, y * width));
+
+		return result;
+	}
+
+	/**
+	 * Scales all numbers of a given row of this {@link FloatMatrix} with a given
+	 * factor.
+	 * 
+	 * @param rowNr  the y position
+	 * @param factor the scaling factor
+	 */
+	public void scaleRow(int rowNr, float factor) {
+		if (rowNr < 0 || rowNr >= height)
+			throw new IllegalArgumentException("The row " + rowNr + " cannot be scaled, it's outside of this matrix.");
+
+		FloatArrays.scale(factor, numbers, rowNr * width, width);
+	}
+
+	/**
+	 * Scales all numbers of a given column of this {@link FloatMatrix} with a
+	 * given factor.
+	 * 
+	 * @param columnNr the x position
+	 * @param factor   the scaling factor
+	 */
+	public void scaleColumn(int columnNr, float factor) {
+		if (columnNr < 0 || columnNr >= width)
+			throw new IllegalArgumentException(
+					"The column " + columnNr + " cannot be scaled, it's outside of this matrix.");
+
+		for (int y = 0; y < height; y++)
+			numbers[y * width + columnNr] *= factor;
+	}
+
+	/**
+	 * Scales all numbers of this {@link FloatMatrix} with the given factor.
+	 * 
+	 * @param factor the scaling factor
+	 */
+	public void scale(float factor) {
+		FloatArrays.scale(factor, numbers, 0, numbers.length);
+	}
+
+	/**
+	 * Copies an area of this matrix to another {@link FloatMatrix} instance,
+	 * failing if the given area is not completely contained by this matrix.
+	 * 
+	 * @param x      the x value of the start position for the copy
+	 * @param y      the y value of the start position for the copy
+	 * @param width  the width of the area to copy
+	 * @param height the height of the area to copy
+	 * @return the copied area of this matrix
+	 */
+	public FloatMatrix copy(int x, int y, int width, int height) {
+		if (x < 0 || y < 0 || width < 0 || height < 0 || x + width > this.width || y + height > this.height)
+			throw new IllegalArgumentException("The given area does not match the bounds of the matrix to copy.");
+
+		final FloatMatrix copy = new FloatMatrix(width, height);
+
+		for (int py = 0; py < height; py++)
+			System.arraycopy(numbers, (y + py) * this.width + x, copy.numbers, py * width, width);
+
+		return copy;
+	}
+
+	/**
+	 * Returns a copy of this {@link FloatMatrix} with the same bounds and
+	 * content.
+	 */
+	@Override
+	public FloatMatrix clone() {
+		return new FloatMatrix(numbers.clone(), width, height);
+	}
+
+	/**
+	 * Filles this {@link FloatMatrix} at a given offset with the numbers of a
+	 * second matrix, failing if this matrix is too small.
+	 * 
+	 * @param toPaste the matrix to paste in this matrix
+	 * @param x       the x offset
+	 * @param y       the y offset
+	 */
+	public void paste(FloatMatrix toPaste, int x, int y) {
+		if (x < 0 || y < 0 || x + toPaste.width > width || y + toPaste.height > height)
+			throw new IllegalArgumentException("The bounds of the matrix to paste are outside of this matrix.");
+
+		for (int py = 0; py < toPaste.height; py++)
+			System.arraycopy(toPaste.numbers, py * toPaste.width, numbers, (y + py) * width + x, toPaste.width);
+	}
+
+	/**
+	 * Pastes a {@link FloatVector} as a row into this {@link FloatMatrix}.
+	 * 
+	 * @param rowNr     the number of the row in this matrix to access
+	 * @param rowVector the vector to paste
+	 */
+	public void pasteRow(int rowNr, FloatVector rowVector) {
+		if (rowNr < 0 || rowNr >= height)
+			throw new IllegalArgumentException("The row " + rowNr + " does not match the matrix bounds.");
+		if (rowVector.size() != width)
+			throw new IllegalArgumentException("The row vector to paste does not match the matrix bounds.");
+
+		for (int x = 0; x < width; x++)
+			numbers[rowNr * width + x] = rowVector.get(x);
+	}
+
+	/**
+	 * Pastes a {@link FloatVector} as a column into this {@link FloatMatrix}.
+	 * 
+	 * @param columnNr     the number of the column in this matrix to access
+	 * @param columnVector the vector to paste
+	 */
+	public void pasteColumn(int columnNr, FloatVector columnVector) {
+		if (columnNr < 0 || columnNr >= width)
+			throw new IllegalArgumentException("The column " + columnNr + " does not match the matrix bounds.");
+		if (columnVector.size() != height)
+			throw new IllegalArgumentException("The column vector to paste does not match the matrix height.");
+
+		for (int y = 0; y < height; y++)
+			numbers[y * width + columnNr] = columnVector.get(y);
+	}
+
+	/**
+	 * Builds a new {@link FloatMatrix} with the content of this matrix,
+	 * concatenated with a second one that is on the right, failing if the heights
+	 * are different.
+	 * 
+	 * @param B the matrix to concatenate with this
+	 */
+	public FloatMatrix concatenate(FloatMatrix B) {
+		if (B.height != height)
+			throw new IllegalArgumentException("Matrices must have the same height when concatenating them.");
+
+		final FloatMatrix result = new FloatMatrix(width + B.width, height);
+		result.paste(this, 0, 0);
+		result.paste(B, width, 0);
+
+		return result;
+	}
+
+	/**
+	 * Returns a copy of this matrix where all entries are flipped diagonally.
+	 * 
+	 * The matrix is copied in square blocks of {@value #TRANSPOSE_BLOCK_SIZE}
+	 * values, so both the rows read and the rows written stay in the cache.
+	 * 
+	 * @return the transposed matrix
+	 */
+	public FloatMatrix transpose() {
+		final FloatMatrix result = new FloatMatrix(height, width);
+
+		for (int blockY = 0; blockY < height; blockY += TRANSPOSE_BLOCK_SIZE) {
+			final int endY = Math.min(blockY + TRANSPOSE_BLOCK_SIZE, height);
+
+			for (int blockX = 0; blockX < width; blockX += TRANSPOSE_BLOCK_SIZE) {
+				final int endX = Math.min(blockX + TRANSPOSE_BLOCK_SIZE, width);
+
+				for (int y = blockY; y < endY; y++)
+					for (int x = blockX; x < endX; x++)
+						result.numbers[x * height + y] = numbers[y * width + x];
+			}
+		}
+
+		return result;
+	}
+
+	/**
+	 * Prints this {@link FloatMatrix} to the console.
+	 */
+	public void print() {
+		for (int y = 0; y < height; y++) {
+			for (int x = 0; x < width; x++)
+				System.out.print(get(x, y) + "\t");
+			System.out.println();
+		}
+		System.out.println();
+	}
+
+	/**
+	 * Compares this {@link FloatMatrix} to another one.
+	 * 
+	 * @param o the {@link Object} to compare
+	 * @return true if the given object is a matrix with the same bounds and the
+	 *         float values are equal
+	 */
+	@Override
+	public boolean equals(Object o) {
+		if (!(o instanceof FloatMatrix))
+			return false;
+
+		final FloatMatrix B = (FloatMatrix) o;
+		if (B.width != width || B.height != height)
+			return false;
+
+		for (int i = 0; i < numbers.length; i++)
+			if (Float.floatToIntBits(numbers[i]) != Float.floatToIntBits(B.numbers[i]))
+				return false;
+
+		return true;
+	}
+
+	/**
+	 * Calculates a hash code from the same values as {@link #equals(Object)}.
+	 * 
+	 * @return the hash code of the bounds and the float values
+	 */
+	@Override
+	public int hashCode() {
+		int hash = 31 * width + height;
+
+		for (int i = 0; i < numbers.length; i++)
+			hash = 31 * hash + Float.floatToIntBits(numbers[i]);
+
+		return hash;
+	}
+
+	/**
+	 * Sets a value of this {@link FloatMatrix} at the given position.
+	 * 
+	 * @param x     the x coordinate of the position
+	 * @param y     the y coordinate of the position
+	 * @param value the value to set
+	 */
+	public void set(int x, int y, float value) {
+		numbers[y * width + x] = value;
+	}
+
+	/**
+	 * Returns the value of this {@link FloatMatrix} at the given position.
+	 * 
+	 * @param x the x coordinate of the position
+	 * @param y the y coordinate of the position
+	 * @return the value at this position
+	 */
+	public float get(int x, int y) {
+		return numbers[y * width + x];
+	}
+
+	/**
+	 * Returns a row of this {@link FloatMatrix} at a given row number as a
+	 * {@link FloatVector}.
+	 * 
+	 * @param rowNr the number of the row to copy
+	 * @return the selected row of this matrix as a vector
+	 * @see #rowView(int)
+	 */
+	public FloatVector getRow(int rowNr) {
+		return rowView(rowNr).clone();
+	}
+
+	/**
+	 * Returns a column of this {@link FloatMatrix} at a given column number as a
+	 * {@link FloatVector}.
+	 * 
+	 * @param columnNr the number of the column to copy
+	 * @return the selected column of this matrix as a vector
+	 * @see #columnView(int)
+	 */
+	public FloatVector getColumn(int columnNr) {
+		return columnView(columnNr).clone();
+	}
+
+	/**
+	 * Returns a view onto a row of this {@link FloatMatrix} without copying it.
+	 * Changes of the view are written through to this matrix.
+	 * 
+	 * @param rowNr the number of the row to view
+	 * @return the selected row of this matrix as a vector
+	 */
+	public FloatVector rowView(int rowNr) {
+		if (rowNr < 0 || rowNr >= height)
+			throw new IllegalArgumentException("The row " + rowNr + " does not match the matrix bounds.");
+
+		return new FloatVector(numbers, rowNr * width, 1, width);
+	}
+
+	/**
+	 * Returns a view onto a column of this {@link FloatMatrix} without copying
+	 * it. Changes of the view are written through to this matrix.
+	 * 
+	 * @param columnNr the number of the column to view
+	 * @return the selected column of this matrix as a vector
+	 */
+	public FloatVector columnView(int columnNr) {
+		if (columnNr < 0 || columnNr >= width)
+			throw new IllegalArgumentException("The column " + columnNr + " does not match the matrix bounds.");
+
+		return new FloatVector(numbers, columnNr, Math.max(width, 1), height);
+	}
+
+	/**
+	 * Checks if this {@link FloatMatrix} is equally wide and tall.
+	 * 
+	 * @return true if squared, false if rectangled
+	 */
+	public boolean isSquare() {
+		return width == height;
+	}
+
+	/**
+	 * @return the array containing the numbers of this matrix, format: [y *
+	 *         width + x]
+	 */
+	public float[] getNumbers() {
+		return numbers;
+	}
+
+	/**
+	 * @return the width of this {@link FloatMatrix}
+	 */
+	public int getWidth() {
+		return width;
+	}
+
+	/**
+	 * @return the height of this {@link FloatMatrix}
+	 */
+	public int getHeight() {
+		return height;
+	}
+}
@@ -0,0 +1,177 @@
+package com.timofriedl.linalg.floatvector;
+
+/**
+ * Contains the element wise kernels shared by {@link FloatVector} and the
+ * <code>float</code> matrices. All kernels work on contiguous parts of
+ * <code>float</code> arrays.
+ * 
+ * The loops are written like the ones of
+ * {@link com.timofriedl.linalg.doublevector.DoubleArrays}, so the JIT compiler
+ * can vectorize them. A vector register holds twice as many
+ * <code>float</code>s as <code>double</code>s, so these kernels process twice
+ * as many values per instruction and read half as many bytes.
+ * 
+ * @author Timo Friedl
+ */
+public final class FloatArrays {
+
+	private FloatArrays() {
+	}
+
+	/**
+	 * Calculates the scalar product of two array parts, summing up in
+	 * <code>float</code> precision.
+	 * 
+	 * @param a       the first array
+	 * @param aOffset the first position in <code>a</code>
+	 * @param b       the second array
+	 * @param bOffset the first position in <code>b</code>
+	 * @param length  the number of values
+	 * @return the sum of all products
+	 */
+	public static float dot(float[] a, int aOffset, float[] b, int bOffset, int length) {
+		float s0 = 0, s1 = 0, s2 = 0, s3 = 0;
+		int i = 0;
+
+		for (; i <= length - 4; i += 4) {
+			s0 += a[aOffset + i] * b[bOffset + i];
+			s1 += a[aOffset + i + 1] * b[bOffset + i + 1];
+			s2 += a[aOffset + i + 2] * b[bOffset + i + 2];
+			s3 += a[aOffset + i + 3] * b[bOffset + i + 3];
+		}
+
+		for (; i < length; i++)
+			s0 += a[aOffset + i] * b[bOffset + i];
+
+		return (s0 + s1) + (s2 + s3);
+	}
+
+	/**
+	 * Calculates the scalar product of two array parts, summing up in
+	 * <code>double</code> precision. Slower than
+	 * {@link #dot(float[], int, float[], int, int)}, but the rounding error does
+	 * not grow with the length like a <code>float</code> sum does.
+	 * 
+	 * @param a       the first array
+	 * @param aOffset the first position in <code>a</code>
+	 * @param b       the second array
+	 * @param bOffset the first position in <code>b</code>
+	 * @param length  the number of values
+	 * @return the sum of all products
+	 */
+	public static double dotDouble(float[] a, int aOffset, float[] b, int bOffset, int length) {
+		double s0 = 0, s1 = 0, s2 = 0, s3 = 0;
+		int i = 0;
+
+		for (; i <= length - 4; i += 4) {
+			s0 += (double) a[aOffset + i] * b[bOffset + i];
+			s1 += (double) a[aOffset + i + 1] * b[bOffset + i + 1];
+			s2 += (double) a[aOffset + i + 2] * b[bOffset + i + 2];
+			s3 += (double) a[aOffset + i + 3] * b[bOffset + i + 3];
+		}
+
+		for (; i < length; i++)
+			s0 += (double) a[aOffset + i] * b[bOffset + i];
+
+		return (s0 + s1) + (s2 + s3);
+	}
+
+	/**
+	 * Calculates the sum of an array part in <code>double</code> precision.
+	 * 
+	 * @param a       the array
+	 * @param aOffset the first position in <code>a</code>
+	 * @param length  the number of values
+	 * @return the sum of all values
+	 */
+	public static double sum(float[] a, int aOffset, int length) {
+		double s0 = 0, s1 = 0, s2 = 0, s3 = 0;
+		int i = 0;
+
+		for (; i <= length - 4; i += 4) {
+			s0 += a[aOffset + i];
+			s1 += a[aOffset + i + 1];
+			s2 += a[aOffset + i + 2];
+			s3 += a[aOffset + i + 3];
+		}
+
+		for (; i < length; i++)
+			s0 += a[aOffset + i];
+
+		return (s0 + s1) + (s2 + s3);
+	}
+
+	/**
+	 * Adds a multiple of an array part to another one: y += alpha * x.
+	 * 
+	 * @param alpha   the factor to scale <code>x</code> with
+	 * @param x       the array to add
+	 * @param xOffset the first position in <code>x</code>
+	 * @param y       the array to change
+	 * @param yOffset the first position in <code>y</code>
+	 * @param length  the number of values
+	 */
+	public static void axpy(float alpha, float[] x, int xOffset, float[] y, int yOffset, int length) {
+		for (int i = 0; i < length; i++)
+			y[yOffset + i] += alpha * x[xOffset + i];
+	}
+
+	/**
+	 * Adds an array part to another one: y += x.
+	 * 
+	 * @param x       the array to add
+	 * @param xOffset the first position in <code>x</code>
+	 * @param y       the array to change
+	 * @param yOffset the first position in <code>y</code>
+	 * @param length  the number of values
+	 */
+	public static void add(float[] x, int xOffset, float[] y, int yOffset, int length) {
+		for (int i = 0; i < length; i++)
+			y[yOffset + i] += x[xOffset + i];
+	}
+
+	/**
+	 * Scales an array part with a given factor: x *= alpha.
+	 * 
+	 * @param alpha   the scaling factor
+	 * @param x       the array to change
+	 * @param xOffset the first position in <code>x</code>
+	 * @param length  the number of values
+	 */
+	public static void scale(float alpha, float[] x, int xOffset, int length) {
+		for (int i = 0; i < length; i++)
+			x[xOffset + i] *= alpha;
+	}
+
+	/**
+	 * Converts an array part to <code>double</code> values.
+	 * 
+	 * @param source            the array to convert
+	 * @param sourceOffset      the first position in <code>source</code>
+	 * @param destination       the array to overwrite
+	 * @param destinationOffset the first position in <code>destination</code>
+	 * @param length            the number of values
+	 */
+	public static void toDouble(float[] source, int sourceOffset, double[] destination, int destinationOffset,
+			int length) {
+		for (int i = 0; i < length; i++)
+			destination[destinationOffset + i] = source[sourceOffset + i];
+	}
+
+	/**
+	 * Converts an array part of <code>double</code> values to the nearest
+	 * <code>float</code> values.
+	 * 
+	 * @param source            the array to convert
+	 * @param sourceOffset      the first position in <code>source</code>
+	 * @param destination       the array to overwrite
+	 * @param destinationOffset the first position in <code>destination</code>
+	 * @param length            the number of values
+	 */
+	public static void toFloat(double[] source, int sourceOffset, float[] destination, int destinationOffset,
+			int length) {
+		for (int i = 0; i < length; i++)
+			destination[destinationOffset + i] = (float) source[sourceOffset + i];
+	}
+
+}
@@ -0,0 +1,326 @@
+package com.timofriedl.linalg.floatvector;
+
+import com.timofriedl.linalg.doublevector.DoubleVector;
+
+/**
+ * Represents a vector of <code>float</code> values, the single precision
+ * counterpart of {@link DoubleVector}. Needs half the memory and memory
+ * bandwidth, at the cost of about seven instead of sixteen significant digits.
+ * 
+ * The values can be a strided part of a larger array, so a vector can be a
+ * view onto a row or column of a matrix without copying it.
+ * 
+ * @author Timo Friedl
+ */
+public class FloatVector {
+
+	/**
+	 * the array containing the numbers of this vector
+	 */
+	private final float[] numbers;
+
+	/**
+	 * the position of the first number in <code>numbers</code>
+	 */
+	private final int offset;
+
+	/**
+	 * the distance between two neighbouring numbers in <code>numbers</code>
+	 */
+	private final int stride;
+
+	/**
+	 * the number of dimensions of this vector
+	 */
+	private final int size;
+
+	/**
+	 * Creates a new zero vector instance.
+	 */
+	public FloatVector(int size) {
+		if (size < 0)
+			throw new IllegalArgumentException("FloatVector size must not be negative.");
+
+		this.numbers = new float[size];
+		this.offset = 0;
+		this.stride = 1;
+		this.size = size;
+	}
+
+	/**
+	 * Creates a new vector instance with the given values.
+	 * 
+	 * Array is called by reference!
+	 * 
+	 * @param numbers the <code>float</code> values for this vector
+	 */
+	public FloatVector(float[] numbers) {
+		this(numbers, 0, 1, numbers.length);
+	}
+
+	/**
+	 * Creates a new vector instance that reads and writes every
+	 * <code>stride</code>-th value of an array, starting at a given offset.
+	 * 
+	 * Array is called by reference!
+	 * 
+	 * @param numbers the array containing the values for this vector
+	 * @param offset  the position of the first value
+	 * @param stride  the distance between two neighbouring values
+	 * @param size    the number of values
+	 */
+	public FloatVector(float[] numbers, int offset, int stride, int size) {
+		if (size < 0)
+			throw new IllegalArgumentException("FloatVector size must not be negative.");
+		if (size > 0 && (offset < 0 || stride < 1 || offset + (long) (size - 1) * stride >= numbers.length))
+			throw new IllegalArgumentException("The FloatVector bounds do not match the array bounds.");
+
+		this.numbers = numbers;
+		this.offset = offset;
+		this.stride = stride;
+		this.size = size;
+	}
+
+	/**
+	 * Converts a {@link DoubleVector} to the nearest <code>float</code> values.
+	 * 
+	 * @param vector the vector to convert
+	 * @return a new vector with the converted values
+	 */
+	public static FloatVector fromDouble(DoubleVector vector) {
+		final float[] numbers = new float[vector.size()];
+
+		for (int i = 0; i < numbers.length; i++)
+			numbers[i] = (float) vector.get(i);
+
+		return new FloatVector(numbers);
+	}
+
+	/**
+	 * Converts this vector to a {@link DoubleVector}. No precision is lost.
+	 * 
+	 * @return a new vector with the converted values
+	 */
+	public DoubleVector toDoubleVector() {
+		final double[] numbers = new double[size];
+
+		if (stride == 1)
+			FloatArrays.toDouble(this.numbers, offset, numbers, 0, size);
+		else
+			for (int i = 0; i < size; i++)
+				numbers[i] = get(i);
+
+		return new DoubleVector(numbers);
+	}
+
+	/**
+	 * Adds the values of a second {@link FloatVector} to the values of
+	 * <code>this</code>.
+	 * 
+	 * @param toAdd the vector to add
+	 */
+	public void add(FloatVector toAdd) {
+		if (toAdd.size() != size())
+			throw new IllegalArgumentException("FloatVector sizes must be equal when adding them.");
+
+		if (stride == 1 && toAdd.stride == 1)
+			FloatArrays.add(toAdd.numbers, toAdd.offset, numbers, offset, size);
+		else
+			for (int i = 0; i < size(); i++)
+				set(i, get(i) + toAdd.get(i));
+	}
+
+	/**
+	 * Adds a multiple of a second {@link FloatVector} to the values of
+	 * <code>this</code>: this += alpha * x.
+	 * 
+	 * @param alpha the factor to scale <code>x</code> with
+	 * @param x     the vector to add
+	 */
+	public void axpy(float alpha, FloatVector x) {
+		if (x.size() != size())
+			throw new IllegalArgumentException("FloatVector sizes must be equal when adding them.");
+
+		if (stride == 1 && x.stride == 1)
+			FloatArrays.axpy(alpha, x.numbers, x.offset, numbers, offset, size);
+		else
+			for (int i = 0; i < size(); i++)
+				set(i, get(i) + alpha * x.get(i));
+	}
+
+	/**
+	 * Scales this {@link FloatVector} with a given factor.
+	 * 
+	 * @param factor the scaling factor
+	 */
+	public void scale(float factor) {
+		if (stride == 1)
+			FloatArrays.scale(factor, numbers, offset, size);
+		else
+			for (int i = 0; i < size(); i++)
+				set(i, get(i) * factor);
+	}
+
+	/**
+	 * Sums up the scalar product with a second vector of the same dimension in
+	 * <code>float</code> precision.
+	 * 
+	 * @param v2 the second vector for the scalar product
+	 * @return the calculated scalar product value
+	 * @see #scalarProductDouble(FloatVector)
+	 */
+	public float scalarProduct(FloatVector v2) {
+		if (size() != v2.size())
+			throw new IllegalArgumentException(
+					"FloatVectors must have the same size when calculating the scalar product.");
+
+		if (stride == 1 && v2.stride == 1)
+			return FloatArrays.dot(numbers, offset, v2.numbers, v2.offset, size);
+
+		float sum = 0;
+		for (int i = 0; i < size(); i++)
+			sum += get(i) * v2.get(i);
+
+		return sum;
+	}
+
+	/**
+	 * Sums up the scalar product with a second vector of the same dimension in
+	 * <code>double</code> precision, for long vectors where a <code>float</code>
+	 * sum would lose too many digits.
+	 * 
+	 * @param v2 the second vector for the scalar product
+	 * @return the calculated scalar product value
+	 */
+	public double scalarProductDouble(FloatVector v2) {
+		if (size() != v2.size())
+			throw new IllegalArgumentException(
+					"FloatVectors must have the same size when calculating the scalar product.");
+
+		if (stride == 1 && v2.stride == 1)
+			return FloatArrays.dotDouble(numbers, offset, v2.numbers, v2.offset, size);
+
+		double sum = 0;
+		for (int i = 0; i < size(); i++)
+			sum += (double) get(i) * v2.get(i);
+
+		return sum;
+	}
+
+	/**
+	 * Sums up the scalar product with a contiguous part of an array, e.g. a row of
+	 * a matrix, in <code>float</code> precision.
+	 * 
+	 * @param array       the array containing the second vector
+	 * @param arrayOffset the position of the first value in <code>array</code>
+	 * @return the calculated scalar product value
+	 */
+	public float scalarProduct(float[] array, int arrayOffset) {
+		if (arrayOffset < 0 || arrayOffset + size() > array.length)
+			throw new IllegalArgumentException("The array part does not match the FloatVector size.");
+
+		if (stride == 1)
+			return FloatArrays.dot(numbers, offset, array, arrayOffset, size);
+
+		float sum = 0;
+		for (int i = 0; i < size(); i++)
+			sum += get(i) * array[arrayOffset + i];
+
+		return sum;
+	}
+
+	/**
+	 * Calculates the sum of all values in this {@link FloatVector} in
+	 * <code>double</code> precision.
+	 * 
+	 * @return the calculated sum
+	 */
+	public double sum() {
+		if (stride == 1)
+			return FloatArrays.sum(numbers, offset, size);
+
+		double sum = 0;
+
+		for (int i = 0; i < size(); i++)
+			sum += get(i);
+
+		return sum;
+	}
+
+	/**
+	 * Returns a view onto a part of this {@link FloatVector}. Changes of the view
+	 * are written through to this vector.
+	 * 
+	 * @param from   the first position of the part
+	 * @param length the number of values of the part
+	 * @return the view onto this part
+	 */
+	public FloatVector subVector(int from, int length) {
+		if (from < 0 || length < 0 || from + length > size())
+			throw new IllegalArgumentException("The sub vector does not match the FloatVector bounds.");
+
+		return new FloatVector(numbers, offset + from * stride, stride, length);
+	}
+
+	/**
+	 * Returns a detached copy of this {@link FloatVector}, also if this vector is
+	 * a view onto another one.
+	 */
+	@Override
+	public FloatVector clone() {
+		final float[] copy = new float[size()];
+
+		for (int i = 0; i < copy.length; i++)
+			copy[i] = get(i);
+
+		return new FloatVector(copy);
+	}
+
+	/**
+	 * Prints this {@link FloatVector} horizontally on the command line.
+	 */
+	public void printHorizontally() {
+		for (int i = 0; i < size(); i++)
+			System.out.print(get(i) + "\t");
+		System.out.println();
+	}
+
+	/**
+	 * Prints this {@link FloatVector} vertically on the command line.
+	 */
+	public void printVertically() {
+		for (int i = 0; i < size(); i++)
+			System.out.println(get(i));
+		System.out.println();
+	}
+
+	/**
+	 * Returns the number of dimensions of this {@link FloatVector}.
+	 * 
+	 * @return the size of this vector
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Returns the value of this {@link FloatVector} at a given position.
+	 * 
+	 * @param position the value position
+	 * @return the value at this position
+	 */
+	public float get(int position) {
+		return numbers[offset + position * stride];
+	}
+
+	/**
+	 * Sets a value of this {@link FloatVector} at a given position.
+	 * 
+	 * @param position the position to set the value
+	 * @param value    the new value
+	 */
+	public void set(int position, float value) {
+		numbers[offset + position * stride] = value;
+	}
+
+}
@@ -0,0 +1,71 @@
+package com.timofriedl.linalg.benchmark;
+
+import java.util.Random;
+
+import com.timofriedl.linalg.doublematrix.DoubleMatrix;
+import com.timofriedl.linalg.doublevector.DoubleVector;
+
+/**
+ * Creates reproducible random inputs for the benchmarks.
+ * 
+ * @author Timo Friedl
+ */
+public final class BenchmarkData {
+
+	private BenchmarkData() {
+	}
+
+	/**
+	 * Creates a matrix with uniformly distributed values in [-1, 1).
+	 * 
+	 * @param width  the width of the matrix
+	 * @param height the height of the matrix
+	 * @param seed   the seed of the random values
+	 * @return the created matrix
+	 */
+	public static DoubleMatrix randomMatrix(int width, int height, long seed) {
+		final Random random = new Random(seed);
+		final DoubleMatrix matrix = new DoubleMatrix(width, height);
+
+		for (int y = 0; y < height; y++)
+			for (int x = 0; x < width; x++)
+				matrix.set(x, y, 2.0 * random.nextDouble() - 1.0);
+
+		return matrix;
+	}
+
+	/**
+	 * Creates a n x n matrix with random values whose diagonal dominates every
+	 * row, so it is never singular.
+	 * 
+	 * @param size the width and height of the matrix
+	 * @param seed the seed of the random values
+	 * @return the created matrix
+	 */
+	public static DoubleMatrix randomRegularMatrix(int size, long seed) {
+		final DoubleMatrix matrix = randomMatrix(size, size, seed);
+
+		for (int i = 0; i < size; i++)
+			matrix.set(i, i, matrix.get(i, i) + size);
+
+		return matrix;
+	}
+
+	/**
+	 * Creates a vector with uniformly distributed values in [-1, 1).
+	 * 
+	 * @param size the size of the vector
+	 * @param seed the seed of the random values
+	 * @return the created vector
+	 */
+	public static DoubleVector randomVector(int size, long seed) {
+		final Random random = new Random(seed);
+		final DoubleVector vector = new DoubleVector(size);
+
+		for (int i = 0; i < size; i++)
+			vector.set(i, 2.0 * random.nextDouble() - 1.0);
+
+		return vector;
+	}
+
+}
@@ -0,0 +1,32 @@
+package com.timofriedl.linalg.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the JMH benchmarks of this module with the allocation profiler
+ * (<code>-prof gc</code>) always enabled. All other JMH command line options are
+ * passed through.
+ * 
+ * Example: ....................................</br>
+ * java -jar benchmarks/target/benchmarks.jar DoubleMatrixBenchmark -p size=1024
+ * 
+ * @author Timo Friedl
+ */
+public class BenchmarkRunner {
+
+	public static void main(String[] args) throws CommandLineOptionException, RunnerException {
+		final Options options = new OptionsBuilder() //
+				.parent(new CommandLineOptions(args)) //
+				.addProfiler(GCProfiler.class) //
+				.build();
+
+		new Runner(options).run();
+	}
+
+}
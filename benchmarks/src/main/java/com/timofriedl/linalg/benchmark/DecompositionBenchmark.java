@@ -0,0 +1,88 @@
+package com.timofriedl.linalg.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.timofriedl.linalg.doublematrix.DoubleMatrix;
+import com.timofriedl.linalg.doublematrix.algorithm.decomposition.CholeskyDecomposition;
+import com.timofriedl.linalg.doublematrix.algorithm.decomposition.LuDecomposition;
+import com.timofriedl.linalg.doublematrix.algorithm.decomposition.QrDecomposition;
+import com.timofriedl.linalg.doublevector.DoubleVector;
+
+/**
+ * Compares the factorizations and the inverse of a symmetric positive definite
+ * matrix and the solutions with an already calculated factor.
+ * 
+ * @author Timo Friedl
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DecompositionBenchmark {
+
+	@Param({ "64", "256", "1024" })
+	public int size;
+
+	private DoubleMatrix A;
+	private DoubleMatrix B;
+	private DoubleVector b;
+	private CholeskyDecomposition cholesky;
+
+	@Setup
+	public void setup() {
+		final DoubleMatrix M = BenchmarkData.randomMatrix(size, size, 1);
+		A = M.multiply(M.transpose());
+
+		for (int i = 0; i < size; i++)
+			A.set(i, i, A.get(i, i) + size);
+
+		B = BenchmarkData.randomMatrix(8, size, 2);
+		b = BenchmarkData.randomVector(size, 3);
+		cholesky = new CholeskyDecomposition(A);
+	}
+
+	@Benchmark
+	public LuDecomposition lu() {
+		return new LuDecomposition(A);
+	}
+
+	@Benchmark
+	public CholeskyDecomposition cholesky() {
+		return new CholeskyDecomposition(A);
+	}
+
+	@Benchmark
+	public QrDecomposition qr() {
+		return new QrDecomposition(A);
+	}
+
+	@Benchmark
+	public DoubleMatrix inverse() {
+		return A.inverse();
+	}
+
+	@Benchmark
+	public DoubleVector choleskySolveVector() {
+		return cholesky.solve(b);
+	}
+
+	@Benchmark
+	public DoubleMatrix choleskySolveMatrix() {
+		return cholesky.solve(B);
+	}
+
+}
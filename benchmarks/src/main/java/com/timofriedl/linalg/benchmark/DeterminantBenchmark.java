@@ -0,0 +1,111 @@
+package com.timofriedl.linalg.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.timofriedl.linalg.doublematrix.DoubleMatrix;
+import com.timofriedl.linalg.doublematrix.algorithm.determinant.AdaptiveDeterminantCalculator;
+import com.timofriedl.linalg.doublematrix.algorithm.determinant.LeibnitzDeterminantCalculator;
+import com.timofriedl.linalg.doublematrix.algorithm.determinant.LuDeterminantCalculator;
+import com.timofriedl.linalg.doublematrix.algorithm.determinant.RecursiveDeterminantCalculator;
+
+/**
+ * Compares the determinant calculators.
+ * 
+ * The Leibnitz formula and the cofactor expansion need O(n!) steps, so they
+ * are only measured up to 8 x 8 in {@link Factorial}. The LU decomposition is
+ * measured across the whole size sweep. The closed formulas of the
+ * {@link AdaptiveDeterminantCalculator} are compared with the cofactor expansion
+ * in {@link Tiny}.
+ * 
+ * @author Timo Friedl
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DeterminantBenchmark {
+
+	@State(Scope.Thread)
+	public static class Tiny {
+
+		@Param({ "2", "3", "4" })
+		public int size;
+
+		private DoubleMatrix A;
+
+		@Setup
+		public void setup() {
+			A = BenchmarkData.randomMatrix(size, size, 1);
+		}
+
+	}
+
+	@State(Scope.Thread)
+	public static class Factorial {
+
+		@Param({ "4", "6", "8" })
+		public int size;
+
+		private DoubleMatrix A;
+
+		@Setup
+		public void setup() {
+			A = BenchmarkData.randomMatrix(size, size, 1);
+		}
+
+	}
+
+	@State(Scope.Thread)
+	public static class Cubic {
+
+		@Param({ "4", "16", "64", "256", "1024", "2048" })
+		public int size;
+
+		private DoubleMatrix A;
+
+		@Setup
+		public void setup() {
+			A = BenchmarkData.randomMatrix(size, size, 1);
+		}
+
+	}
+
+	@Benchmark
+	public double leibnitz(Factorial state) {
+		return new LeibnitzDeterminantCalculator(state.A).determinant();
+	}
+
+	@Benchmark
+	public double recursive(Factorial state) {
+		return new RecursiveDeterminantCalculator(state.A).determinant();
+	}
+
+	@Benchmark
+	public double recursiveTiny(Tiny state) {
+		return new RecursiveDeterminantCalculator(state.A).determinant();
+	}
+
+	@Benchmark
+	public double adaptiveTiny(Tiny state) {
+		return new AdaptiveDeterminantCalculator(state.A).determinant();
+	}
+
+	@Benchmark
+	public double lu(Cubic state) {
+		return new LuDeterminantCalculator(state.A).determinant();
+	}
+
+}
@@ -0,0 +1,99 @@
+package com.timofriedl.linalg.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.timofriedl.linalg.doublematrix.DoubleMatrix;
+import com.timofriedl.linalg.doublematrix.batch.DoubleMatrixBatch;
+
+/**
+ * Compares many tiny {@link DoubleMatrix} operations with the same operations
+ * on a {@link DoubleMatrixBatch}.
+ * 
+ * @author Timo Friedl
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DoubleMatrixBatchBenchmark {
+
+	@Param({ "3", "4" })
+	public int size;
+
+	@Param({ "10000" })
+	public int count;
+
+	private DoubleMatrix[] matrices;
+	private DoubleMatrix[] factors;
+	private DoubleMatrixBatch A;
+	private DoubleMatrixBatch B;
+	private DoubleMatrixBatch C;
+	private double[] determinants;
+
+	@Setup
+	public void setup() {
+		matrices = new DoubleMatrix[count];
+		factors = new DoubleMatrix[count];
+
+		for (int i = 0; i < count; i++) {
+			matrices[i] = BenchmarkData.randomRegularMatrix(size, 2 * i);
+			factors[i] = BenchmarkData.randomMatrix(size, size, 2 * i + 1);
+		}
+
+		A = DoubleMatrixBatch.of(matrices);
+		B = DoubleMatrixBatch.of(factors);
+		C = new DoubleMatrixBatch(size, count);
+		determinants = new double[count];
+	}
+
+	@Benchmark
+	public DoubleMatrix[] multiplyEach() {
+		final DoubleMatrix[] products = new DoubleMatrix[count];
+
+		for (int i = 0; i < count; i++)
+			products[i] = matrices[i].multiply(factors[i]);
+
+		return products;
+	}
+
+	@Benchmark
+	public DoubleMatrixBatch multiplyBatch() {
+		A.multiply(B, C);
+		return C;
+	}
+
+	@Benchmark
+	public double[] determinantEach() {
+		for (int i = 0; i < count; i++)
+			determinants[i] = matrices[i].determinant();
+
+		return determinants;
+	}
+
+	@Benchmark
+	public double[] determinantBatch() {
+		A.determinants(determinants);
+		return determinants;
+	}
+
+	@Benchmark
+	public DoubleMatrixBatch inverseBatch() {
+		A.inverse(C);
+		return C;
+	}
+
+}
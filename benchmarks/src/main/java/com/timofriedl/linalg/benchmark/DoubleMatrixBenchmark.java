@@ -0,0 +1,113 @@
+package com.timofriedl.linalg.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.timofriedl.linalg.doublematrix.DoubleMatrix;
+import com.timofriedl.linalg.doublevector.DoubleVector;
+
+/**
+ * Measures the basic operations of n x n {@link DoubleMatrix}es.
+ * 
+ * @author Timo Friedl
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DoubleMatrixBenchmark {
+
+	@Param({ "4", "16", "64", "256", "1024", "2048" })
+	public int size;
+
+	private DoubleMatrix A;
+	private DoubleMatrix B;
+	private DoubleMatrix C;
+	private DoubleVector x;
+	private DoubleVector y;
+
+	@Setup
+	public void setup() {
+		A = BenchmarkData.randomMatrix(size, size, 1);
+		B = BenchmarkData.randomMatrix(size, size, 2);
+		C = new DoubleMatrix(size, size);
+		x = BenchmarkData.randomVector(size, 3);
+		y = new DoubleVector(size);
+	}
+
+	@Benchmark
+	public DoubleMatrix multiply() {
+		return A.multiply(B);
+	}
+
+	@Benchmark
+	public DoubleMatrix multiplyStrassen() {
+		return A.multiplyStrassen(B);
+	}
+
+	/**
+	 * Multiplies into the preallocated <code>C</code>, so the steady state does
+	 * not allocate.
+	 */
+	@Benchmark
+	public DoubleMatrix gemm() {
+		DoubleMatrix.gemm(1.0, A, B, 0.0, C);
+		return C;
+	}
+
+	@Benchmark
+	public DoubleVector multiplyVector() {
+		A.multiply(x, y);
+		return y;
+	}
+
+	@Benchmark
+	public DoubleVector multiplyTransposedVector() {
+		A.multiplyTransposed(x, y);
+		return y;
+	}
+
+	@Benchmark
+	public DoubleMatrix transpose() {
+		return A.transpose();
+	}
+
+	/**
+	 * Transposes <code>A</code> in place. Every call flips the values back and
+	 * forth, which does not change the costs.
+	 */
+	@Benchmark
+	public DoubleMatrix transposeInPlace() {
+		A.transposeInPlace();
+		return A;
+	}
+
+	@Benchmark
+	public boolean isSymmetric() {
+		return A.isSymmetric(1e-12);
+	}
+
+	/**
+	 * Adds <code>B</code> to <code>A</code> in place. The values of
+	 * <code>A</code> keep growing, which does not change the costs.
+	 */
+	@Benchmark
+	public DoubleMatrix add() {
+		A.add(B);
+		return A;
+	}
+
+}
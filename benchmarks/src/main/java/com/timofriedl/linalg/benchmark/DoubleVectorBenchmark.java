@@ -0,0 +1,70 @@
+package com.timofriedl.linalg.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.timofriedl.linalg.doublevector.DoubleVector;
+
+/**
+ * Measures the operations of {@link DoubleVector}s.
+ * 
+ * @author Timo Friedl
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DoubleVectorBenchmark {
+
+	@Param({ "4", "16", "64", "256", "1024", "2048" })
+	public int size;
+
+	private DoubleVector v1;
+	private DoubleVector v2;
+
+	@Setup
+	public void setup() {
+		v1 = BenchmarkData.randomVector(size, 1);
+		v2 = BenchmarkData.randomVector(size, 2);
+	}
+
+	@Benchmark
+	public double scalarProduct() {
+		return v1.scalarProduct(v2);
+	}
+
+	@Benchmark
+	public double sum() {
+		return v1.sum();
+	}
+
+	/**
+	 * Adds <code>v2</code> to <code>v1</code> in place. The values of
+	 * <code>v1</code> keep growing, which does not change the costs.
+	 */
+	@Benchmark
+	public DoubleVector add() {
+		v1.add(v2);
+		return v1;
+	}
+
+	@Benchmark
+	public DoubleVector scale() {
+		v1.scale(0.5);
+		return v1;
+	}
+
+}
@@ -0,0 +1,66 @@
+package com.timofriedl.linalg.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.timofriedl.linalg.doublematrix.DoubleMatrix;
+import com.timofriedl.linalg.doublematrix.algorithm.AlgorithmRegistry;
+import com.timofriedl.linalg.doublematrix.algorithm.gaussian.LuGaussianSolver;
+import com.timofriedl.linalg.doublematrix.algorithm.gaussian.SimpleGaussianSolver;
+
+/**
+ * Measures the {@link SimpleGaussianSolver}, the {@link LuGaussianSolver} and
+ * the solver selected by the default {@link AlgorithmRegistry} on a n x n
+ * system with one right hand side.
+ * 
+ * The solvers work in place, so every invocation solves a fresh clone of the
+ * augmented matrix. The O(n^2) clone is small compared to the O(n^3)
+ * elimination.
+ * 
+ * @author Timo Friedl
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GaussianSolverBenchmark {
+
+	@Param({ "4", "16", "64", "256", "1024", "2048" })
+	public int size;
+
+	private DoubleMatrix augmented;
+
+	@Setup
+	public void setup() {
+		augmented = BenchmarkData.randomRegularMatrix(size, 1).concatenate(BenchmarkData.randomMatrix(1, size, 2));
+	}
+
+	@Benchmark
+	public DoubleMatrix solve() {
+		return new SimpleGaussianSolver(augmented.clone()).solve();
+	}
+
+	@Benchmark
+	public DoubleMatrix lu() {
+		return new LuGaussianSolver(augmented.clone()).solve();
+	}
+
+	@Benchmark
+	public DoubleMatrix registry() {
+		return AlgorithmRegistry.getDefault().gaussianSolver(augmented.clone()).solve();
+	}
+
+}
@@ -0,0 +1,74 @@
+package com.timofriedl.linalg.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.timofriedl.linalg.doublematrix.DoubleMatrix;
+import com.timofriedl.linalg.doublematrix.expr.MatrixExpr;
+
+/**
+ * Compares chains of {@link DoubleMatrix} operations with the same formulas
+ * calculated by a {@link MatrixExpr}.
+ * 
+ * @author Timo Friedl
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MatrixExprBenchmark {
+
+	@Param({ "64", "512", "2048" })
+	public int size;
+
+	private DoubleMatrix A;
+	private DoubleMatrix B;
+	private DoubleMatrix C;
+
+	@Setup
+	public void setup() {
+		A = BenchmarkData.randomMatrix(size, size, 1);
+		B = BenchmarkData.randomMatrix(size, size, 2);
+		C = BenchmarkData.randomMatrix(size, size, 3);
+	}
+
+	@Benchmark
+	public DoubleMatrix linearCombinationEager() {
+		final DoubleMatrix result = A.clone();
+		result.scale(2.0);
+		result.add(B);
+		result.axpy(-1.0, C.transpose());
+		return result;
+	}
+
+	@Benchmark
+	public DoubleMatrix linearCombinationLazy() {
+		return A.lazy().scale(2.0).add(B).subtract(C.lazy().transpose()).evaluate();
+	}
+
+	@Benchmark
+	public DoubleMatrix transposedProductEager() {
+		final DoubleMatrix result = A.transpose().multiply(B);
+		result.add(C);
+		return result;
+	}
+
+	@Benchmark
+	public DoubleMatrix transposedProductLazy() {
+		return A.lazy().transpose().multiply(B).add(C).evaluate();
+	}
+
+}